@@ -0,0 +1,88 @@
+package com.selimhorri.app.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class ResponseCacheMetrics {
+	
+	private static final String PREFIX = "gateway.response.cache";
+	
+	private final MeterRegistry meterRegistry;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	public ResponseCacheMetrics(final MeterRegistry meterRegistry, final ResponseCacheStore responseCacheStore) {
+		this.meterRegistry = meterRegistry;
+		Gauge.builder(PREFIX + ".hit.ratio", this, ResponseCacheMetrics::hitRatio)
+				.description("Share of cacheable lookups served from the gateway response cache")
+				.register(meterRegistry);
+		Gauge.builder(PREFIX + ".size", responseCacheStore, ResponseCacheStore::weightedSize)
+				.description("Bytes currently held by the gateway response cache")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+		Gauge.builder(PREFIX + ".entries", responseCacheStore, ResponseCacheStore::estimatedSize)
+				.description("Entries currently held by the gateway response cache")
+				.register(meterRegistry);
+	}
+	
+	public void recordHit(final String routeId, final long bytes) {
+		this.hits.increment();
+		this.lookups(routeId, "hit").increment();
+		this.bytesSaved(routeId, "upstream").increment(bytes);
+	}
+	
+	public void recordMiss(final String routeId) {
+		this.misses.increment();
+		this.lookups(routeId, "miss").increment();
+	}
+	
+	public void recordBypass(final String routeId) {
+		this.lookups(routeId, "bypass").increment();
+	}
+	
+	public void recordNotModified(final String routeId, final long bytes) {
+		this.bytesSaved(routeId, "client").increment(bytes);
+	}
+	
+	public double hitRatio() {
+		final long hitCount = this.hits.sum();
+		final long lookupCount = hitCount + this.misses.sum();
+		return lookupCount == 0L ? 0.0d : (double) hitCount / lookupCount;
+	}
+	
+	private Counter lookups(final String routeId, final String result) {
+		return Counter.builder(PREFIX + ".lookups")
+				.description("Gateway response cache lookups by route and result")
+				.tag("route", routeId)
+				.tag("result", result)
+				.register(this.meterRegistry);
+	}
+	
+	private Counter bytesSaved(final String routeId, final String leg) {
+		return Counter.builder(PREFIX + ".bytes.saved")
+				.description("Response bytes not transferred thanks to the gateway response cache")
+				.baseUnit("bytes")
+				.tag("route", routeId)
+				.tag("leg", leg)
+				.register(this.meterRegistry);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,77 @@
+package com.selimhorri.app.cache;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.cache.model.CachedResponse;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+@Component
+public class ResponseCacheStore {
+	
+	private final Cache<String, CachedResponse> cache;
+	
+	public ResponseCacheStore(final ResponseCacheProperties responseCacheProperties) {
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(responseCacheProperties.getMaximumSize().toBytes())
+				.weigher((final String key, final CachedResponse cachedResponse) -> key.length() + cachedResponse.getBody().length)
+				.expireAfter(new Expiry<String, CachedResponse>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final CachedResponse cachedResponse, final long currentTime) {
+						return cachedResponse.getTtl().toNanos();
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final CachedResponse cachedResponse,
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, cachedResponse, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final CachedResponse cachedResponse,
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.build();
+	}
+	
+	public CachedResponse get(final String key) {
+		return this.cache.getIfPresent(key);
+	}
+	
+	public void put(final String key, final CachedResponse cachedResponse) {
+		this.cache.put(key, cachedResponse);
+	}
+	
+	public void invalidateRoute(final String routeId) {
+		this.cache.asMap().values().removeIf(cachedResponse -> cachedResponse.getRouteId().equals(routeId));
+	}
+	
+	public long estimatedSize() {
+		return this.cache.estimatedSize();
+	}
+	
+	public long weightedSize() {
+		return this.cache.policy().eviction()
+				.map(eviction -> eviction.weightedSize().orElse(0L))
+				.orElse(0L);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,34 @@
+package com.selimhorri.app.cache.model;
+
+import java.time.Duration;
+
+import org.springframework.http.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString(exclude = "body")
+@AllArgsConstructor
+public class CachedResponse {
+	
+	private final String routeId;
+	private final MediaType contentType;
+	private final String contentEncoding;
+	private final byte[] body;
+	private final String etag;
+	private final Duration ttl;
+	
+}
+
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.response-cache")
+@Data
+public class ResponseCacheProperties {
+	
+	private DataSize maximumSize = DataSize.ofMegabytes(64);
+	private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+	private Duration defaultTtl = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
+
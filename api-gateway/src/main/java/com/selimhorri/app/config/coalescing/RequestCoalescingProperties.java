@@ -0,0 +1,24 @@
+package com.selimhorri.app.config.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.request-coalescing")
+@Data
+public class RequestCoalescingProperties {
+	
+	private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+	
+}
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.ratelimit.LocalTokenBucketRateLimiter;
+import com.selimhorri.app.ratelimit.RemoteAddressKeyResolver;
+
+@Component
+public class LocalRateLimiterGatewayFilterFactory extends RequestRateLimiterGatewayFilterFactory {
+	
+	public LocalRateLimiterGatewayFilterFactory(final LocalTokenBucketRateLimiter localTokenBucketRateLimiter,
+			final RemoteAddressKeyResolver remoteAddressKeyResolver) {
+		super(localTokenBucketRateLimiter, remoteAddressKeyResolver);
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		return new OrderedGatewayFilter(super.apply(config), NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,206 @@
+package com.selimhorri.app.filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.coalescing.RequestCoalescingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+	
+	private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final RequestCoalescingProperties requestCoalescingProperties;
+	
+	public RequestCoalescingGatewayFilterFactory(final MeterRegistry meterRegistry,
+			final RequestCoalescingProperties requestCoalescingProperties) {
+		super(Object.class);
+		this.meterRegistry = meterRegistry;
+		this.requestCoalescingProperties = requestCoalescingProperties;
+		Gauge.builder("gateway.request.coalescing.in.flight", this.inFlight, Map::size)
+				.description("Distinct upstream GETs currently shared by coalesced requests")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public GatewayFilter apply(final Object config) {
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			if (exchange.getRequest().getMethod() != HttpMethod.GET 
+					|| StreamingMediaTypes.anyStreaming(exchange.getRequest().getHeaders().getAccept()))
+				return chain.filter(exchange);
+			final String routeId = routeId(exchange);
+			final String key = key(routeId, exchange.getRequest());
+			final Sinks.One<SharedResponse> sink = Sinks.one();
+			final Sinks.One<SharedResponse> leader = this.inFlight.putIfAbsent(key, sink);
+			if (leader != null)
+				return this.follow(exchange, chain, routeId, leader);
+			this.requests(routeId, "leader").increment();
+			return chain.filter(exchange.mutate()
+					.response(new SharingResponseDecorator(exchange.getResponse(), sink, 
+							this.requestCoalescingProperties.getMaximumEntrySize().toBytes()))
+					.build())
+				.doFinally(signal -> {
+					this.inFlight.remove(key, sink);
+					sink.tryEmitEmpty();
+				});
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private Mono<Void> follow(final ServerWebExchange exchange, final GatewayFilterChain chain,
+			final String routeId, final Sinks.One<SharedResponse> leader) {
+		return leader.asMono()
+				.map(Optional::of)
+				.defaultIfEmpty(Optional.empty())
+				.onErrorReturn(Optional.empty())
+				.flatMap(sharedResponse -> {
+					if (sharedResponse.isEmpty()) {
+						this.requests(routeId, "fallback").increment();
+						return chain.filter(exchange);
+					}
+					this.requests(routeId, "follower").increment();
+					return write(exchange.getResponse(), sharedResponse.get());
+				});
+	}
+	
+	private static Mono<Void> write(final ServerHttpResponse response, final SharedResponse sharedResponse) {
+		final HttpHeaders headers = response.getHeaders();
+		response.setStatusCode(HttpStatus.OK);
+		if (sharedResponse.getContentType() != null)
+			headers.setContentType(sharedResponse.getContentType());
+		if (sharedResponse.getContentEncoding() != null)
+			headers.set(HttpHeaders.CONTENT_ENCODING, sharedResponse.getContentEncoding());
+		headers.setContentLength(sharedResponse.getBody().length);
+		return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(sharedResponse.getBody())));
+	}
+	
+	private static String routeId(final ServerWebExchange exchange) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route == null ? "unknown" : route.getId();
+	}
+	
+	private static String key(final String routeId, final ServerHttpRequest request) {
+		final HttpHeaders headers = request.getHeaders();
+		return String.join(" ", routeId, request.getURI().getRawPath(),
+				String.valueOf(request.getURI().getRawQuery()),
+				String.valueOf(headers.getFirst(HttpHeaders.ACCEPT)),
+				String.valueOf(headers.getFirst(HttpHeaders.ACCEPT_ENCODING)),
+				String.valueOf(headers.getFirst(HttpHeaders.AUTHORIZATION)));
+	}
+	
+	private Counter requests(final String routeId, final String role) {
+		return Counter.builder("gateway.request.coalescing.requests")
+				.description("Coalescable GETs by route and role in the shared upstream call")
+				.tag("route", routeId)
+				.tag("role", role)
+				.register(this.meterRegistry);
+	}
+	
+	private static class SharingResponseDecorator extends ServerHttpResponseDecorator {
+		
+		private final Sinks.One<SharedResponse> sink;
+		private final long maximumEntrySize;
+		
+		SharingResponseDecorator(final ServerHttpResponse delegate, final Sinks.One<SharedResponse> sink,
+				final long maximumEntrySize) {
+			super(delegate);
+			this.sink = sink;
+			this.maximumEntrySize = maximumEntrySize;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			if (this.getStatusCode() != HttpStatus.OK || StreamingMediaTypes.isStreaming(this.getHeaders().getContentType())
+					|| this.getHeaders().getContentLength() > this.maximumEntrySize) {
+				this.sink.tryEmitEmpty();
+				return super.writeWith(body);
+			}
+			final AtomicLong size = new AtomicLong();
+			return Flux.<DataBuffer>from(body)
+					.bufferUntil(dataBuffer -> size.addAndGet(dataBuffer.readableByteCount()) > this.maximumEntrySize)
+					.switchOnFirst((signal, dataBuffers) -> {
+						if (size.get() <= this.maximumEntrySize)
+							return this.share(signal.hasValue() ? signal.get() : List.of());
+						this.sink.tryEmitEmpty();
+						return super.writeWith(dataBuffers.flatMapIterable(Function.identity()));
+					})
+					.then();
+		}
+		
+		@Override
+		public Mono<Void> writeAndFlushWith(final Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			this.sink.tryEmitEmpty();
+			return super.writeAndFlushWith(body);
+		}
+		
+		private Mono<Void> share(final List<DataBuffer> dataBuffers) {
+			final byte[] bytes = new byte[dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+			int offset = 0;
+			for (final DataBuffer dataBuffer : dataBuffers) {
+				final int length = dataBuffer.readableByteCount();
+				dataBuffer.read(bytes, offset, length);
+				offset += length;
+				DataBufferUtils.release(dataBuffer);
+			}
+			this.sink.tryEmitValue(new SharedResponse(this.getHeaders().getContentType(),
+					this.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), bytes));
+			return super.writeWith(Mono.fromSupplier(() -> this.bufferFactory().wrap(bytes)));
+		}
+		
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	private static class SharedResponse {
+		
+		private final MediaType contentType;
+		private final String contentEncoding;
+		private final byte[] body;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,205 @@
+package com.selimhorri.app.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.cache.ResponseCacheMetrics;
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.cache.model.CachedResponse;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	private final ResponseCacheStore responseCacheStore;
+	private final ResponseCacheMetrics responseCacheMetrics;
+	private final ResponseCacheProperties responseCacheProperties;
+	
+	public ResponseCacheGatewayFilterFactory(final ResponseCacheStore responseCacheStore,
+			final ResponseCacheMetrics responseCacheMetrics, final ResponseCacheProperties responseCacheProperties) {
+		super(Config.class);
+		this.responseCacheStore = responseCacheStore;
+		this.responseCacheMetrics = responseCacheMetrics;
+		this.responseCacheProperties = responseCacheProperties;
+	}
+	
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("ttl");
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final Duration ttl = config.getTtl() == null ? this.responseCacheProperties.getDefaultTtl() : config.getTtl();
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			final String routeId = routeId(exchange);
+			if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+				this.responseCacheMetrics.recordBypass(routeId);
+				exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> {
+					final HttpStatus status = exchange.getResponse().getStatusCode();
+					if (status != null && status.is2xxSuccessful())
+						this.responseCacheStore.invalidateRoute(routeId);
+				}));
+				return chain.filter(exchange);
+			}
+			if (StreamingMediaTypes.anyStreaming(exchange.getRequest().getHeaders().getAccept())) {
+				this.responseCacheMetrics.recordBypass(routeId);
+				return chain.filter(exchange);
+			}
+			final String key = key(routeId, exchange.getRequest());
+			final CachedResponse cachedResponse = this.responseCacheStore.get(key);
+			if (cachedResponse != null) {
+				log.debug("*** CachedResponse, gateway; serve {} from response cache *", key);
+				this.responseCacheMetrics.recordHit(routeId, cachedResponse.getBody().length);
+				return this.write(exchange.getRequest(), exchange.getResponse(), cachedResponse);
+			}
+			this.responseCacheMetrics.recordMiss(routeId);
+			return chain.filter(exchange.mutate()
+					.response(new CachingResponseDecorator(exchange, routeId, key, ttl))
+					.build());
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+	}
+	
+	private Mono<Void> write(final ServerHttpRequest request, final ServerHttpResponse response,
+			final CachedResponse cachedResponse) {
+		final HttpHeaders headers = response.getHeaders();
+		headers.setETag(cachedResponse.getEtag());
+		if (matches(request.getHeaders().getIfNoneMatch(), cachedResponse.getEtag())) {
+			this.responseCacheMetrics.recordNotModified(cachedResponse.getRouteId(), cachedResponse.getBody().length);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			headers.remove(HttpHeaders.CONTENT_TYPE);
+			headers.remove(HttpHeaders.CONTENT_ENCODING);
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		response.setStatusCode(HttpStatus.OK);
+		headers.setContentType(cachedResponse.getContentType());
+		if (cachedResponse.getContentEncoding() != null)
+			headers.set(HttpHeaders.CONTENT_ENCODING, cachedResponse.getContentEncoding());
+		headers.setContentLength(cachedResponse.getBody().length);
+		return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cachedResponse.getBody())));
+	}
+	
+	private static boolean matches(final List<String> ifNoneMatch, final String etag) {
+		return ifNoneMatch.stream()
+				.map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+				.anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+	}
+	
+	private static boolean isCacheable(final HttpHeaders headers) {
+		final String cacheControl = headers.getCacheControl();
+		return (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")))
+				&& !StreamingMediaTypes.isStreaming(headers.getContentType());
+	}
+	
+	private static String routeId(final ServerWebExchange exchange) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route == null ? "unknown" : route.getId();
+	}
+	
+	private static String key(final String routeId, final ServerHttpRequest request) {
+		final String query = request.getURI().getRawQuery();
+		return routeId + " " + request.getURI().getRawPath() + (query == null ? "" : "?" + query)
+				+ " " + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT))
+				+ " " + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+	}
+	
+	private static String etag(final byte[] body) {
+		return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+	}
+	
+	private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+		
+		private final ServerWebExchange exchange;
+		private final String routeId;
+		private final String key;
+		private final Duration ttl;
+		
+		CachingResponseDecorator(final ServerWebExchange exchange, final String routeId, final String key, final Duration ttl) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.routeId = routeId;
+			this.key = key;
+			this.ttl = ttl;
+		}
+		
+		@Override
+		public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+			final long maximumEntrySize = responseCacheProperties.getMaximumEntrySize().toBytes();
+			if (this.getStatusCode() != HttpStatus.OK || !isCacheable(this.getHeaders()) 
+					|| this.getHeaders().getContentLength() > maximumEntrySize)
+				return super.writeWith(body);
+			final AtomicLong size = new AtomicLong();
+			return Flux.<DataBuffer>from(body)
+					.bufferUntil(dataBuffer -> size.addAndGet(dataBuffer.readableByteCount()) > maximumEntrySize)
+					.switchOnFirst((signal, dataBuffers) -> size.get() > maximumEntrySize
+							? this.getDelegate().writeWith(dataBuffers.flatMapIterable(Function.identity()))
+							: this.cache(signal.hasValue() ? signal.get() : List.of()))
+					.then();
+		}
+		
+		private Mono<Void> cache(final List<DataBuffer> dataBuffers) {
+			final byte[] bytes = new byte[dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+			int offset = 0;
+			for (final DataBuffer dataBuffer : dataBuffers) {
+				final int length = dataBuffer.readableByteCount();
+				dataBuffer.read(bytes, offset, length);
+				offset += length;
+				DataBufferUtils.release(dataBuffer);
+			}
+			final CachedResponse cachedResponse = new CachedResponse(this.routeId,
+					this.getHeaders().getContentType(), this.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING),
+					bytes, etag(bytes), this.ttl);
+			responseCacheStore.put(this.key, cachedResponse);
+			return write(this.exchange.getRequest(), this.getDelegate(), cachedResponse);
+		}
+		
+	}
+	
+	@Data
+	public static class Config {
+		
+		private Duration ttl;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.filter;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+interface StreamingMediaTypes {
+	
+	List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON, 
+			MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_STREAM_JSON);
+	
+	static boolean isStreaming(final MediaType mediaType) {
+		return mediaType != null && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype() 
+				&& MEDIA_TYPES.stream().anyMatch(mediaType::isCompatibleWith);
+	}
+	
+	static boolean anyStreaming(final List<MediaType> mediaTypes) {
+		return mediaTypes.stream().anyMatch(StreamingMediaTypes::isStreaming);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
@@ -0,0 +1,106 @@
+package com.selimhorri.app.ratelimit;
+
+import java.util.Map;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Component
+@Slf4j
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+	
+	private final Config defaultConfig;
+	private final MeterRegistry meterRegistry;
+	private final Cache<String, TokenBucket> buckets;
+	
+	public LocalTokenBucketRateLimiter(final RateLimitProperties rateLimitProperties,
+			final ConfigurationService configurationService, final MeterRegistry meterRegistry) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.defaultConfig = new Config();
+		this.defaultConfig.setReplenishRate(rateLimitProperties.getReplenishRate());
+		this.defaultConfig.setBurstCapacity(rateLimitProperties.getBurstCapacity());
+		this.defaultConfig.setRequestedTokens(rateLimitProperties.getRequestedTokens());
+		this.meterRegistry = meterRegistry;
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(rateLimitProperties.getMaximumKeys())
+				.expireAfterAccess(rateLimitProperties.getIdleTimeout())
+				.build();
+		Gauge.builder("gateway.rate.limiter.buckets", this.buckets, Cache::estimatedSize)
+				.description("Token buckets currently tracked by the gateway rate limiter")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final long now = System.nanoTime();
+		final long remaining = this.buckets.get(routeId + ":" + id, key -> new TokenBucket(config.getBurstCapacity(), now))
+				.tryConsume(config.getRequestedTokens(), config.getReplenishRate(), config.getBurstCapacity(), now);
+		final boolean allowed = remaining >= 0L;
+		if (!allowed)
+			log.debug("*** LocalTokenBucketRateLimiter, gateway; reject {} on route {} *", id, routeId);
+		this.requests(routeId, allowed ? "allowed" : "rejected").increment();
+		return Mono.just(new Response(allowed, Map.of(
+				REMAINING_HEADER, String.valueOf(Math.max(0L, remaining)),
+				REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+				BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+				REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()))));
+	}
+	
+	private Counter requests(final String routeId, final String result) {
+		return Counter.builder("gateway.rate.limiter.requests")
+				.description("Gateway rate limiter decisions by route and result")
+				.tag("route", routeId)
+				.tag("result", result)
+				.register(this.meterRegistry);
+	}
+	
+	@Data
+	@Validated
+	public static class Config {
+		
+		@Min(1)
+		private int replenishRate;
+		
+		@Min(1)
+		private int burstCapacity;
+		
+		@Min(1)
+		private int requestedTokens = 1;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
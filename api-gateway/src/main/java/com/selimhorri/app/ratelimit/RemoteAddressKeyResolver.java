@@ -0,0 +1,50 @@
+package com.selimhorri.app.ratelimit;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+import reactor.core.publisher.Mono;
+
+@Component
+public class RemoteAddressKeyResolver implements KeyResolver {
+	
+	private final RemoteAddressResolver remoteAddressResolver;
+	
+	public RemoteAddressKeyResolver(final RateLimitProperties rateLimitProperties) {
+		this.remoteAddressResolver = rateLimitProperties.getTrustedProxies() > 0
+				? XForwardedRemoteAddressResolver.maxTrustedIndex(rateLimitProperties.getTrustedProxies())
+				: new RemoteAddressResolver() {};
+	}
+	
+	@Override
+	public Mono<String> resolve(final ServerWebExchange exchange) {
+		return Mono.just("ip:" + this.remoteAddress(exchange));
+	}
+	
+	private String remoteAddress(final ServerWebExchange exchange) {
+		final InetSocketAddress remoteAddress = this.remoteAddressResolver.resolve(exchange);
+		if (remoteAddress == null)
+			return "unknown";
+		return remoteAddress.getAddress() == null ? remoteAddress.getHostString() : remoteAddress.getAddress().getHostAddress();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
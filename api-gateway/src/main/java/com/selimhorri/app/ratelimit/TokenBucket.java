@@ -0,0 +1,35 @@
+package com.selimhorri.app.ratelimit;
+
+public class TokenBucket {
+	
+	private double tokens;
+	private long refilledAt;
+	
+	public TokenBucket(final int burstCapacity, final long now) {
+		this.tokens = burstCapacity;
+		this.refilledAt = now;
+	}
+	
+	public synchronized long tryConsume(final int requestedTokens, final int replenishRate,
+			final int burstCapacity, final long now) {
+		this.tokens = Math.min(burstCapacity, this.tokens + (now - this.refilledAt) * replenishRate / 1_000_000_000.0d);
+		this.refilledAt = now;
+		if (this.tokens < requestedTokens)
+			return -1L;
+		this.tokens -= requestedTokens;
+		return (long) this.tokens;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,163 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.config.coalescing.RequestCoalescingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@DisplayName("RequestCoalescingGatewayFilterFactory Unit Tests")
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"collection\":[{\"categoryId\":1,\"categoryTitle\":\"Computer\"}]}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingGatewayFilterFactory(meterRegistry, new RequestCoalescingProperties())
+                .apply(new Object());
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between identical in-flight GETs")
+    void shouldShareOneUpstreamCall() {
+        // Given
+        GatewayFilterChain upstream = upstream(HttpStatus.OK);
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/categories"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/categories"));
+
+        // When
+        Mono.when(filter.filter(first, upstream), filter.filter(second, upstream)).block();
+
+        // Then
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(1.0d, meterRegistry.get("gateway.request.coalescing.requests")
+                .tag("role", "follower").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not share between different callers or failed responses")
+    void shouldNotShareAcrossCallersOrFailures() {
+        // Given
+        GatewayFilterChain failing = upstream(HttpStatus.SERVICE_UNAVAILABLE);
+        MockServerWebExchange alice = exchange(MockServerHttpRequest.get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer alice"));
+        MockServerWebExchange bob = exchange(MockServerHttpRequest.get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+        MockServerWebExchange retry = exchange(MockServerHttpRequest.get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer bob"));
+
+        // When
+        Mono.when(filter.filter(alice, failing), filter.filter(bob, failing), filter.filter(retry, failing)).block();
+
+        // Then
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, retry.getResponse().getStatusCode());
+        assertEquals(1.0d, meterRegistry.get("gateway.request.coalescing.requests")
+                .tag("role", "fallback").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce streaming exports")
+    void shouldNotCoalesceStreamingExports() {
+        // Given
+        GatewayFilterChain upstream = upstream(HttpStatus.OK, MediaType.APPLICATION_NDJSON);
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/products")
+                .accept(MediaType.APPLICATION_NDJSON));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/products")
+                .accept(MediaType.APPLICATION_NDJSON));
+
+        // When
+        Mono.when(filter.filter(first, upstream), filter.filter(second, upstream)).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("Should stop sharing and stream the body once it passes the maximum entry size")
+    void shouldNotShareOversizedBodies() {
+        // Given
+        RequestCoalescingProperties requestCoalescingProperties = new RequestCoalescingProperties();
+        requestCoalescingProperties.setMaximumEntrySize(DataSize.ofBytes(16));
+        GatewayFilter smallFilter = new RequestCoalescingGatewayFilterFactory(meterRegistry, requestCoalescingProperties)
+                .apply(new Object());
+        GatewayFilterChain upstream = exchange -> Mono.delay(Duration.ofMillis(200))
+                .doOnSubscribe(subscription -> upstreamCalls.incrementAndGet())
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    return exchange.getResponse().writeWith(Flux.just(BODY.substring(0, 20), BODY.substring(20))
+                            .map(chunk -> exchange.getResponse().bufferFactory()
+                                    .wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+                }));
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/categories"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/categories"));
+
+        // When
+        Mono.when(smallFilter.filter(first, upstream), smallFilter.filter(second, upstream)).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(1.0d, meterRegistry.get("gateway.request.coalescing.requests")
+                .tag("role", "fallback").counter().count());
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status) {
+        return upstream(status, MediaType.APPLICATION_JSON);
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, MediaType contentType) {
+        return exchange -> Mono.delay(Duration.ofMillis(200))
+                .doOnSubscribe(subscription -> upstreamCalls.incrementAndGet())
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(status);
+                    exchange.getResponse().getHeaders().setContentType(contentType);
+                    return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                            .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+                }));
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("PRODUCT-SERVICE-CATEGORIES")
+                .uri("lb://PRODUCT-SERVICE")
+                .predicate(serverWebExchange -> true)
+                .build());
+        return exchange;
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.selimhorri.app.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import com.selimhorri.app.cache.ResponseCacheMetrics;
+import com.selimhorri.app.cache.ResponseCacheStore;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+@DisplayName("ResponseCacheGatewayFilterFactory Unit Tests")
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final String BODY = "{\"collection\":[{\"productId\":1,\"productTitle\":\"Laptop\"}]}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheMetrics responseCacheMetrics;
+    private GatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+    private GatewayFilterChain upstream;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties responseCacheProperties = new ResponseCacheProperties();
+        ResponseCacheStore responseCacheStore = new ResponseCacheStore(responseCacheProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        responseCacheMetrics = new ResponseCacheMetrics(meterRegistry, responseCacheStore);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofMinutes(1));
+        filter = new ResponseCacheGatewayFilterFactory(responseCacheStore, responseCacheMetrics, responseCacheProperties)
+                .apply(config);
+        upstreamCalls = new AtomicInteger();
+        upstream = respond(MediaType.APPLICATION_JSON, BODY);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated GETs from the cache with an ETag")
+    void shouldServeRepeatedGetsFromCache() {
+        // Given
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/products"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/products"));
+
+        // When
+        filter.filter(first, upstream).block();
+        filter.filter(second, upstream).block();
+
+        // Then
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertNotNull(second.getResponse().getHeaders().getETag());
+        assertEquals(0.5d, responseCacheMetrics.hitRatio());
+        assertEquals(BODY.length(), meterRegistry.get("gateway.response.cache.bytes.saved")
+                .tag("leg", "upstream").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match carries the cached ETag")
+    void shouldAnswerNotModifiedForMatchingEtag() {
+        // Given
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/categories/1"));
+        filter.filter(first, upstream).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        MockServerWebExchange revalidation = exchange(MockServerHttpRequest.get("/product-service/api/categories/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // When
+        filter.filter(revalidation, upstream).block();
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(etag, revalidation.getResponse().getHeaders().getETag());
+        assertEquals(BODY.length(), meterRegistry.get("gateway.response.cache.bytes.saved")
+                .tag("leg", "client").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache for writes and invalidate the route")
+    void shouldBypassWritesAndInvalidateRoute() {
+        // Given
+        filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products")), upstream).block();
+
+        // When
+        filter.filter(exchange(MockServerHttpRequest.put("/product-service/api/products")), upstream).block();
+        filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products")), upstream).block();
+
+        // Then
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(1.0d, meterRegistry.get("gateway.response.cache.lookups")
+                .tag("result", "bypass").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep JSON and NDJSON representations of one path apart and never cache the stream")
+    void shouldKeyOnAcceptAndSkipStreamingMediaTypes() {
+        // Given
+        GatewayFilterChain negotiating = exchange -> exchange.getRequest().getHeaders().getAccept()
+                .contains(MediaType.APPLICATION_NDJSON)
+                        ? respond(MediaType.APPLICATION_NDJSON, "{\"productId\":1}\n", "{\"productId\":2}\n").filter(exchange)
+                        : upstream.filter(exchange);
+        MockServerWebExchange json = exchange(MockServerHttpRequest.get("/product-service/api/products")
+                .accept(MediaType.APPLICATION_JSON));
+        MockServerWebExchange ndjson = exchange(MockServerHttpRequest.get("/product-service/api/products")
+                .accept(MediaType.APPLICATION_NDJSON));
+        MockServerWebExchange ndjsonAgain = exchange(MockServerHttpRequest.get("/product-service/api/products")
+                .accept(MediaType.APPLICATION_NDJSON));
+
+        // When
+        filter.filter(json, negotiating).block();
+        filter.filter(ndjson, negotiating).block();
+        filter.filter(ndjsonAgain, negotiating).block();
+
+        // Then
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(BODY, json.getResponse().getBodyAsString().block());
+        assertEquals("{\"productId\":1}\n{\"productId\":2}\n", ndjsonAgain.getResponse().getBodyAsString().block());
+        assertNull(ndjsonAgain.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Should stream a response past the entry size limit through without caching it")
+    void shouldPassOversizedResponsesThroughUncached() {
+        // Given
+        ResponseCacheProperties responseCacheProperties = new ResponseCacheProperties();
+        responseCacheProperties.setMaximumEntrySize(DataSize.ofBytes(16));
+        ResponseCacheStore responseCacheStore = new ResponseCacheStore(responseCacheProperties);
+        GatewayFilter smallCache = new ResponseCacheGatewayFilterFactory(responseCacheStore,
+                new ResponseCacheMetrics(new SimpleMeterRegistry(), responseCacheStore), responseCacheProperties)
+                .apply(new ResponseCacheGatewayFilterFactory.Config());
+        GatewayFilterChain chunked = respond(MediaType.APPLICATION_JSON, "[{\"id\":1},", "{\"id\":2},", "{\"id\":3}]");
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/products"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/products"));
+
+        // When
+        smallCache.filter(first, chunked).block();
+        smallCache.filter(second, chunked).block();
+
+        // Then
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", second.getResponse().getBodyAsString().block());
+        assertNull(second.getResponse().getHeaders().getETag());
+    }
+
+    private GatewayFilterChain respond(MediaType contentType, String... chunks) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(contentType);
+            return exchange.getResponse().writeWith(Flux.fromArray(chunks)
+                    .map(chunk -> exchange.getResponse().bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("PRODUCT-SERVICE-PRODUCTS")
+                .uri("lb://PRODUCT-SERVICE")
+                .predicate(serverWebExchange -> true)
+                .build());
+        return exchange;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LocalTokenBucketRateLimiter Unit Tests")
+class LocalTokenBucketRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setReplenishRate(1);
+        rateLimitProperties.setBurstCapacity(2);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LocalTokenBucketRateLimiter(rateLimitProperties, mock(ConfigurationService.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and reject the next request")
+    void shouldRejectOnceBurstIsSpent() {
+        // When
+        Response first = rateLimiter.isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1").block();
+        Response second = rateLimiter.isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1").block();
+        Response third = rateLimiter.isAllowed("PRODUCT-SERVICE", "ip:10.0.0.1").block();
+
+        // Then
+        assertTrue(first.isAllowed());
+        assertEquals("1", first.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+        assertTrue(second.isAllowed());
+        assertFalse(third.isAllowed());
+        assertEquals("0", third.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+        assertEquals(1.0d, meterRegistry.get("gateway.rate.limiter.requests")
+                .tag("route", "PRODUCT-SERVICE").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per route")
+    void shouldIsolateBucketsPerClientAndRoute() {
+        // Given
+        rateLimiter.isAllowed("PRODUCT-SERVICE", "sub:selimhorri").block();
+        rateLimiter.isAllowed("PRODUCT-SERVICE", "sub:selimhorri").block();
+
+        // When
+        Response otherClient = rateLimiter.isAllowed("PRODUCT-SERVICE", "sub:amine").block();
+        Response otherRoute = rateLimiter.isAllowed("ORDER-SERVICE", "sub:selimhorri").block();
+
+        // Then
+        assertTrue(otherClient.isAllowed());
+        assertTrue(otherRoute.isAllowed());
+        assertFalse(rateLimiter.isAllowed("PRODUCT-SERVICE", "sub:selimhorri").block().isAllowed());
+    }
+
+    @Test
+    @DisplayName("Should refill tokens at the replenish rate")
+    void shouldRefillTokensOverTime() {
+        // Given
+        TokenBucket tokenBucket = new TokenBucket(2, 0L);
+        tokenBucket.tryConsume(1, 1, 2, 0L);
+        tokenBucket.tryConsume(1, 1, 2, 0L);
+
+        // When
+        long beforeRefill = tokenBucket.tryConsume(1, 1, 2, 500_000_000L);
+        long afterRefill = tokenBucket.tryConsume(1, 1, 2, 1_500_000_000L);
+
+        // Then
+        assertEquals(-1L, beforeRefill);
+        assertEquals(0L, afterRefill);
+    }
+
+}
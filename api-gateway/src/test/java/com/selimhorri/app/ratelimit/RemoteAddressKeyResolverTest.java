@@ -0,0 +1,64 @@
+package com.selimhorri.app.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.selimhorri.app.config.ratelimit.RateLimitProperties;
+
+@DisplayName("RemoteAddressKeyResolver Unit Tests")
+class RemoteAddressKeyResolverTest {
+
+    private RemoteAddressKeyResolver keyResolver;
+
+    @BeforeEach
+    void setUp() {
+        keyResolver = new RemoteAddressKeyResolver(new RateLimitProperties());
+    }
+
+    @Test
+    @DisplayName("Should key requests from one address to one bucket whatever token subject they carry")
+    void shouldIgnoreUnverifiedJwtSubjects() {
+        // Given
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, this.bearer("selimhorri"))
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 51000)));
+        MockServerWebExchange forged = MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, this.bearer("random-subject-42"))
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 51001)));
+
+        // When & Then
+        assertEquals("ip:10.0.0.1", keyResolver.resolve(first).block());
+        assertEquals("ip:10.0.0.1", keyResolver.resolve(forged).block());
+    }
+
+    @Test
+    @DisplayName("Should ignore X-Forwarded-For unless proxies are trusted")
+    void shouldIgnoreForwardedForByDefault() {
+        // Given
+        MockServerWebExchange anonymous = MockServerWebExchange.from(MockServerHttpRequest.get("/product-service/api/products")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 51000)));
+        MockServerWebExchange forwarded = MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/orders")
+                .header("X-Forwarded-For", "203.0.113.9")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 51000)));
+
+        // When & Then
+        assertEquals("ip:10.0.0.1", keyResolver.resolve(anonymous).block());
+        assertEquals("ip:10.0.0.2", keyResolver.resolve(forwarded).block());
+    }
+
+    private String bearer(final String subject) {
+        return "Bearer eyJhbGciOiJIUzI1NiJ9." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"sub\":\"" + subject + "\"}").getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+}
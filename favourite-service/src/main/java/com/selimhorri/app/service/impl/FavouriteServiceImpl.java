@@ -1,19 +1,26 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
@@ -28,25 +35,27 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
+	private final PaginationProperties paginationProperties;
 	
 	@Override
-	public List<FavouriteDto> findAll() {
-		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
-				.stream()
+	public DtoCollectionResponse<FavouriteDto> findAll(final String cursor, final Integer size) {
+		log.info("*** FavouriteDto Page, service; fetch favourites after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		final var pageable = PageRequest.of(0, pageSize + 1);
+		final List<Favourite> favourites;
+		if (cursor == null || cursor.isBlank())
+			favourites = this.favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(pageable);
+		else {
+			final FavouriteId after = CursorHelper.decode(cursor, keys -> new FavouriteId(
+					Integer.parseInt(keys.get(0)), Integer.parseInt(keys.get(1)), LocalDateTime.parse(keys.get(2))));
+			favourites = this.favouriteRepository
+					.findAllAfter(after.getUserId(), after.getProductId(), after.getLikeDate(), pageable);
+		}
+		return CursorHelper.page(this.withUserAndProductDtos(favourites.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList())), 
+				pageSize, f -> CursorHelper.encode(f.getUserId(), f.getProductId(), f.getLikeDate()));
 	}
 	
 	@Override
@@ -55,12 +64,10 @@ public class FavouriteServiceImpl implements FavouriteService {
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					f.setUserDto(this.remoteDtoCache.findById(AppConstant.DiscoveredDomainsApi
+							.USER_SERVICE_API_URL, f.getUserId(), UserDto.class, UserDto::getUserId, f.getUserDto()));
+					f.setProductDto(this.remoteDtoCache.findById(AppConstant.DiscoveredDomainsApi
+							.PRODUCT_SERVICE_API_URL, f.getProductId(), ProductDto.class, ProductDto::getProductId, f.getProductDto()));
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -84,6 +91,23 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	private List<FavouriteDto> withUserAndProductDtos(final List<FavouriteDto> favouriteDtos) {
+		final Map<Integer, UserDto> userDtos = this.remoteDtoCache.findAllByIds(
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				favouriteDtos.stream().map(FavouriteDto::getUserId).collect(Collectors.toSet()),
+				UserDto.class, UserDto::getUserId);
+		final Map<Integer, ProductDto> productDtos = this.remoteDtoCache.findAllByIds(
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				favouriteDtos.stream().map(FavouriteDto::getProductId).collect(Collectors.toSet()),
+				ProductDto.class, ProductDto::getProductId);
+		
+		favouriteDtos.forEach(f -> {
+			f.setUserDto(userDtos.getOrDefault(f.getUserId(), f.getUserDto()));
+			f.setProductDto(productDtos.getOrDefault(f.getProductId(), f.getProductDto()));
+		});
+		return favouriteDtos;
+	}
+	
 	
 	
 }
@@ -0,0 +1,166 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+import com.selimhorri.app.repository.FavouriteRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FavouriteServiceImpl Unit Tests")
+class FavouriteServiceImplTest {
+
+    private static final String USER_API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL;
+    private static final String PRODUCT_API_URL = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL;
+
+    @Mock
+    private FavouriteRepository favouriteRepository;
+
+    @Mock
+    private RemoteDtoCache remoteDtoCache;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @InjectMocks
+    private FavouriteServiceImpl favouriteService;
+
+    private LocalDateTime likeDate;
+    private UserDto mockUserDto;
+    private ProductDto mockProductDto;
+
+    @BeforeEach
+    void setUp() {
+        likeDate = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_000_000);
+
+        mockUserDto = UserDto.builder()
+                .userId(1)
+                .firstName("Selim")
+                .lastName("Horri")
+                .build();
+
+        mockProductDto = ProductDto.builder()
+                .productId(10)
+                .productTitle("Test Product")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should look up each downstream once over the distinct ids of the page")
+    @SuppressWarnings("unchecked")
+    void shouldLookUpEachDownstreamOnceOverDistinctIds() {
+        // Given
+        when(favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(any()))
+                .thenReturn(List.of(favourite(1, 10, likeDate), favourite(1, 11, likeDate), favourite(2, 10, likeDate)));
+        when(remoteDtoCache.findAllByIds(eq(USER_API_URL), anyCollection(), eq(UserDto.class), any()))
+                .thenReturn(Map.of(1, mockUserDto));
+        when(remoteDtoCache.findAllByIds(eq(PRODUCT_API_URL), anyCollection(), eq(ProductDto.class), any()))
+                .thenReturn(Map.of(10, mockProductDto));
+        final ArgumentCaptor<Collection<Integer>> userIds = ArgumentCaptor.forClass(Collection.class);
+        final ArgumentCaptor<Collection<Integer>> productIds = ArgumentCaptor.forClass(Collection.class);
+
+        // When
+        final var result = favouriteService.findAll(null, 20);
+
+        // Then
+        assertEquals(3, result.getCollection().size());
+        verify(remoteDtoCache, times(1)).findAllByIds(eq(USER_API_URL), userIds.capture(), eq(UserDto.class), any());
+        verify(remoteDtoCache, times(1)).findAllByIds(eq(PRODUCT_API_URL), productIds.capture(), eq(ProductDto.class), any());
+        assertEquals(Set.of(1, 2), Set.copyOf(userIds.getValue()));
+        assertEquals(2, userIds.getValue().size());
+        assertEquals(Set.of(10, 11), Set.copyOf(productIds.getValue()));
+        assertEquals(2, productIds.getValue().size());
+        verify(remoteDtoCache, never()).findById(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the bare-id dtos when a remote lookup misses")
+    void shouldKeepBareIdDtosWhenLookupMisses() {
+        // Given
+        when(favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(any()))
+                .thenReturn(List.of(favourite(1, 10, likeDate), favourite(2, 11, likeDate)));
+        when(remoteDtoCache.findAllByIds(eq(USER_API_URL), anyCollection(), eq(UserDto.class), any()))
+                .thenReturn(Map.of(1, mockUserDto));
+        when(remoteDtoCache.findAllByIds(eq(PRODUCT_API_URL), anyCollection(), eq(ProductDto.class), any()))
+                .thenReturn(Map.of());
+
+        // When
+        final List<FavouriteDto> result = List.copyOf(favouriteService.findAll(null, 20).getCollection());
+
+        // Then
+        assertEquals("Selim", result.get(0).getUserDto().getFirstName());
+        assertEquals(2, result.get(1).getUserDto().getUserId());
+        assertNull(result.get(1).getUserDto().getFirstName());
+        assertEquals(10, result.get(0).getProductDto().getProductId());
+        assertNull(result.get(0).getProductDto().getProductTitle());
+        assertEquals(11, result.get(1).getProductDto().getProductId());
+    }
+
+    @Test
+    @DisplayName("Should resume after the composite (userId, productId, likeDate) key of the cursor")
+    void shouldRoundTripCompositeCursor() {
+        // Given
+        when(favouriteRepository.findAllByOrderByUserIdAscProductIdAscLikeDateAsc(PageRequest.of(0, 3)))
+                .thenReturn(List.of(favourite(1, 10, likeDate), favourite(1, 11, likeDate), favourite(2, 10, likeDate)));
+        when(favouriteRepository.findAllAfter(1, 11, likeDate, PageRequest.of(0, 3)))
+                .thenReturn(List.of(favourite(2, 10, likeDate)));
+        when(remoteDtoCache.findAllByIds(any(), anyCollection(), any(), any()))
+                .thenReturn(Map.of());
+
+        // When
+        final var firstPage = favouriteService.findAll(null, 2);
+        final var secondPage = favouriteService.findAll(firstPage.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, firstPage.getCollection().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getCollection().size());
+        assertNull(secondPage.getNextCursor());
+        assertEquals(likeDate, secondPage.getCollection().iterator().next().getLikeDate());
+        verify(favouriteRepository, times(1)).findAllAfter(1, 11, likeDate, PageRequest.of(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that does not decode to a composite key")
+    void shouldRejectMalformedCursor() {
+        // When & Then
+        assertThrows(InvalidCursorException.class, () -> favouriteService.findAll("bm90LWEta2V5", 2));
+        verifyNoInteractions(favouriteRepository, remoteDtoCache);
+    }
+
+    private static Favourite favourite(final Integer userId, final Integer productId, final LocalDateTime likeDate) {
+        return Favourite.builder()
+                .userId(userId)
+                .productId(productId)
+                .likeDate(likeDate)
+                .build();
+    }
+
+}
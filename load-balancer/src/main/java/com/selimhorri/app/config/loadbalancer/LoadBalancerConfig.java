@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.app.loadbalancer.InstanceLoadTracker;
+
+@Configuration
+@ConditionalOnProperty(name = "app.load-balancer.strategy", havingValue = "peak-ewma", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+	
+	@Bean
+	public InstanceLoadTracker instanceLoadTracker(final PeakEwmaProperties peakEwmaProperties) {
+		return new InstanceLoadTracker(peakEwmaProperties.getDecay(), peakEwmaProperties.getFailurePenalty());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import com.selimhorri.app.loadbalancer.InstanceLoadTracker;
+import com.selimhorri.app.loadbalancer.PeakEwmaLoadBalancer;
+
+public class PeakEwmaLoadBalancerConfiguration {
+	
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> peakEwmaLoadBalancer(final Environment environment,
+			final LoadBalancerClientFactory loadBalancerClientFactory, final InstanceLoadTracker instanceLoadTracker) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new PeakEwmaLoadBalancer(loadBalancerClientFactory
+				.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, instanceLoadTracker);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.load-balancer")
+@Data
+public class PeakEwmaProperties {
+	
+	private String strategy = "peak-ewma";
+	private Duration decay = Duration.ofSeconds(10);
+	private Duration failurePenalty = Duration.ofSeconds(1);
+	
+}
+
+
+
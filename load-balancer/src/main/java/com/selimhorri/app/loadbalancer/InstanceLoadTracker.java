@@ -0,0 +1,136 @@
+package com.selimhorri.app.loadbalancer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+	private final long decayNanos;
+	private final long failurePenaltyNanos;
+	private final LongSupplier nanoClock;
+	
+	public InstanceLoadTracker(final Duration decay, final Duration failurePenalty) {
+		this(decay, failurePenalty, System::nanoTime);
+	}
+	
+	InstanceLoadTracker(final Duration decay, final Duration failurePenalty, final LongSupplier nanoClock) {
+		this.decayNanos = decay.toNanos();
+		this.failurePenaltyNanos = failurePenalty.toNanos();
+		this.nanoClock = nanoClock;
+	}
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+	
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (lbResponse == null || !lbResponse.hasServer())
+			return;
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(this.nanoClock.getAsLong());
+		this.load(lbResponse.getServer()).inFlight.incrementAndGet();
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer())
+			return;
+		final InstanceLoad load = this.load(lbResponse.getServer());
+		load.inFlight.updateAndGet(inFlight -> Math.max(0, inFlight - 1));
+		final Object requestContext = completionContext.getLoadBalancerRequest() == null
+				? null : completionContext.getLoadBalancerRequest().getContext();
+		if (!(requestContext instanceof TimedRequestContext) || ((TimedRequestContext) requestContext).getRequestStartTime() == 0L)
+			return;
+		final long now = this.nanoClock.getAsLong();
+		final long elapsed = now - ((TimedRequestContext) requestContext).getRequestStartTime();
+		load.observe(isFailure(completionContext) ? Math.max(elapsed, this.failurePenaltyNanos) : elapsed, now, this.decayNanos);
+	}
+	
+	public double cost(final ServiceInstance instance) {
+		final InstanceLoad load = this.loads.get(key(instance));
+		return load == null ? 0d : load.cost(this.nanoClock.getAsLong(), this.decayNanos, this.failurePenaltyNanos);
+	}
+	
+	public int inFlight(final ServiceInstance instance) {
+		final InstanceLoad load = this.loads.get(key(instance));
+		return load == null ? 0 : load.inFlight.get();
+	}
+	
+	private InstanceLoad load(final ServiceInstance instance) {
+		return this.loads.computeIfAbsent(key(instance), key -> new InstanceLoad());
+	}
+	
+	private static boolean isFailure(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (completionContext.status() == CompletionContext.Status.FAILED)
+			return true;
+		final Object clientResponse = completionContext.getClientResponse();
+		return clientResponse instanceof ResponseData
+				&& ((ResponseData) clientResponse).getHttpStatus() != null
+				&& ((ResponseData) clientResponse).getHttpStatus().is5xxServerError();
+	}
+	
+	private static String key(final ServiceInstance instance) {
+		return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+	}
+	
+	private static class InstanceLoad {
+		
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private double ewma;
+		private long stamp;
+		private boolean sampled;
+		
+		synchronized void observe(final long latency, final long now, final long decay) {
+			if (!this.sampled || latency > this.ewma)
+				this.ewma = latency;
+			else {
+				final double weight = Math.exp(-(now - this.stamp) / (double) decay);
+				this.ewma = this.ewma * weight + latency * (1d - weight);
+			}
+			this.stamp = now;
+			this.sampled = true;
+		}
+		
+		synchronized double cost(final long now, final long decay, final long unsampledPenalty) {
+			final int pending = this.inFlight.get();
+			if (!this.sampled)
+				return pending == 0 ? 0d : (double) unsampledPenalty * (pending + 1);
+			return this.ewma * Math.exp(-(now - this.stamp) / (double) decay) * (pending + 1);
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
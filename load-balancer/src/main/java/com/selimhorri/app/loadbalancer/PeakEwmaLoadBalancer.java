@@ -0,0 +1,64 @@
+package com.selimhorri.app.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final InstanceLoadTracker instanceLoadTracker;
+	
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		return this.serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new)
+				.get(request)
+				.next()
+				.map(this::choose);
+	}
+	
+	private Response<ServiceInstance> choose(final List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			log.warn("*** PeakEwmaLoadBalancer, load balancer; no servers available for service: {} *", this.serviceId);
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1)
+			return new DefaultResponse(instances.get(0));
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+		final ServiceInstance left = instances.get(first);
+		final ServiceInstance right = instances.get(second);
+		return new DefaultResponse(this.instanceLoadTracker.cost(left) <= this.instanceLoadTracker.cost(right) ? left : right);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,167 @@
+package com.selimhorri.app.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+@DisplayName("PeakEwmaLoadBalancer Simulation Benchmark")
+class PeakEwmaLoadBalancerSimulationTest {
+
+    private static final String SERVICE_ID = "PRODUCT-SERVICE";
+    private static final int REQUESTS = 5_000;
+    private static final long ARRIVAL_INTERVAL = Duration.ofMillis(2).toNanos();
+
+    private static final ServiceInstance FAST = instance("fast", 8501);
+    private static final ServiceInstance STEADY = instance("steady", 8502);
+    private static final ServiceInstance PAUSING = instance("pausing", 8503);
+    private static final Map<ServiceInstance, Long> LATENCIES = Map.of(
+            FAST, Duration.ofMillis(10).toNanos(),
+            STEADY, Duration.ofMillis(12).toNanos(),
+            PAUSING, Duration.ofMillis(250).toNanos());
+
+    @Test
+    @DisplayName("Should cut mean and p99 latency against round robin when one instance is slow")
+    void shouldBeatRoundRobinWithSkewedLatency() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        InstanceLoadTracker tracker = new InstanceLoadTracker(Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get);
+        PeakEwmaLoadBalancer peakEwma = new PeakEwmaLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, FAST, STEADY, PAUSING), SERVICE_ID, tracker);
+        RoundRobinLoadBalancer roundRobin = new RoundRobinLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, FAST, STEADY, PAUSING), SERVICE_ID);
+
+        // When
+        Result peakEwmaResult = simulate(peakEwma, tracker, clock);
+        Result roundRobinResult = simulate(roundRobin,
+                new InstanceLoadTracker(Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get), new AtomicLong());
+
+        // Then
+        assertTrue(roundRobinResult.share(PAUSING) > 0.33d, roundRobinResult::toString);
+        assertTrue(roundRobinResult.mean() > Duration.ofMillis(85).toNanos(), roundRobinResult::toString);
+        assertEquals(LATENCIES.get(PAUSING), roundRobinResult.p99(), roundRobinResult::toString);
+        assertTrue(peakEwmaResult.share(PAUSING) < 0.01d, peakEwmaResult::toString);
+        assertTrue(peakEwmaResult.mean() < Duration.ofMillis(15).toNanos(), peakEwmaResult::toString);
+        assertTrue(peakEwmaResult.p99() <= LATENCIES.get(STEADY), peakEwmaResult::toString);
+    }
+
+    @Test
+    @DisplayName("Should steer away from the instance with requests still in flight")
+    void shouldAvoidInstanceWithRequestsInFlight() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        InstanceLoadTracker tracker = new InstanceLoadTracker(Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get);
+        PeakEwmaLoadBalancer peakEwma = new PeakEwmaLoadBalancer(
+                ServiceInstanceListSuppliers.toProvider(SERVICE_ID, FAST, STEADY), SERVICE_ID, tracker);
+        for (int i = 0; i < 5; i++)
+            tracker.onStartRequest(new DefaultRequest<>(new DefaultRequestContext()), new DefaultResponse(FAST));
+
+        // When
+        ServiceInstance chosen = peakEwma.choose(new DefaultRequest<>(new DefaultRequestContext())).block().getServer();
+
+        // Then
+        assertEquals(STEADY, chosen);
+        assertEquals(5, tracker.inFlight(FAST));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Result simulate(final ReactorServiceInstanceLoadBalancer loadBalancer,
+            final InstanceLoadTracker tracker, final AtomicLong clock) {
+        final PriorityQueue<InFlight> inFlight = new PriorityQueue<>();
+        final List<Long> latencies = new ArrayList<>();
+        final Map<ServiceInstance, AtomicLong> picks = Map.of(FAST, new AtomicLong(), STEADY, new AtomicLong(),
+                PAUSING, new AtomicLong());
+        for (int i = 0; i < REQUESTS; i++) {
+            final long now = i * ARRIVAL_INTERVAL;
+            while (!inFlight.isEmpty() && inFlight.peek().finish <= now) {
+                final InFlight done = inFlight.poll();
+                clock.set(done.finish);
+                tracker.onComplete(new CompletionContext(CompletionContext.Status.SUCCESS, done.request, done.response));
+            }
+            clock.set(now);
+            final Request request = new DefaultRequest<>(new DefaultRequestContext());
+            final Response<ServiceInstance> response = loadBalancer.choose(request).block();
+            tracker.onStartRequest(request, response);
+            final long latency = LATENCIES.get(response.getServer());
+            picks.get(response.getServer()).incrementAndGet();
+            latencies.add(latency);
+            inFlight.add(new InFlight(now + latency, request, response));
+        }
+        return new Result(latencies, picks);
+    }
+
+    private static ServiceInstance instance(final String instanceId, final int port) {
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, "localhost", port, false);
+    }
+
+    private static class InFlight implements Comparable<InFlight> {
+
+        private final long finish;
+        private final Request<Object> request;
+        private final Response<ServiceInstance> response;
+
+        @SuppressWarnings("unchecked")
+        InFlight(final long finish, final Request<?> request, final Response<ServiceInstance> response) {
+            this.finish = finish;
+            this.request = (Request<Object>) request;
+            this.response = response;
+        }
+
+        @Override
+        public int compareTo(final InFlight other) {
+            return Long.compare(this.finish, other.finish);
+        }
+
+    }
+
+    private static class Result {
+
+        private final List<Long> latencies;
+        private final Map<ServiceInstance, AtomicLong> picks;
+
+        Result(final List<Long> latencies, final Map<ServiceInstance, AtomicLong> picks) {
+            this.latencies = new ArrayList<>(latencies);
+            this.picks = picks;
+            Collections.sort(this.latencies);
+        }
+
+        double mean() {
+            return this.latencies.stream().mapToLong(Long::longValue).average().orElse(0d);
+        }
+
+        long p99() {
+            return this.latencies.get((int) Math.ceil(this.latencies.size() * 0.99d) - 1);
+        }
+
+        double share(final ServiceInstance instance) {
+            return this.picks.get(instance).get() / (double) this.latencies.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean %.1f ms, p99 %d ms, pausing-instance share %.1f%%",
+                    this.mean() / 1_000_000d, this.p99() / 1_000_000L, this.share(PAUSING) * 100d);
+        }
+
+    }
+
+}
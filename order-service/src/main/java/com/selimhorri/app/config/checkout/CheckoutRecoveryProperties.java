@@ -0,0 +1,23 @@
+package com.selimhorri.app.config.checkout;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.checkout-recovery")
+@Data
+public class CheckoutRecoveryProperties {
+	
+	private Duration interval = Duration.ofMinutes(1);
+	private Duration timeout = Duration.ofMinutes(2);
+	private int batchSize = 100;
+	
+}
+
+
+
+
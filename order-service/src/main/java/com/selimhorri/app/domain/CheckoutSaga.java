@@ -0,0 +1,62 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "checkout_sagas")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public class CheckoutSaga extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "saga_id", unique = true, nullable = false, updatable = false, length = 36)
+	private String sagaId;
+	
+	@Column(name = "cart_id", nullable = false, updatable = false)
+	private Integer cartId;
+	
+	@Column(name = "order_id")
+	private Integer orderId;
+	
+	@Column(name = "reservation_id", length = 36)
+	private String reservationId;
+	
+	@Column(name = "payment_id")
+	private Integer paymentId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "saga_status", nullable = false, length = 32)
+	private SagaStatus sagaStatus;
+	
+	@Column(name = "failure_reason")
+	private String failureReason;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,17 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum ReservationStatus {
+	
+	RESERVED("reserved"),
+	COMMITTED("committed"),
+	RELEASED("released"),
+	EXPIRED("expired");
+	
+	private final String status;
+	
+}
@@ -0,0 +1,27 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum SagaStatus {
+	
+	STARTED("started"),
+	COMPLETED("completed"),
+	COMPENSATED("compensated"),
+	COMPENSATION_FAILED("compensation_failed");
+	
+	private final String status;
+	
+}
+
+
+
+
+
+
+
+
+
+
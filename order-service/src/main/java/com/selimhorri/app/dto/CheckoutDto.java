@@ -0,0 +1,65 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+import com.selimhorri.app.domain.SagaStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CheckoutDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty(access = Access.READ_ONLY)
+	private String sagaId;
+	
+	@JsonProperty(access = Access.READ_ONLY)
+	private SagaStatus sagaStatus;
+	
+	@NotNull(message = "Cart id must not be NULL")
+	private Integer cartId;
+	
+	private String orderDesc;
+	private Double orderFee;
+	
+	@Valid
+	@NotEmpty(message = "Items must not be empty")
+	private List<CheckoutItemDto> items;
+	
+	@JsonProperty(access = Access.READ_ONLY)
+	private String reservationId;
+	
+	@JsonProperty(access = Access.READ_ONLY)
+	private Integer paymentId;
+	
+	@JsonProperty(value = "order", access = Access.READ_ONLY)
+	@JsonInclude(Include.NON_NULL)
+	private OrderDto orderDto;
+	
+}
+
+
+
+
+
+
+
+
+
+
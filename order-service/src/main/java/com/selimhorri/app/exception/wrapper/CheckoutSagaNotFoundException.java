@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class CheckoutSagaNotFoundException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public CheckoutSagaNotFoundException() {
+		super();
+	}
+	
+	public CheckoutSagaNotFoundException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public CheckoutSagaNotFoundException(String message) {
+		super(message);
+	}
+	
+	public CheckoutSagaNotFoundException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
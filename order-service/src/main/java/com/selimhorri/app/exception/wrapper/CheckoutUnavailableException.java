@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class CheckoutUnavailableException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public CheckoutUnavailableException() {
+		super();
+	}
+	
+	public CheckoutUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public CheckoutUnavailableException(String message) {
+		super(message);
+	}
+	
+	public CheckoutUnavailableException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
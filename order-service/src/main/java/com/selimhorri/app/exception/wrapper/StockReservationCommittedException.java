@@ -0,0 +1,36 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class StockReservationCommittedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public StockReservationCommittedException() {
+		super();
+	}
+	
+	public StockReservationCommittedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public StockReservationCommittedException(String message) {
+		super(message);
+	}
+	
+	public StockReservationCommittedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
+
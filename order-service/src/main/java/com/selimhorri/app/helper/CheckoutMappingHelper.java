@@ -0,0 +1,35 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.CheckoutSaga;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.OrderDto;
+
+public interface CheckoutMappingHelper {
+	
+	public static CheckoutDto map(final CheckoutSaga checkoutSaga) {
+		return CheckoutDto.builder()
+				.sagaId(checkoutSaga.getSagaId())
+				.sagaStatus(checkoutSaga.getSagaStatus())
+				.cartId(checkoutSaga.getCartId())
+				.reservationId(checkoutSaga.getReservationId())
+				.paymentId(checkoutSaga.getPaymentId())
+				.orderDto(checkoutSaga.getOrderId() == null ? null : 
+						OrderDto.builder()
+							.orderId(checkoutSaga.getOrderId())
+							.build())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
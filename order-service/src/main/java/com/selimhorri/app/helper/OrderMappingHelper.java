@@ -16,6 +16,7 @@ public interface OrderMappingHelper {
 				.cartDto(
 						CartDto.builder()
 							.cartId(order.getCart().getCartId())
+							.userId(order.getCart().getUserId())
 							.build())
 				.build();
 	}
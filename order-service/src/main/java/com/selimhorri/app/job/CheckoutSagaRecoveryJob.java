@@ -0,0 +1,41 @@
+package com.selimhorri.app.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.CheckoutService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutSagaRecoveryJob {
+	
+	private final CheckoutService checkoutService;
+	
+	@Scheduled(fixedDelayString = "${app.checkout-recovery.interval:PT1M}", 
+			initialDelayString = "${app.checkout-recovery.interval:PT1M}")
+	public void recoverStalled() {
+		int recovered;
+		do {
+			recovered = this.checkoutService.recoverStalled();
+		}
+		while (recovered > 0);
+		log.debug("*** Void, job; checkout saga recovery sweep done *");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
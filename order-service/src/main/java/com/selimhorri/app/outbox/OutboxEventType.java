@@ -0,0 +1,27 @@
+package com.selimhorri.app.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	ORDER_CREATED("Order", "OrderCreated"),
+	ORDER_UPDATED("Order", "OrderUpdated"),
+	ORDER_DELETED("Order", "OrderDeleted");
+	
+	private final String aggregateType;
+	private final String eventType;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,64 @@
+package com.selimhorri.app.outbox;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxPublisher {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+	
+	@Transactional(TxType.MANDATORY)
+	public void publish(final OutboxEventType outboxEventType, final Object aggregateId, final Object payload) {
+		log.info("*** Void, outbox; record {} for {} {} *", outboxEventType.getEventType(), 
+				outboxEventType.getAggregateType(), aggregateId);
+		this.outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateType(outboxEventType.getAggregateType())
+				.aggregateId(String.valueOf(aggregateId))
+				.eventType(outboxEventType.getEventType())
+				.payload(this.serialize(payload))
+				.occurredAt(Instant.now())
+				.build());
+	}
+	
+	private String serialize(final Object payload) {
+		try {
+			return this.objectMapper.writer()
+					.without(SerializationFeature.INDENT_OUTPUT)
+					.writeValueAsString(payload);
+		}
+		catch (final JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,97 @@
+package com.selimhorri.app.outbox;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.repository.OutboxRelayLockRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelay {
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final OutboxRelayLockRepository outboxRelayLockRepository;
+	private final OutboxTransport outboxTransport;
+	private final OutboxProperties outboxProperties;
+	private final ObjectMapper objectMapper;
+	
+	@Transactional
+	@Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}", initialDelayString = "${app.outbox.relay-interval:PT1S}")
+	public void relay() {
+		if (!this.outboxRelayLockRepository.lock()) {
+			log.warn("*** Void, outbox; relay lock row missing, skipping relay *");
+			return;
+		}
+		try {
+			int relayed;
+			do {
+				relayed = this.relayBatch();
+			}
+			while (relayed == this.outboxProperties.getBatchSize());
+		}
+		catch (RuntimeException e) {
+			log.warn("*** Void, outbox; delivery failed, retrying on next relay; {} *", e.toString());
+		}
+		this.outboxEventRepository.deletePublishedBefore(Instant.now().minus(this.outboxProperties.getRetention()));
+	}
+	
+	private int relayBatch() {
+		final List<OutboxEvent> outboxEvents = this.outboxEventRepository
+				.findByPublishedAtIsNullOrderByEventIdAsc(PageRequest.of(0, this.outboxProperties.getBatchSize()));
+		if (outboxEvents.isEmpty())
+			return 0;
+		this.outboxTransport.send(outboxEvents.stream()
+				.map(this::map)
+				.collect(Collectors.toUnmodifiableList()));
+		this.outboxEventRepository.markPublished(outboxEvents.stream()
+				.map(OutboxEvent::getEventId)
+				.collect(Collectors.toUnmodifiableList()), Instant.now());
+		return outboxEvents.size();
+	}
+	
+	private OutboxMessage map(final OutboxEvent outboxEvent) {
+		try {
+			return OutboxMessage.builder()
+					.eventId(outboxEvent.getEventId())
+					.aggregateType(outboxEvent.getAggregateType())
+					.aggregateId(outboxEvent.getAggregateId())
+					.eventType(outboxEvent.getEventType())
+					.payload(this.objectMapper.readTree(outboxEvent.getPayload()))
+					.occurredAt(outboxEvent.getOccurredAt())
+					.build();
+		}
+		catch (final JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
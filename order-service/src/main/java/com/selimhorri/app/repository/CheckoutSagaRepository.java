@@ -0,0 +1,29 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CheckoutSaga;
+import com.selimhorri.app.domain.SagaStatus;
+
+public interface CheckoutSagaRepository extends JpaRepository<CheckoutSaga, String> {
+	
+	List<CheckoutSaga> findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(final Collection<SagaStatus> sagaStatuses, 
+			final Instant updatedBefore, final Pageable pageable);
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE CheckoutSaga s SET s.updatedAt = :claimedAt WHERE s.sagaId = :sagaId AND s.updatedAt = :updatedAt")
+	int claim(@Param("sagaId") final String sagaId, @Param("updatedAt") final Instant updatedAt, 
+			@Param("claimedAt") final Instant claimedAt);
+	
+}
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
@@ -30,9 +33,19 @@ public class CartResource {
 	private final CartService cartService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", required = false) final Integer size) {
 		log.info("*** CartDto List, controller; fetch all categories *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
+		return ResponseEntity.ok(this.cartService.findAll(cursor, size));
+	}
+	
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAllInBatch(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") final List<Integer> cartIds) {
+		log.info("*** CartDto List, controller; fetch all carts by ids in batch *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAllByIds(cartIds)));
 	}
 	
 	@GetMapping("/{cartId}")
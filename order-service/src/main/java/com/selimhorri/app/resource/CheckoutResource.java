@@ -0,0 +1,59 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.service.CheckoutService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/checkout")
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutResource {
+	
+	private final CheckoutService checkoutService;
+	
+	@GetMapping("/{sagaId}")
+	public ResponseEntity<CheckoutDto> findById(
+			@PathVariable("sagaId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String sagaId) {
+		log.info("*** CheckoutDto, resource; fetch checkout saga by id *");
+		return ResponseEntity.ok(this.checkoutService.findById(sagaId));
+	}
+	
+	@PostMapping
+	public ResponseEntity<CheckoutDto> checkout(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CheckoutDto checkoutDto) {
+		log.info("*** CheckoutDto, resource; checkout cart *");
+		return ResponseEntity.ok(this.checkoutService.checkout(checkoutDto));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,16 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface CartService {
 	
-	List<CartDto> findAll();
+	DtoCollectionResponse<CartDto> findAll(final String cursor, final Integer size);
 	CartDto findById(final Integer cartId);
+	List<CartDto> findAllByIds(final Collection<Integer> cartIds);
 	CartDto save(final CartDto cartDto);
 	CartDto update(final CartDto cartDto);
 	CartDto update(final Integer cartId, final CartDto cartDto);
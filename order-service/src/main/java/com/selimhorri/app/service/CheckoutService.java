@@ -0,0 +1,11 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.CheckoutDto;
+
+public interface CheckoutService {
+	
+	CheckoutDto findById(final String sagaId);
+	CheckoutDto checkout(final CheckoutDto checkoutDto);
+	int recoverStalled();
+	
+}
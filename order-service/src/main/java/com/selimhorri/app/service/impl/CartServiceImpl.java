@@ -1,18 +1,27 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.helper.BatchHelper;
 import com.selimhorri.app.helper.CartMappingHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
 
@@ -26,21 +35,20 @@ import lombok.extern.slf4j.Slf4j;
 public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
+	private final BatchProperties batchProperties;
+	private final PaginationProperties paginationProperties;
 	
 	@Override
-	public List<CartDto> findAll() {
-		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+	public DtoCollectionResponse<CartDto> findAll(final String cursor, final Integer size) {
+		log.info("*** CartDto Page, service; fetch carts after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.withUserDtos(this.cartRepository
+				.findByCartIdGreaterThanOrderByCartIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList())), 
+				pageSize, c -> CursorHelper.encode(c.getCartId()));
 	}
 	
 	@Override
@@ -49,14 +57,29 @@ public class CartServiceImpl implements CartService {
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.remoteDtoCache.findById(AppConstant.DiscoveredDomainsApi
+							.USER_SERVICE_API_URL, c.getUserDto().getUserId(), UserDto.class, UserDto::getUserId, c.getUserDto()));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
 						.format("Cart with id: %d not found", cartId)));
 	}
 	
+	@Override
+	public List<CartDto> findAllByIds(final Collection<Integer> cartIds) {
+		log.info("*** CartDto List, service; fetch all carts by ids *");
+		final List<Integer> distinctIds = BatchHelper.distinctIds(cartIds);
+		if (distinctIds.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d ids exceeds the maximum of %d", 
+					distinctIds.size(), this.batchProperties.getMaxSize()));
+		return this.withUserDtos(BatchHelper.partition(distinctIds, this.batchProperties.getChunkSize())
+				.stream()
+					.flatMap(chunk -> this.cartRepository.findAllById(chunk).stream())
+					.map(CartMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
 	@Override
 	public CartDto save(final CartDto cartDto) {
 		log.info("*** CartDto, service; save cart *");
@@ -84,6 +107,15 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	private List<CartDto> withUserDtos(final List<CartDto> cartDtos) {
+		final Map<Integer, UserDto> userDtos = this.remoteDtoCache.findAllByIds(
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				cartDtos.stream().map(c -> c.getUserDto().getUserId()).collect(Collectors.toSet()),
+				UserDto.class, UserDto::getUserId);
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserDto().getUserId(), c.getUserDto())));
+		return cartDtos;
+	}
+	
 	
 	
 }
@@ -0,0 +1,368 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.RemoteCallGuard;
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.checkout.CheckoutRecoveryProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.CheckoutSaga;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.SagaStatus;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.CheckoutItemDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.exception.wrapper.CheckoutFailedException;
+import com.selimhorri.app.exception.wrapper.CheckoutSagaNotFoundException;
+import com.selimhorri.app.exception.wrapper.CheckoutUnavailableException;
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.exception.wrapper.StockReservationCommittedException;
+import com.selimhorri.app.helper.CheckoutMappingHelper;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.CheckoutSagaRepository;
+import com.selimhorri.app.service.CheckoutService;
+import com.selimhorri.app.service.OrderService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CheckoutServiceImpl implements CheckoutService {
+	
+	private static final int FAILURE_REASON_LENGTH = 255;
+	
+	private final CheckoutSagaRepository checkoutSagaRepository;
+	private final CartRepository cartRepository;
+	private final OrderService orderService;
+	private final RemoteCallGuard remoteCallGuard;
+	private final RestTemplate restTemplate;
+	private final BatchProperties batchProperties;
+	private final CheckoutRecoveryProperties checkoutRecoveryProperties;
+	
+	@Override
+	public CheckoutDto findById(final String sagaId) {
+		log.info("*** CheckoutDto, service; fetch checkout saga by id *");
+		return this.checkoutSagaRepository.findById(sagaId)
+				.map(CheckoutMappingHelper::map)
+				.orElseThrow(() -> new CheckoutSagaNotFoundException(String
+						.format("Checkout saga with id: %s not found", sagaId)));
+	}
+	
+	@Override
+	public CheckoutDto checkout(final CheckoutDto checkoutDto) {
+		log.info("*** CheckoutDto, service; checkout cart *");
+		final Map<Integer, Integer> quantities = checkoutDto.getItems()
+				.stream()
+					.collect(Collectors.toMap(CheckoutItemDto::getProductId, CheckoutItemDto::getOrderedQuantity,
+							Integer::sum, TreeMap::new));
+		if (quantities.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Checkout of %d products exceeds the maximum of %d",
+					quantities.size(), this.batchProperties.getMaxSize()));
+		if (!this.cartRepository.existsById(checkoutDto.getCartId()))
+			throw new CartNotFoundException(String.format("Cart with id: %d not found", checkoutDto.getCartId()));
+		
+		final CheckoutSaga checkoutSaga = this.save(CheckoutSaga.builder()
+				.sagaId(UUID.randomUUID().toString())
+				.cartId(checkoutDto.getCartId())
+				.sagaStatus(SagaStatus.STARTED)
+				.build());
+		final CompletableFuture<StockReservationDto> stockReservation = this.reserveStock(quantities);
+		
+		final OrderDto orderDto;
+		try {
+			orderDto = this.orderService.save(OrderDto.builder()
+					.orderDate(LocalDateTime.now())
+					.orderDesc(checkoutDto.getOrderDesc())
+					.orderFee(checkoutDto.getOrderFee())
+					.cartDto(
+							CartDto.builder()
+								.cartId(checkoutDto.getCartId())
+								.build())
+					.build());
+		}
+		catch (RuntimeException e) {
+			settle(stockReservation);
+			checkoutSaga.setReservationId(resultOf(stockReservation).map(StockReservationDto::getReservationId).orElse(null));
+			throw this.compensate(checkoutSaga, e);
+		}
+		checkoutSaga.setOrderId(orderDto.getOrderId());
+		this.save(checkoutSaga);
+		
+		final CompletableFuture<PaymentDto> payment = this.createPayment(orderDto.getOrderId());
+		final CompletableFuture<DtoCollectionResponse<OrderItemDto>> orderItems = this
+				.createOrderItems(orderDto.getOrderId(), quantities);
+		final Throwable failure = settle(CompletableFuture.allOf(stockReservation, payment, orderItems));
+		checkoutSaga.setReservationId(resultOf(stockReservation).map(StockReservationDto::getReservationId).orElse(null));
+		checkoutSaga.setPaymentId(resultOf(payment).map(PaymentDto::getPaymentId).orElse(null));
+		if (failure != null)
+			throw this.compensate(checkoutSaga, failure);
+		
+		final Throwable commitFailure = settle(this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL,
+				() -> this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL
+						+ "/{reservationId}/commit", null, StockReservationDto.class, checkoutSaga.getReservationId())));
+		if (commitFailure != null)
+			throw this.compensate(checkoutSaga, commitFailure);
+		
+		checkoutSaga.setSagaStatus(SagaStatus.COMPLETED);
+		final CheckoutDto completed = CheckoutMappingHelper.map(this.save(checkoutSaga));
+		completed.setOrderDesc(orderDto.getOrderDesc());
+		completed.setOrderFee(orderDto.getOrderFee());
+		completed.setItems(checkoutDto.getItems());
+		completed.setOrderDto(orderDto);
+		return completed;
+	}
+	
+	@Override
+	public int recoverStalled() {
+		final Instant claimedAt = Instant.now();
+		final List<CheckoutSaga> checkoutSagas = this.checkoutSagaRepository
+				.findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+						List.of(SagaStatus.STARTED, SagaStatus.COMPENSATION_FAILED),
+						claimedAt.minus(this.checkoutRecoveryProperties.getTimeout()),
+						PageRequest.of(0, this.checkoutRecoveryProperties.getBatchSize()));
+		for (final CheckoutSaga checkoutSaga : checkoutSagas) {
+			if (this.checkoutSagaRepository.claim(checkoutSaga.getSagaId(), checkoutSaga.getUpdatedAt(), claimedAt) == 0)
+				continue;
+			try {
+				this.recover(checkoutSaga);
+			}
+			catch (RuntimeException e) {
+				log.warn("*** CheckoutDto, service; recovery of checkout saga {} failed, retrying later; {} *",
+						checkoutSaga.getSagaId(), unwrap(e).toString());
+			}
+		}
+		return checkoutSagas.size();
+	}
+	
+	private void recover(final CheckoutSaga checkoutSaga) {
+		log.info("*** CheckoutDto, service; recover {} checkout saga {} *", 
+				checkoutSaga.getSagaStatus().getStatus(), checkoutSaga.getSagaId());
+		if (checkoutSaga.getReservationId() != null && this.isCommitted(checkoutSaga.getReservationId())) {
+			checkoutSaga.setSagaStatus(SagaStatus.COMPLETED);
+			checkoutSaga.setFailureReason(null);
+			this.save(checkoutSaga);
+			return;
+		}
+		this.compensate(checkoutSaga, new CheckoutUnavailableException(checkoutSaga.getSagaStatus() == SagaStatus.STARTED
+				? String.format("Checkout saga timed out after %s", this.checkoutRecoveryProperties.getTimeout())
+				: checkoutSaga.getFailureReason()));
+	}
+	
+	private boolean isCommitted(final String reservationId) {
+		final StockReservationDto stockReservationDto = this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi
+				.STOCK_RESERVATION_API_URL, () -> {
+					try {
+						return this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL
+								+ "/{reservationId}", StockReservationDto.class, reservationId);
+					}
+					catch (HttpClientErrorException.NotFound e) {
+						return null;
+					}
+				}).join();
+		return stockReservationDto != null && stockReservationDto.getReservationStatus() == ReservationStatus.COMMITTED;
+	}
+	
+	private CheckoutSaga save(final CheckoutSaga checkoutSaga) {
+		checkoutSaga.setUpdatedAt(Instant.now());
+		return this.checkoutSagaRepository.save(checkoutSaga);
+	}
+	
+	private CompletableFuture<StockReservationDto> reserveStock(final Map<Integer, Integer> quantities) {
+		final StockReservationDto stockReservationDto = StockReservationDto.builder()
+				.items(quantities.entrySet()
+						.stream()
+							.map(e -> StockReservationItemDto.builder()
+									.productId(e.getKey())
+									.quantity(e.getValue())
+									.build())
+							.collect(Collectors.toUnmodifiableList()))
+				.build();
+		return this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL,
+				() -> this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL,
+						stockReservationDto, StockReservationDto.class));
+	}
+	
+	private CompletableFuture<PaymentDto> createPayment(final Integer orderId) {
+		final PaymentDto paymentDto = PaymentDto.builder()
+				.isPayed(false)
+				.paymentStatus(PaymentStatus.NOT_STARTED)
+				.orderDto(
+						OrderDto.builder()
+							.orderId(orderId)
+							.build())
+				.build();
+		return this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL,
+				() -> this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL,
+						paymentDto, PaymentDto.class));
+	}
+	
+	private CompletableFuture<DtoCollectionResponse<OrderItemDto>> createOrderItems(final Integer orderId,
+			final Map<Integer, Integer> quantities) {
+		final List<OrderItemDto> orderItemDtos = quantities.entrySet()
+				.stream()
+					.map(e -> OrderItemDto.builder()
+							.productId(e.getKey())
+							.orderId(orderId)
+							.orderedQuantity(e.getValue())
+							.build())
+					.collect(Collectors.toUnmodifiableList());
+		return this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL,
+				() -> this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL + "/bulk",
+						HttpMethod.POST, new HttpEntity<>(orderItemDtos),
+						new ParameterizedTypeReference<DtoCollectionResponse<OrderItemDto>>() {}).getBody());
+	}
+	
+	private RuntimeException compensate(final CheckoutSaga checkoutSaga, final Throwable failure) {
+		final Throwable cause = unwrap(failure);
+		log.warn("*** CheckoutDto, service; compensate checkout saga {}; {} *", checkoutSaga.getSagaId(), cause.toString());
+		final Throwable compensationFailure = this.undoSteps(checkoutSaga);
+		
+		final String failureReason = String.valueOf(cause.getMessage());
+		checkoutSaga.setSagaStatus(compensationFailure == null ? SagaStatus.COMPENSATED : SagaStatus.COMPENSATION_FAILED);
+		checkoutSaga.setFailureReason(failureReason.substring(0, Math.min(failureReason.length(), FAILURE_REASON_LENGTH)));
+		this.save(checkoutSaga);
+		if (compensationFailure != null)
+			log.error("*** CheckoutDto, service; checkout saga {} left partially applied; {} *",
+					checkoutSaga.getSagaId(), unwrap(compensationFailure).toString());
+		
+		final String message = String.format("Checkout saga %s %s: %s", checkoutSaga.getSagaId(),
+				checkoutSaga.getSagaStatus().getStatus(), checkoutSaga.getFailureReason());
+		return cause instanceof HttpClientErrorException
+				? new CheckoutFailedException(message, cause)
+				: new CheckoutUnavailableException(message, cause);
+	}
+	
+	private Throwable undoSteps(final CheckoutSaga checkoutSaga) {
+		if (checkoutSaga.getReservationId() != null) {
+			final Throwable releaseFailure = settle(this.remoteCallGuard.supply(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL,
+					() -> this.releaseReservation(checkoutSaga.getReservationId())));
+			if (releaseFailure != null)
+				return releaseFailure;
+		}
+		if (checkoutSaga.getOrderId() == null)
+			return null;
+		final Throwable compensationFailure = settle(CompletableFuture.allOf(
+				this.undo(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL, () -> this.deletePayments(checkoutSaga)),
+				this.undo(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL,
+						() -> this.restTemplate.delete(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL
+								+ "?orderId={orderId}", checkoutSaga.getOrderId()))));
+		if (compensationFailure != null)
+			return compensationFailure;
+		try {
+			this.orderService.deleteById(checkoutSaga.getOrderId());
+		}
+		catch (OrderNotFoundException e) {
+			log.info("*** CheckoutDto, service; order {} already deleted *", checkoutSaga.getOrderId());
+		}
+		catch (RuntimeException e) {
+			return e;
+		}
+		return null;
+	}
+	
+	private StockReservationDto releaseReservation(final String reservationId) {
+		try {
+			return this.restTemplate.postForObject(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL
+					+ "/{reservationId}/release", null, StockReservationDto.class, reservationId);
+		}
+		catch (HttpClientErrorException.NotFound e) {
+			log.info("*** {} has nothing left to undo; {} *", 
+					RemoteCallGuard.instanceName(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL), e.getStatusCode());
+			return null;
+		}
+		catch (HttpClientErrorException.Conflict e) {
+			final StockReservationDto stockReservationDto = this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+					.STOCK_RESERVATION_API_URL + "/{reservationId}", StockReservationDto.class, reservationId);
+			if (stockReservationDto == null || stockReservationDto.getReservationStatus() == ReservationStatus.COMMITTED)
+				throw new StockReservationCommittedException(String
+						.format("Stock reservation with id: %s is already committed", reservationId), e);
+			log.info("*** {} has nothing left to undo; reservation {} is {} *", 
+					RemoteCallGuard.instanceName(AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL), 
+					reservationId, stockReservationDto.getReservationStatus().getStatus());
+			return stockReservationDto;
+		}
+	}
+	
+	private CompletableFuture<Void> undo(final String apiUrl, final Runnable compensation) {
+		return this.remoteCallGuard.supply(apiUrl, () -> {
+			try {
+				compensation.run();
+			}
+			catch (HttpClientErrorException e) {
+				log.info("*** {} has nothing left to undo; {} *", RemoteCallGuard.instanceName(apiUrl), e.getStatusCode());
+			}
+			return null;
+		});
+	}
+	
+	private void deletePayments(final CheckoutSaga checkoutSaga) {
+		final List<Integer> paymentIds = checkoutSaga.getPaymentId() != null
+				? List.of(checkoutSaga.getPaymentId())
+				: Optional.ofNullable(this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL
+								+ "?orderId={orderId}", HttpMethod.GET, null,
+								new ParameterizedTypeReference<DtoCollectionResponse<PaymentDto>>() {},
+								checkoutSaga.getOrderId()).getBody())
+						.map(DtoCollectionResponse::getCollection)
+						.map(payments -> payments.stream()
+								.map(PaymentDto::getPaymentId)
+								.collect(Collectors.toUnmodifiableList()))
+						.orElse(List.of());
+		paymentIds.forEach(paymentId -> this.restTemplate
+				.delete(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL + "/{paymentId}", paymentId));
+	}
+	
+	private static Throwable settle(final CompletableFuture<?> future) {
+		return future.handle((result, throwable) -> throwable).join();
+	}
+	
+	private static <T> Optional<T> resultOf(final CompletableFuture<T> future) {
+		return future.isCompletedExceptionally() ? Optional.empty() : Optional.ofNullable(future.join());
+	}
+	
+	private static Throwable unwrap(final Throwable throwable) {
+		return throwable instanceof CompletionException && throwable.getCause() != null
+				? throwable.getCause()
+				: throwable;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
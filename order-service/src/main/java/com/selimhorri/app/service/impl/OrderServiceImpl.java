@@ -1,15 +1,29 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.helper.BatchHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
 
@@ -23,15 +37,34 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final BatchProperties batchProperties;
+	private final PaginationProperties paginationProperties;
+	private final EntityManager entityManager;
+	private final OutboxPublisher outboxPublisher;
 	
 	@Override
-	public List<OrderDto> findAll() {
-		log.info("*** OrderDto List, service; fetch all orders *");
-		return this.orderRepository.findAll()
+	public DtoCollectionResponse<OrderDto> findAll(final String cursor, final Integer size) {
+		log.info("*** OrderDto Page, service; fetch orders after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.orderRepository
+				.findByOrderIdGreaterThanOrderByOrderIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(OrderMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, o -> CursorHelper.encode(o.getOrderId()));
+	}
+	
+	@Override
+	public void exportAll(final Consumer<OrderDto> orderDtoConsumer) {
+		log.info("*** OrderDto Stream, service; export all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAllWithCart()) {
+			orders.forEach(o -> {
+				orderDtoConsumer.accept(OrderMappingHelper.map(o));
+				if (o.getCart() != null)
+					this.entityManager.detach(o.getCart());
+				this.entityManager.detach(o);
+			});
+		}
 	}
 	
 	@Override
@@ -43,31 +76,61 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public List<OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch all orders by ids *");
+		final List<Integer> distinctIds = BatchHelper.distinctIds(orderIds);
+		if (distinctIds.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d ids exceeds the maximum of %d", 
+					distinctIds.size(), this.batchProperties.getMaxSize()));
+		return BatchHelper.partition(distinctIds, this.batchProperties.getChunkSize())
+				.stream()
+					.flatMap(chunk -> this.orderRepository.findAllWithCartByOrderIdIn(chunk).stream())
+					.map(OrderMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		return this.publishChanged(OutboxEventType.ORDER_CREATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(orderDto))));
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		this.lockForUpdate(orderDto.getOrderId());
+		return this.publishChanged(OutboxEventType.ORDER_UPDATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(orderDto))));
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(this.findById(orderId))));
+		this.lockForUpdate(orderId);
+		return this.publishChanged(OutboxEventType.ORDER_UPDATED, OrderMappingHelper.map(this.orderRepository
+				.save(OrderMappingHelper.map(this.findById(orderId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
-		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		this.lockForUpdate(orderId);
+		final OrderDto orderDto = this.findById(orderId);
+		this.orderRepository.delete(OrderMappingHelper.map(orderDto));
+		this.publishChanged(OutboxEventType.ORDER_DELETED, orderDto);
+	}
+	
+	private void lockForUpdate(final Integer orderId) {
+		if (orderId != null)
+			this.orderRepository.findForUpdateByOrderId(orderId);
+	}
+	
+	private OrderDto publishChanged(final OutboxEventType outboxEventType, final OrderDto orderDto) {
+		this.outboxPublisher.publish(outboxEventType, orderDto.getOrderId(), orderDto);
+		return orderDto;
 	}
 	
 	
@@ -0,0 +1,15 @@
+
+CREATE TABLE checkout_sagas (
+	saga_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	cart_id INT(11) NOT NULL,
+	order_id INT(11),
+	reservation_id VARCHAR(36),
+	payment_id INT(11),
+	saga_status VARCHAR(32) NOT NULL,
+	failure_reason VARCHAR(255),
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_checkout_sagas_saga_status ON checkout_sagas (saga_status);
+
@@ -0,0 +1,8 @@
+
+CREATE TABLE outbox_relay_locks (
+	lock_id INT(11) NOT NULL PRIMARY KEY,
+	locked_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT
+);
+
+INSERT INTO outbox_relay_locks (lock_id) VALUES (1);
+
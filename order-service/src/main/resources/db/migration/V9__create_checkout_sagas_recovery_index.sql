@@ -0,0 +1,4 @@
+UPDATE checkout_sagas SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_checkout_sagas_saga_status_updated_at ON checkout_sagas (saga_status, updated_at);
+
@@ -0,0 +1,90 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.selimhorri.app.domain.CheckoutSaga;
+import com.selimhorri.app.domain.SagaStatus;
+
+@DataJpaTest
+@DisplayName("CheckoutSagaRepository Recovery Tests")
+class CheckoutSagaRepositoryTest {
+
+    private static final List<SagaStatus> RECOVERABLE = List.of(SagaStatus.STARTED, SagaStatus.COMPENSATION_FAILED);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private CheckoutSagaRepository checkoutSagaRepository;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        persist("stalled", SagaStatus.STARTED, now.minus(Duration.ofMinutes(10)));
+        persist("flagged", SagaStatus.COMPENSATION_FAILED, now.minus(Duration.ofMinutes(5)));
+        persist("in-flight", SagaStatus.STARTED, now);
+        persist("completed", SagaStatus.COMPLETED, now.minus(Duration.ofMinutes(10)));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should find started and flagged sagas idle past the cutoff, oldest first")
+    void shouldFindRecoverableSagas() {
+        // When
+        final List<String> sagaIds = checkoutSagaRepository
+                .findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(RECOVERABLE, now.minus(Duration.ofMinutes(2)),
+                        PageRequest.of(0, 10))
+                .stream()
+                .map(CheckoutSaga::getSagaId)
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of("stalled", "flagged"), sagaIds);
+    }
+
+    @Test
+    @DisplayName("Should let only one caller claim a saga")
+    void shouldClaimSagaOnce() {
+        // Given
+        final CheckoutSaga stalledSaga = checkoutSagaRepository.findById("stalled").orElseThrow();
+
+        // When
+        final int firstClaim = checkoutSagaRepository.claim("stalled", stalledSaga.getUpdatedAt(), now);
+        final int secondClaim = checkoutSagaRepository.claim("stalled", stalledSaga.getUpdatedAt(), now.plusSeconds(1));
+
+        // Then
+        assertEquals(1, firstClaim);
+        assertEquals(0, secondClaim);
+        testEntityManager.clear();
+        assertTrue(checkoutSagaRepository.findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(RECOVERABLE,
+                now.minus(Duration.ofMinutes(7)), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private void persist(String sagaId, SagaStatus sagaStatus, Instant updatedAt) {
+        final CheckoutSaga checkoutSaga = CheckoutSaga.builder()
+                .sagaId(sagaId)
+                .cartId(1)
+                .sagaStatus(sagaStatus)
+                .build();
+        checkoutSaga.setUpdatedAt(updatedAt);
+        testEntityManager.persist(checkoutSaga);
+    }
+
+}
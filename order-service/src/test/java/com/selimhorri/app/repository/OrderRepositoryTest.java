@@ -0,0 +1,109 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderMappingHelper;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("OrderRepository Query Count Tests")
+class OrderRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            final Cart cart = this.testEntityManager.persist(Cart.builder()
+                    .userId(i + 1)
+                    .build());
+            for (int j = 0; j < 4; j++) {
+                this.testEntityManager.persist(Order.builder()
+                        .orderDate(LocalDateTime.now())
+                        .orderDesc("Order " + i + "-" + j)
+                        .orderFee(19.99)
+                        .cart(cart)
+                        .build());
+            }
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        this.statistics = this.testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load and map every order with its cart in a single statement")
+    void shouldFindAllOrdersInSingleStatement() {
+        // When
+        final List<OrderDto> orderDtos = this.orderRepository.findAll().stream()
+                .map(OrderMappingHelper::map)
+                .collect(Collectors.toList());
+
+        // Then
+        assertTrue(orderDtos.size() >= 20);
+        assertTrue(orderDtos.stream().allMatch(o -> o.getCartDto().getCartId() != null));
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load an order with its cart in a single statement")
+    void shouldFindOrderByIdInSingleStatement() {
+        // Given
+        final Integer orderId = this.orderRepository.findAll().get(0).getOrderId();
+        this.testEntityManager.clear();
+        this.statistics.clear();
+
+        // When
+        final Order order = this.orderRepository.findById(orderId).orElseThrow();
+
+        // Then
+        assertNotNull(order.getCart().getUserId());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should leave the cart of an order unloaded until it is accessed")
+    void shouldLoadOrderCartLazily() {
+        // Given
+        final Integer orderId = this.orderRepository.findAll().get(0).getOrderId();
+        this.testEntityManager.clear();
+        this.statistics.clear();
+
+        // When
+        final Order order = this.testEntityManager.find(Order.class, orderId);
+
+        // Then
+        assertFalse(Hibernate.isInitialized(order.getCart()));
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertNotNull(order.getCart().getUserId());
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,359 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.client.RemoteCallGuard;
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.checkout.CheckoutRecoveryProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.CheckoutSaga;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.SagaStatus;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CheckoutDto;
+import com.selimhorri.app.dto.CheckoutItemDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.CheckoutFailedException;
+import com.selimhorri.app.exception.wrapper.CheckoutUnavailableException;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.CheckoutSagaRepository;
+import com.selimhorri.app.service.OrderService;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutServiceImpl Unit Tests")
+class CheckoutServiceImplTest {
+
+    private static final String STOCK_RESERVATION_API_URL = AppConstant.DiscoveredDomainsApi.STOCK_RESERVATION_API_URL;
+    private static final String PAYMENT_SERVICE_API_URL = AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL;
+    private static final String SHIPPING_SERVICE_API_URL = AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL;
+
+    @Mock
+    private CheckoutSagaRepository checkoutSagaRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private RemoteCallGuard remoteCallGuard;
+    private CheckoutServiceImpl checkoutService;
+    private List<SagaStatus> savedSagaStatuses;
+    private CheckoutDto checkoutDto;
+    private OrderDto orderDto;
+
+    @BeforeEach
+    void setUp() {
+        remoteCallGuard = new RemoteCallGuard(CircuitBreakerRegistry.ofDefaults(),
+                ThreadPoolBulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults());
+        checkoutService = new CheckoutServiceImpl(checkoutSagaRepository, cartRepository, orderService,
+                remoteCallGuard, restTemplate, new BatchProperties(), new CheckoutRecoveryProperties());
+        savedSagaStatuses = new ArrayList<>();
+
+        checkoutDto = CheckoutDto.builder()
+                .cartId(1)
+                .orderDesc("Checkout")
+                .orderFee(49.99)
+                .items(List.of(
+                        CheckoutItemDto.builder().productId(2).orderedQuantity(1).build(),
+                        CheckoutItemDto.builder().productId(1).orderedQuantity(2).build(),
+                        CheckoutItemDto.builder().productId(2).orderedQuantity(3).build()))
+                .build();
+
+        orderDto = OrderDto.builder()
+                .orderId(7)
+                .orderDesc("Checkout")
+                .orderFee(49.99)
+                .cartDto(CartDto.builder().cartId(1).build())
+                .build();
+
+        lenient().when(cartRepository.existsById(1)).thenReturn(true);
+        lenient().when(checkoutSagaRepository.save(any(CheckoutSaga.class))).thenAnswer(invocation -> {
+            final CheckoutSaga checkoutSaga = invocation.getArgument(0);
+            savedSagaStatuses.add(checkoutSaga.getSagaStatus());
+            return checkoutSaga;
+        });
+        lenient().when(orderService.save(any(OrderDto.class))).thenReturn(orderDto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        remoteCallGuard.destroy();
+    }
+
+    @Test
+    @DisplayName("Should reserve, pay and ship in one call and commit the reservation")
+    void shouldCompleteCheckout() {
+        // Given
+        stubReservation();
+        stubPayment();
+        final ArgumentCaptor<HttpEntity<List<OrderItemDto>>> orderItems = stubOrderItems();
+        when(restTemplate.postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/commit", null,
+                StockReservationDto.class, "reservation-1")).thenReturn(StockReservationDto.builder().build());
+
+        // When
+        final CheckoutDto result = checkoutService.checkout(checkoutDto);
+
+        // Then
+        assertEquals(SagaStatus.COMPLETED, result.getSagaStatus());
+        assertEquals("reservation-1", result.getReservationId());
+        assertEquals(3, result.getPaymentId());
+        assertEquals(7, result.getOrderDto().getOrderId());
+        assertEquals(List.of(SagaStatus.STARTED, SagaStatus.STARTED, SagaStatus.COMPLETED), savedSagaStatuses);
+        assertEquals(List.of(
+                OrderItemDto.builder().productId(1).orderId(7).orderedQuantity(2).build(),
+                OrderItemDto.builder().productId(2).orderId(7).orderedQuantity(4).build()),
+                orderItems.getValue().getBody());
+        verify(orderService, never()).deleteById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should undo payment, order items and order when stock is short")
+    void shouldCompensateWhenStockIsShort() {
+        // Given
+        when(restTemplate.postForObject(eq(STOCK_RESERVATION_API_URL), any(StockReservationDto.class),
+                eq(StockReservationDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", null,
+                        "Insufficient stock".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        stubPayment();
+        stubOrderItems();
+
+        // When
+        final CheckoutFailedException exception = assertThrows(CheckoutFailedException.class,
+                () -> checkoutService.checkout(checkoutDto));
+
+        // Then
+        assertTrue(exception.getMessage().contains("compensated"));
+        assertEquals(SagaStatus.COMPENSATED, savedSagaStatuses.get(savedSagaStatuses.size() - 1));
+        verify(restTemplate).delete(PAYMENT_SERVICE_API_URL + "/{paymentId}", 3);
+        verify(restTemplate).delete(SHIPPING_SERVICE_API_URL + "?orderId={orderId}", 7);
+        verify(orderService).deleteById(7);
+    }
+
+    @Test
+    @DisplayName("Should release stock and look payments up by order when payment service is unreachable")
+    void shouldCompensateWhenPaymentIsUnavailable() {
+        // Given
+        stubReservation();
+        when(restTemplate.postForObject(eq(PAYMENT_SERVICE_API_URL), any(PaymentDto.class), eq(PaymentDto.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        stubOrderItems();
+        when(restTemplate.exchange(eq(PAYMENT_SERVICE_API_URL + "?orderId={orderId}"), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class), eq(7)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(PaymentDto.builder().paymentId(5).build()))));
+
+        // When
+        assertThrows(CheckoutUnavailableException.class, () -> checkoutService.checkout(checkoutDto));
+
+        // Then
+        assertEquals(SagaStatus.COMPENSATED, savedSagaStatuses.get(savedSagaStatuses.size() - 1));
+        verify(restTemplate).postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/release", null,
+                StockReservationDto.class, "reservation-1");
+        verify(restTemplate).delete(PAYMENT_SERVICE_API_URL + "/{paymentId}", 5);
+        verify(restTemplate).delete(SHIPPING_SERVICE_API_URL + "?orderId={orderId}", 7);
+        verify(orderService).deleteById(7);
+    }
+
+    @Test
+    @DisplayName("Should keep the order and flag the saga when a compensation itself fails")
+    void shouldFlagSagaWhenCompensationFails() {
+        // Given
+        stubReservation();
+        stubPayment();
+        when(restTemplate.exchange(eq(SHIPPING_SERVICE_API_URL + "/bulk"), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        lenient().doThrow(new ResourceAccessException("Connection refused"))
+                .when(restTemplate).delete(SHIPPING_SERVICE_API_URL + "?orderId={orderId}", 7);
+
+        // When
+        final CheckoutUnavailableException exception = assertThrows(CheckoutUnavailableException.class,
+                () -> checkoutService.checkout(checkoutDto));
+
+        // Then
+        assertTrue(exception.getMessage().contains("compensation_failed"));
+        assertEquals(SagaStatus.COMPENSATION_FAILED, savedSagaStatuses.get(savedSagaStatuses.size() - 1));
+        verify(restTemplate).delete(PAYMENT_SERVICE_API_URL + "/{paymentId}", 3);
+        verify(orderService, never()).deleteById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should keep the order and flag the saga when the reservation was committed before the commit call failed")
+    void shouldFlagSagaWhenReservationIsAlreadyCommitted() {
+        // Given
+        stubReservation();
+        stubPayment();
+        stubOrderItems();
+        when(restTemplate.postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/commit", null,
+                StockReservationDto.class, "reservation-1")).thenThrow(new ResourceAccessException("Read timed out"));
+        when(restTemplate.postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/release", null,
+                StockReservationDto.class, "reservation-1"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", null,
+                        "Stock reservation is committed".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        when(restTemplate.getForObject(STOCK_RESERVATION_API_URL + "/{reservationId}", StockReservationDto.class,
+                "reservation-1")).thenReturn(StockReservationDto.builder()
+                        .reservationId("reservation-1")
+                        .reservationStatus(ReservationStatus.COMMITTED)
+                        .build());
+
+        // When
+        final CheckoutUnavailableException exception = assertThrows(CheckoutUnavailableException.class,
+                () -> checkoutService.checkout(checkoutDto));
+
+        // Then
+        assertTrue(exception.getMessage().contains("compensation_failed"));
+        assertEquals(SagaStatus.COMPENSATION_FAILED, savedSagaStatuses.get(savedSagaStatuses.size() - 1));
+        verify(restTemplate, never()).delete(eq(PAYMENT_SERVICE_API_URL + "/{paymentId}"), anyInt());
+        verify(restTemplate, never()).delete(eq(SHIPPING_SERVICE_API_URL + "?orderId={orderId}"), anyInt());
+        verify(orderService, never()).deleteById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should compensate a saga left started past the recovery timeout")
+    void shouldCompensateStalledSaga() {
+        // Given
+        final CheckoutSaga stalledSaga = stalledSaga(SagaStatus.STARTED);
+        when(checkoutSagaRepository.findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                eq(List.of(SagaStatus.STARTED, SagaStatus.COMPENSATION_FAILED)), any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(stalledSaga));
+        when(checkoutSagaRepository.claim(eq("saga-1"), eq(stalledSaga.getUpdatedAt()), any(Instant.class))).thenReturn(1);
+        when(restTemplate.getForObject(STOCK_RESERVATION_API_URL + "/{reservationId}", StockReservationDto.class,
+                "reservation-1")).thenReturn(StockReservationDto.builder()
+                        .reservationId("reservation-1")
+                        .reservationStatus(ReservationStatus.RESERVED)
+                        .build());
+
+        // When
+        final int recovered = checkoutService.recoverStalled();
+
+        // Then
+        assertEquals(1, recovered);
+        assertEquals(List.of(SagaStatus.COMPENSATED), savedSagaStatuses);
+        assertTrue(stalledSaga.getFailureReason().contains("timed out"));
+        verify(restTemplate).postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/release", null,
+                StockReservationDto.class, "reservation-1");
+        verify(restTemplate).delete(PAYMENT_SERVICE_API_URL + "/{paymentId}", 3);
+        verify(restTemplate).delete(SHIPPING_SERVICE_API_URL + "?orderId={orderId}", 7);
+        verify(orderService).deleteById(7);
+    }
+
+    @Test
+    @DisplayName("Should complete a flagged saga whose reservation was committed")
+    void shouldCompleteSagaWithCommittedReservation() {
+        // Given
+        final CheckoutSaga flaggedSaga = stalledSaga(SagaStatus.COMPENSATION_FAILED);
+        when(checkoutSagaRepository.findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                any(), any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(flaggedSaga));
+        when(checkoutSagaRepository.claim(eq("saga-1"), eq(flaggedSaga.getUpdatedAt()), any(Instant.class))).thenReturn(1);
+        when(restTemplate.getForObject(STOCK_RESERVATION_API_URL + "/{reservationId}", StockReservationDto.class,
+                "reservation-1")).thenReturn(StockReservationDto.builder()
+                        .reservationId("reservation-1")
+                        .reservationStatus(ReservationStatus.COMMITTED)
+                        .build());
+
+        // When
+        checkoutService.recoverStalled();
+
+        // Then
+        assertEquals(List.of(SagaStatus.COMPLETED), savedSagaStatuses);
+        assertNull(flaggedSaga.getFailureReason());
+        verify(restTemplate, never()).postForObject(STOCK_RESERVATION_API_URL + "/{reservationId}/release", null,
+                StockReservationDto.class, "reservation-1");
+        verify(orderService, never()).deleteById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should skip a saga another instance claimed first")
+    void shouldSkipSagaClaimedElsewhere() {
+        // Given
+        final CheckoutSaga stalledSaga = stalledSaga(SagaStatus.STARTED);
+        when(checkoutSagaRepository.findBySagaStatusInAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                any(), any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(stalledSaga));
+        when(checkoutSagaRepository.claim(eq("saga-1"), eq(stalledSaga.getUpdatedAt()), any(Instant.class))).thenReturn(0);
+
+        // When
+        checkoutService.recoverStalled();
+
+        // Then
+        assertTrue(savedSagaStatuses.isEmpty());
+        verifyNoInteractions(restTemplate, orderService);
+    }
+
+    private static CheckoutSaga stalledSaga(SagaStatus sagaStatus) {
+        final CheckoutSaga checkoutSaga = CheckoutSaga.builder()
+                .sagaId("saga-1")
+                .cartId(1)
+                .orderId(7)
+                .reservationId("reservation-1")
+                .paymentId(3)
+                .sagaStatus(sagaStatus)
+                .failureReason(sagaStatus == SagaStatus.STARTED ? null : "Read timed out")
+                .build();
+        checkoutSaga.setUpdatedAt(Instant.now().minus(Duration.ofMinutes(10)));
+        return checkoutSaga;
+    }
+
+    private void stubReservation() {
+        when(restTemplate.postForObject(eq(STOCK_RESERVATION_API_URL), any(StockReservationDto.class),
+                eq(StockReservationDto.class)))
+                .thenReturn(StockReservationDto.builder().reservationId("reservation-1").build());
+    }
+
+    private void stubPayment() {
+        when(restTemplate.postForObject(eq(PAYMENT_SERVICE_API_URL), any(PaymentDto.class), eq(PaymentDto.class)))
+                .thenReturn(PaymentDto.builder().paymentId(3).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<HttpEntity<List<OrderItemDto>>> stubOrderItems() {
+        final ArgumentCaptor<HttpEntity<List<OrderItemDto>>> orderItems = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(eq(SHIPPING_SERVICE_API_URL + "/bulk"), eq(HttpMethod.POST), orderItems.capture(),
+                any(ParameterizedTypeReference.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(new DtoCollectionResponse<>(
+                        ((HttpEntity<List<OrderItemDto>>) invocation.getArgument(2)).getBody())));
+        return orderItems;
+    }
+
+}
@@ -3,10 +3,10 @@ package com.selimhorri.app.service.impl;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,13 +16,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.OrderRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +38,12 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -67,21 +79,23 @@ class OrderServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should return all orders when findAll is called")
-    void shouldReturnAllOrders() {
+    @DisplayName("Should return the first page of orders when no cursor is given")
+    void shouldReturnFirstPageOfOrders() {
         // Given
-        List<Order> orders = Arrays.asList(mockOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+        when(orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(Integer.MIN_VALUE, PageRequest.of(0, 21)))
+                .thenReturn(List.of(mockOrder));
 
         // When
-        List<OrderDto> result = orderService.findAll();
+        DtoCollectionResponse<OrderDto> result = orderService.findAll(null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Order", result.get(0).getOrderDesc());
-        assertEquals(99.99, result.get(0).getOrderFee());
-        verify(orderRepository, times(1)).findAll();
+        assertEquals(1, result.getCollection().size());
+        OrderDto orderDto = result.getCollection().iterator().next();
+        assertEquals("Test Order", orderDto.getOrderDesc());
+        assertEquals(99.99, orderDto.getOrderFee());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, never()).findAll();
     }
 
     @Test
@@ -182,5 +196,6 @@ class OrderServiceImplTest {
         // Then
         verify(orderRepository, times(1)).findById(1);
         verify(orderRepository, times(1)).delete(any(Order.class));
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.ORDER_DELETED), eq(1), any(OrderDto.class));
     }
 }
\ No newline at end of file
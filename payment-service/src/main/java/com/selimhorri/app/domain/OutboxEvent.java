@@ -0,0 +1,63 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OutboxEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "event_id", unique = true, nullable = false, updatable = false)
+	private Long eventId;
+	
+	@Column(name = "aggregate_type", nullable = false, updatable = false, length = 64)
+	private String aggregateType;
+	
+	@Column(name = "aggregate_id", nullable = false, updatable = false, length = 64)
+	private String aggregateId;
+	
+	@Column(name = "event_type", nullable = false, updatable = false, length = 64)
+	private String eventType;
+	
+	@Lob
+	@Column(name = "payload", nullable = false, updatable = false)
+	private String payload;
+	
+	@Column(name = "occurred_at", nullable = false, updatable = false)
+	private Instant occurredAt;
+	
+	@Column(name = "published_at")
+	private Instant publishedAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,60 @@
+package com.selimhorri.app.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
+
+public interface CursorHelper {
+	
+	public static final String KEY_SEPARATOR = "|";
+	
+	public static String encode(final Object... keys) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.stream(keys)
+				.map(String::valueOf)
+				.collect(Collectors.joining(KEY_SEPARATOR))
+				.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static <K> K decode(final String cursor, final Function<List<String>, K> keyParser) {
+		try {
+			return keyParser.apply(List.of(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+					.split(Pattern.quote(KEY_SEPARATOR), -1)));
+		}
+		catch (final RuntimeException e) {
+			throw new InvalidCursorException(String.format("Cursor: %s is not valid", cursor), e);
+		}
+	}
+	
+	public static Integer decodeId(final String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return Integer.MIN_VALUE;
+		return decode(cursor, keys -> Integer.parseInt(keys.get(0)));
+	}
+	
+	public static <T> DtoCollectionResponse<T> page(final List<T> rows, final int size, final Function<T, String> cursorMapper) {
+		final boolean hasNext = rows.size() > size;
+		final List<T> page = hasNext ? rows.subList(0, size) : rows;
+		return new DtoCollectionResponse<>(List.copyOf(page), 
+				hasNext ? cursorMapper.apply(page.get(size - 1)) : null, size);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,43 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.outbox.OutboxProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "transport", havingValue = "http")
+@Slf4j
+@RequiredArgsConstructor
+public class HttpOutboxTransport implements OutboxTransport {
+	
+	private final RestTemplate restTemplate;
+	private final OutboxProperties outboxProperties;
+	
+	@Override
+	public void send(final List<OutboxMessage> outboxMessages) {
+		for (final String subscriberUrl : this.outboxProperties.getSubscribers()) {
+			log.info("*** Void, outbox; push {} events to {} *", outboxMessages.size(), subscriberUrl);
+			this.restTemplate.postForLocation(subscriberUrl, outboxMessages);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,38 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "transport", havingValue = "local", matchIfMissing = true)
+@Slf4j
+@RequiredArgsConstructor
+public class LocalOutboxTransport implements OutboxTransport {
+	
+	private final ApplicationEventPublisher eventPublisher;
+	
+	@Override
+	public void send(final List<OutboxMessage> outboxMessages) {
+		log.info("*** Void, outbox; publish {} events on the local bus *", outboxMessages.size());
+		outboxMessages.forEach(this.eventPublisher::publishEvent);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,27 @@
+package com.selimhorri.app.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	PAYMENT_CREATED("Payment", "PaymentCreated"),
+	PAYMENT_UPDATED("Payment", "PaymentUpdated"),
+	PAYMENT_DELETED("Payment", "PaymentDeleted");
+	
+	private final String aggregateType;
+	private final String eventType;
+	
+}
+
+
+
+
+
+
+
+
+
+
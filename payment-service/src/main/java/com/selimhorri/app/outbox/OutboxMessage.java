@@ -0,0 +1,42 @@
+package com.selimhorri.app.outbox;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OutboxMessage implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Long eventId;
+	private String aggregateType;
+	private String aggregateId;
+	private String eventType;
+	private JsonNode payload;
+	
+	@JsonSerialize(using = ToStringSerializer.class)
+	private Instant occurredAt;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,11 +3,13 @@ package com.selimhorri.app.service;
 import java.util.List;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface PaymentService {
 	
-	List<PaymentDto> findAll();
+	DtoCollectionResponse<PaymentDto> findAll(final String cursor, final Integer size);
 	PaymentDto findById(final Integer paymentId);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
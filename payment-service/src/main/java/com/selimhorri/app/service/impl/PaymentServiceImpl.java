@@ -1,18 +1,25 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
 
@@ -26,21 +33,20 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
+	private final PaginationProperties paginationProperties;
+	private final OutboxPublisher outboxPublisher;
 	
 	@Override
-	public List<PaymentDto> findAll() {
-		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+	public DtoCollectionResponse<PaymentDto> findAll(final String cursor, final Integer size) {
+		log.info("*** PaymentDto Page, service; fetch payments after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.withOrderDtos(this.paymentRepository
+				.findByPaymentIdGreaterThanOrderByPaymentIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList())), 
+				pageSize, p -> CursorHelper.encode(p.getPaymentId()));
 	}
 	
 	@Override
@@ -49,31 +55,64 @@ public class PaymentServiceImpl implements PaymentService {
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.remoteDtoCache.findById(AppConstant.DiscoveredDomainsApi
+							.ORDER_SERVICE_API_URL, p.getOrderDto().getOrderId(), OrderDto.class, OrderDto::getOrderId, p.getOrderDto()));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
+	@Override
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch all payments by order id *");
+		return this.paymentRepository.findAllByOrderIdOrderByPaymentIdAsc(orderId)
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		return this.publishChanged(OutboxEventType.PAYMENT_CREATED, PaymentMappingHelper.map(this.paymentRepository
+				.save(PaymentMappingHelper.map(paymentDto))));
 	}
 	
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		this.lockForUpdate(paymentDto.getPaymentId());
+		return this.publishChanged(OutboxEventType.PAYMENT_UPDATED, PaymentMappingHelper.map(this.paymentRepository
+				.save(PaymentMappingHelper.map(paymentDto))));
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
+		this.lockForUpdate(paymentId);
 		this.paymentRepository.deleteById(paymentId);
+		this.publishChanged(OutboxEventType.PAYMENT_DELETED, PaymentDto.builder()
+				.paymentId(paymentId)
+				.build());
+	}
+	
+	private void lockForUpdate(final Integer paymentId) {
+		if (paymentId != null)
+			this.paymentRepository.findForUpdateByPaymentId(paymentId);
+	}
+	
+	private PaymentDto publishChanged(final OutboxEventType outboxEventType, final PaymentDto paymentDto) {
+		this.outboxPublisher.publish(outboxEventType, paymentDto.getPaymentId(), paymentDto);
+		return paymentDto;
+	}
+	
+	private List<PaymentDto> withOrderDtos(final List<PaymentDto> paymentDtos) {
+		final Map<Integer, OrderDto> orderDtos = this.remoteDtoCache.findAllByIds(
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL,
+				paymentDtos.stream().map(p -> p.getOrderDto().getOrderId()).collect(Collectors.toSet()),
+				OrderDto.class, OrderDto::getOrderId);
+		paymentDtos.forEach(p -> p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto())));
+		return paymentDtos;
 	}
 	
 	
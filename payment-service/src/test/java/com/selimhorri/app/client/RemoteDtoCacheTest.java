@@ -0,0 +1,156 @@
+package com.selimhorri.app.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.cache.NearCacheProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderDto;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RemoteDtoCache Unit Tests")
+class RemoteDtoCacheTest {
+
+    private static final String ORDER_API_URL = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private RemoteBatchClient remoteBatchClient;
+
+    @Mock
+    private HedgedRequestClient hedgedRequestClient;
+
+    private RemoteDtoCache remoteDtoCache;
+
+    @BeforeEach
+    void setUp() {
+        remoteDtoCache = new RemoteDtoCache(restTemplate, remoteBatchClient, new RemoteCallGuard(CircuitBreakerRegistry.ofDefaults(),
+                ThreadPoolBulkheadRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults()), hedgedRequestClient, new NearCacheProperties());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the near cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(restTemplate.getForObject(ORDER_API_URL + "/1", OrderDto.class))
+                .thenReturn(OrderDto.builder().orderId(1).build());
+
+        // When
+        OrderDto first = remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null);
+        OrderDto second = remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null);
+
+        // Then
+        assertEquals(1, first.getOrderId());
+        assertSame(first, second);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+    }
+
+    @Test
+    @DisplayName("Should only batch-fetch the ids missing from the near cache")
+    void shouldBatchFetchOnlyMissingIds() {
+        // Given
+        when(restTemplate.getForObject(ORDER_API_URL + "/1", OrderDto.class))
+                .thenReturn(OrderDto.builder().orderId(1).build());
+        when(remoteBatchClient.findAllByIds(eq(ORDER_API_URL), eq(List.of(2)), eq(OrderDto.class), any()))
+                .thenReturn(Map.of(2, OrderDto.builder().orderId(2).build()));
+        remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null);
+
+        // When
+        Map<Integer, OrderDto> result = remoteDtoCache.findAllByIds(ORDER_API_URL, List.of(1, 2), OrderDto.class, OrderDto::getOrderId);
+
+        // Then
+        assertEquals(2, result.size());
+        verify(remoteBatchClient, times(1)).findAllByIds(eq(ORDER_API_URL), eq(List.of(2)), eq(OrderDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent misses for the same id into one remote call")
+    void shouldCollapseConcurrentMisses() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(ORDER_API_URL + "/1", OrderDto.class)).thenAnswer(invocation -> {
+            release.await();
+            return OrderDto.builder().orderId(1).build();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            List<Future<OrderDto>> lookups = List.of(
+                    executor.submit(() -> remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null)),
+                    executor.submit(() -> remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null)),
+                    executor.submit(() -> remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null)),
+                    executor.submit(() -> remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, null)));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            for (Future<OrderDto> lookup : lookups)
+                assertEquals(1, lookup.get().getOrderId());
+            verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+            verifyNoInteractions(remoteBatchClient);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to the given dto when the remote service fails")
+    void shouldFallBackWhenRemoteServiceFails() {
+        // Given
+        OrderDto fallback = OrderDto.builder().orderId(1).build();
+        when(restTemplate.getForObject(ORDER_API_URL + "/1", OrderDto.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        when(remoteBatchClient.findAllByIds(eq(ORDER_API_URL), eq(List.of(2)), eq(OrderDto.class), any()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // When
+        OrderDto result = remoteDtoCache.findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, fallback);
+        Map<Integer, OrderDto> results = remoteDtoCache.findAllByIds(ORDER_API_URL, List.of(2), OrderDto.class, OrderDto::getOrderId);
+
+        // Then
+        assertSame(fallback, result);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should propagate client errors instead of falling back")
+    void shouldPropagateClientErrors() {
+        // Given
+        when(restTemplate.getForObject(ORDER_API_URL + "/1", OrderDto.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        // When / Then
+        assertThrows(HttpClientErrorException.class, () -> remoteDtoCache
+                .findById(ORDER_API_URL, 1, OrderDto.class, OrderDto::getOrderId, OrderDto.builder().orderId(1).build()));
+    }
+
+}
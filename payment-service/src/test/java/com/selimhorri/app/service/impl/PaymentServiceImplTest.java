@@ -2,29 +2,38 @@ package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.PaymentRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +44,13 @@ class PaymentServiceImplTest {
     private PaymentRepository paymentRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private RemoteDtoCache remoteDtoCache;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
 
     @InjectMocks
     private PaymentServiceImpl paymentService;
@@ -71,26 +86,28 @@ class PaymentServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should return all payments with order details")
-    void shouldReturnAllPaymentsWithOrderDetails() {
+    @DisplayName("Should return a page of payments with order details")
+    void shouldReturnPageOfPaymentsWithOrderDetails() {
         // Given
-        List<Payment> payments = Arrays.asList(mockPayment);
-        when(paymentRepository.findAll()).thenReturn(payments);
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
-                .thenReturn(mockOrderDto);
+        when(paymentRepository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(Integer.MIN_VALUE, PageRequest.of(0, 21)))
+                .thenReturn(List.of(mockPayment));
+        when(remoteDtoCache.findAllByIds(anyString(), anyCollection(), eq(OrderDto.class), any()))
+                .thenReturn(Map.of(1, mockOrderDto));
 
         // When
-        List<PaymentDto> result = paymentService.findAll();
+        DtoCollectionResponse<PaymentDto> result = paymentService.findAll(null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(PaymentStatus.IN_PROGRESS, result.get(0).getPaymentStatus());
-        assertFalse(result.get(0).getIsPayed());
-        assertNotNull(result.get(0).getOrderDto());
-        assertEquals("Test Order", result.get(0).getOrderDto().getOrderDesc());
-        verify(paymentRepository, times(1)).findAll();
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+        assertEquals(1, result.getCollection().size());
+        PaymentDto paymentDto = result.getCollection().iterator().next();
+        assertEquals(PaymentStatus.IN_PROGRESS, paymentDto.getPaymentStatus());
+        assertFalse(paymentDto.getIsPayed());
+        assertNotNull(paymentDto.getOrderDto());
+        assertEquals("Test Order", paymentDto.getOrderDto().getOrderDesc());
+        verify(paymentRepository, never()).findAll();
+        verify(remoteDtoCache, times(1)).findAllByIds(anyString(), anyCollection(), eq(OrderDto.class), any());
+        verify(remoteDtoCache, never()).findById(anyString(), anyInt(), any(), any(), any());
     }
 
     @Test
@@ -98,7 +115,7 @@ class PaymentServiceImplTest {
     void shouldReturnPaymentByIdWithOrderDetails() {
         // Given
         when(paymentRepository.findById(1)).thenReturn(Optional.of(mockPayment));
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
+        when(remoteDtoCache.findById(anyString(), anyInt(), eq(OrderDto.class), any(), any()))
                 .thenReturn(mockOrderDto);
 
         // When
@@ -112,7 +129,7 @@ class PaymentServiceImplTest {
         assertNotNull(result.getOrderDto());
         assertEquals("Test Order", result.getOrderDto().getOrderDesc());
         verify(paymentRepository, times(1)).findById(1);
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+        verify(remoteDtoCache, times(1)).findById(anyString(), anyInt(), eq(OrderDto.class), any(), any());
     }
 
     @Test
@@ -129,7 +146,7 @@ class PaymentServiceImplTest {
         
         assertTrue(exception.getMessage().contains("Payment with id: 999 not found"));
         verify(paymentRepository, times(1)).findById(999);
-        verifyNoInteractions(restTemplate);
+        verify(remoteDtoCache, never()).findById(anyString(), anyInt(), any(), any(), any());
     }
 
     @Test
@@ -177,7 +194,10 @@ class PaymentServiceImplTest {
         assertNotNull(result);
         assertEquals(PaymentStatus.COMPLETED, result.getPaymentStatus());
         assertTrue(result.getIsPayed());
-        verify(paymentRepository, times(1)).save(any(Payment.class));
+        final InOrder inOrder = inOrder(paymentRepository, outboxPublisher);
+        inOrder.verify(paymentRepository).findForUpdateByPaymentId(1);
+        inOrder.verify(paymentRepository).save(any(Payment.class));
+        inOrder.verify(outboxPublisher).publish(eq(OutboxEventType.PAYMENT_UPDATED), eq(1), any(PaymentDto.class));
     }
 
     @Test
@@ -190,6 +210,8 @@ class PaymentServiceImplTest {
         paymentService.deleteById(1);
 
         // Then
+        verify(paymentRepository, times(1)).findForUpdateByPaymentId(1);
         verify(paymentRepository, times(1)).deleteById(1);
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.PAYMENT_DELETED), eq(1), any(PaymentDto.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+	
+	private String transport = "local";
+	private Duration relayInterval = Duration.ofSeconds(1);
+	private int batchSize = 500;
+	private Duration retention = Duration.ofDays(1);
+	private List<String> subscribers = new ArrayList<>();
+	
+}
+
+
+
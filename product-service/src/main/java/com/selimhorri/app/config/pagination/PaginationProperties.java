@@ -0,0 +1,25 @@
+package com.selimhorri.app.config.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+@Data
+public class PaginationProperties {
+	
+	private int defaultSize = 20;
+	private int maxSize = 100;
+	
+	public int resolveSize(final Integer size) {
+		if (size == null || size < 1)
+			return this.defaultSize;
+		return Math.min(size, this.maxSize);
+	}
+	
+}
+
+
+
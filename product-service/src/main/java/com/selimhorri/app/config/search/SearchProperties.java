@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.search")
+@Data
+public class SearchProperties {
+	
+	private Duration syncInterval = Duration.ofSeconds(5);
+	private Duration syncOverlap = Duration.ofSeconds(30);
+	
+}
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.hot-stock")
+@Data
+public class HotStockProperties {
+	
+	private boolean enabled = false;
+	private Set<Integer> productIds = new HashSet<>();
+	private int stripes = 16;
+	private Duration flushInterval = Duration.ofMillis(200);
+	private String walDirectory;
+	private Duration leaseDuration = Duration.ofSeconds(10);
+	private Duration claimInterval = Duration.ofSeconds(2);
+	private String advertisedUrl;
+	
+}
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.stock-reservation")
+@Data
+public class StockReservationProperties {
+	
+	private Duration ttl = Duration.ofMinutes(10);
+	private Duration expirySweepInterval = Duration.ofSeconds(30);
+	private int expirySweepBatchSize = 500;
+	
+}
+
+
+
@@ -5,6 +5,8 @@ import java.time.Instant;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -35,6 +37,12 @@ abstract public class AbstractMappedEntity implements Serializable {
 	@Column(name = "updated_at")
 	private Instant updatedAt;
 	
+	@PrePersist
+	@PreUpdate
+	protected void touch() {
+		this.updatedAt = Instant.now();
+	}
+	
 }
 
 
@@ -24,6 +24,7 @@ public class ProductDto implements Serializable {
 	private String sku;
 	private Double priceUnit;
 	private Integer quantity;
+	private Integer version;
 	
 	@JsonProperty("category")
 	@JsonInclude(Include.NON_NULL)
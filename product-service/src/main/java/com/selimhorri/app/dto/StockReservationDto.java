@@ -0,0 +1,50 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.selimhorri.app.domain.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class StockReservationDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String reservationId;
+	private ReservationStatus reservationStatus;
+	
+	@JsonProperty(access = Access.READ_ONLY)
+	@JsonSerialize(using = ToStringSerializer.class)
+	private Instant expiresAt;
+	
+	@Valid
+	@NotEmpty(message = "Items must not be empty")
+	private List<StockReservationItemDto> items;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.event;
+
+import java.util.Optional;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogCacheEvictionListener {
+	
+	private final CacheManager cacheManager;
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		log.info("*** Void, listener; evict product {} from cache *", event.getProductId());
+		this.cache(AppConstant.PRODUCT_CACHE)
+				.ifPresent(cache -> cache.evictIfPresent(event.getProductId()));
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(final CategoryChangedEvent event) {
+		log.info("*** Void, listener; evict category {}, category tree and dependent products from cache *", event.getCategoryId());
+		this.cache(AppConstant.CATEGORY_CACHE).ifPresent(Cache::invalidate);
+		this.cache(AppConstant.CATEGORY_TREE_CACHE).ifPresent(Cache::invalidate);
+		this.cache(AppConstant.PRODUCT_CACHE).ifPresent(Cache::invalidate);
+	}
+	
+	private Optional<Cache> cache(final String cacheName) {
+		return Optional.ofNullable(this.cacheManager.getCache(cacheName));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
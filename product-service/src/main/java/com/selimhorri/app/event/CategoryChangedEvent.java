@@ -0,0 +1,24 @@
+package com.selimhorri.app.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CategoryChangedEvent {
+	
+	private final Integer categoryId;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class HotStockOwnerUnavailableException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public HotStockOwnerUnavailableException() {
+		super();
+	}
+	
+	public HotStockOwnerUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public HotStockOwnerUnavailableException(String message) {
+		super(message);
+	}
+	
+	public HotStockOwnerUnavailableException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
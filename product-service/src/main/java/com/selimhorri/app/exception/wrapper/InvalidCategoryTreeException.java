@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InvalidCategoryTreeException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidCategoryTreeException() {
+		super();
+	}
+	
+	public InvalidCategoryTreeException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InvalidCategoryTreeException(String message) {
+		super(message);
+	}
+	
+	public InvalidCategoryTreeException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
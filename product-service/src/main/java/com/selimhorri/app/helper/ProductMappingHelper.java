@@ -15,6 +15,7 @@ public interface ProductMappingHelper {
 				.sku(product.getSku())
 				.priceUnit(product.getPriceUnit())
 				.quantity(product.getQuantity())
+				.version(product.getVersion())
 				.categoryDto(
 						CategoryDto.builder()
 							.categoryId(product.getCategory().getCategoryId())
@@ -32,6 +33,7 @@ public interface ProductMappingHelper {
 				.sku(productDto.getSku())
 				.priceUnit(productDto.getPriceUnit())
 				.quantity(productDto.getQuantity())
+				.version(productDto.getVersion())
 				.category(
 						Category.builder()
 							.categoryId(productDto.getCategoryDto().getCategoryId())
@@ -0,0 +1,41 @@
+package com.selimhorri.app.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.service.StockReservationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationExpiryJob {
+	
+	private final StockReservationService stockReservationService;
+	
+	@Scheduled(fixedDelayString = "${app.stock-reservation.expiry-sweep-interval:PT30S}", 
+			initialDelayString = "${app.stock-reservation.expiry-sweep-interval:PT30S}")
+	public void expireOverdue() {
+		int expired;
+		do {
+			expired = this.stockReservationService.expireOverdue();
+		}
+		while (expired > 0);
+		log.debug("*** Void, job; stock reservation expiry sweep done *");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,27 @@
+package com.selimhorri.app.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	PRODUCT_CREATED("Product", "ProductCreated"),
+	PRODUCT_UPDATED("Product", "ProductUpdated"),
+	PRODUCT_DELETED("Product", "ProductDeleted");
+	
+	private final String aggregateType;
+	private final String eventType;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,28 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class HotStockCheckpointRepository {
+	
+	private static final int CHECKPOINT_ID = 1;
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public long findLastSequence() {
+		return this.jdbcTemplate.queryForObject("SELECT last_sequence FROM hot_stock_checkpoints WHERE checkpoint_id = ?", 
+				Long.class, CHECKPOINT_ID);
+	}
+	
+	public void save(final long lastSequence) {
+		this.jdbcTemplate.update("UPDATE hot_stock_checkpoints SET last_sequence = ?, updated_at = LOCALTIMESTAMP "
+				+ "WHERE checkpoint_id = ? AND last_sequence < ?", lastSequence, CHECKPOINT_ID, lastSequence);
+	}
+	
+	
+	
+}
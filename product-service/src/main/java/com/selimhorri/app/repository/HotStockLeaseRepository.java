@@ -0,0 +1,60 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class HotStockLeaseRepository {
+	
+	private static final int LEASE_ID = 1;
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public boolean acquire(final String ownerId, final String ownerUrl, final Instant now, final Instant leasedUntil) {
+		return this.jdbcTemplate.update("UPDATE hot_stock_leases SET owner_id = ?, owner_url = ?, leased_until = ? "
+				+ "WHERE lease_id = ? AND (owner_id IS NULL OR leased_until < ?)", 
+				ownerId, ownerUrl, Timestamp.from(leasedUntil), LEASE_ID, Timestamp.from(now)) == 1;
+	}
+	
+	public boolean renew(final String ownerId, final Instant now, final Instant leasedUntil) {
+		return this.jdbcTemplate.update("UPDATE hot_stock_leases SET leased_until = ? "
+				+ "WHERE lease_id = ? AND owner_id = ? AND leased_until >= ?", 
+				Timestamp.from(leasedUntil), LEASE_ID, ownerId, Timestamp.from(now)) == 1;
+	}
+	
+	public void release(final String ownerId) {
+		this.jdbcTemplate.update("UPDATE hot_stock_leases SET owner_id = NULL, owner_url = NULL, leased_until = NULL "
+				+ "WHERE lease_id = ? AND owner_id = ?", LEASE_ID, ownerId);
+	}
+	
+	public Optional<String> findOwnerUrl(final Instant now) {
+		return this.findOwnerUrl(now, "");
+	}
+	
+	public Optional<String> lockOwnerUrl(final Instant now) {
+		return this.findOwnerUrl(now, " FOR UPDATE");
+	}
+	
+	private Optional<String> findOwnerUrl(final Instant now, final String lockClause) {
+		final List<String> ownerUrls = this.jdbcTemplate.query("SELECT owner_url, leased_until FROM hot_stock_leases "
+				+ "WHERE lease_id = ?" + lockClause, 
+				(resultSet, rowNum) -> {
+					final Timestamp leasedUntil = resultSet.getTimestamp("leased_until");
+					return leasedUntil == null || leasedUntil.toInstant().isBefore(now) ? null : resultSet.getString("owner_url");
+				}, LEASE_ID);
+		return ownerUrls.stream()
+				.filter(ownerUrl -> ownerUrl != null)
+				.findFirst();
+	}
+	
+	
+	
+}
@@ -0,0 +1,31 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	
+	List<OutboxEvent> findByPublishedAtIsNullOrderByEventIdAsc(final Pageable pageable);
+	
+	@Modifying
+	@Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.eventId IN :eventIds")
+	int markPublished(@Param("eventIds") final Collection<Long> eventIds, @Param("publishedAt") final Instant publishedAt);
+	
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :publishedBefore")
+	int deletePublishedBefore(@Param("publishedBefore") final Instant publishedBefore);
+	
+	@Query("SELECT DISTINCT e.aggregateId FROM OutboxEvent e WHERE e.eventType = :eventType AND e.occurredAt >= :occurredSince")
+	List<String> findAggregateIdsByEventTypeSince(@Param("eventType") final String eventType, 
+			@Param("occurredSince") final Instant occurredSince);
+	
+}
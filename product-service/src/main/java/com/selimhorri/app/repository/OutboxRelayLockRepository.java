@@ -0,0 +1,23 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRelayLockRepository {
+	
+	private static final int LOCK_ID = 1;
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public boolean lock() {
+		return this.jdbcTemplate.update("UPDATE outbox_relay_locks SET locked_at = LOCALTIMESTAMP WHERE lock_id = ?", 
+				LOCK_ID) == 1;
+	}
+	
+	
+	
+}
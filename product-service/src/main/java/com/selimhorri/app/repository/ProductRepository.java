@@ -1,11 +1,54 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Override
+	@EntityGraph(attributePaths = {"category"})
+	List<Product> findAll();
+	
+	@Override
+	@EntityGraph(attributePaths = {"category"})
+	Optional<Product> findById(final Integer productId);
+	
+	@EntityGraph(attributePaths = {"category"})
+	List<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
+	
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.productId IN :productIds")
+	List<Product> findAllWithCategoryByProductIdIn(@Param("productIds") final Collection<Integer> productIds);
+	
+	@Query("SELECT p FROM Product p JOIN FETCH p.category c, Category root "
+			+ "WHERE root.categoryId = :categoryId AND c.categoryPath LIKE CONCAT(root.categoryPath, '%') "
+			+ "AND p.productId > :productId ORDER BY p.productId")
+	List<Product> findByCategorySubtreeAndProductIdGreaterThan(@Param("categoryId") final Integer categoryId, 
+			@Param("productId") final Integer productId, final Pageable pageable);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Product p WHERE p.productId = :productId")
+	Optional<Product> findForUpdateByProductId(@Param("productId") final Integer productId);
 	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.productId")
+	Stream<Product> streamAllWithCategory();
 	
 }
@@ -0,0 +1,48 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.selimhorri.app.search.ProductRevision;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductRevisionRepository {
+	
+	private static final String REVISION_SQL = "SELECT p.product_id, p.version, c.category_id, c.category_title, c.image_url "
+			+ "FROM products p LEFT JOIN categories c ON c.category_id = p.category_id ";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public Map<Integer, ProductRevision> findChangedSince(final Instant since) {
+		final Timestamp timestamp = Timestamp.from(since);
+		final Map<Integer, ProductRevision> revisions = new HashMap<>();
+		this.jdbcTemplate.query(REVISION_SQL + "WHERE p.updated_at >= ? UNION " + REVISION_SQL + "WHERE c.updated_at >= ?", 
+				resultSet -> {
+					revisions.put(resultSet.getInt("product_id"), new ProductRevision(resultSet.getInt("version"), 
+							resultSet.getObject("category_id", Integer.class), 
+							resultSet.getString("category_title"), resultSet.getString("image_url")));
+				}, timestamp, timestamp);
+		return revisions;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
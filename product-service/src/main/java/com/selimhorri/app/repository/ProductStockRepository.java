@@ -0,0 +1,80 @@
+package com.selimhorri.app.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+	
+	private static final String DECREMENT_SQL = "UPDATE products SET quantity = quantity - ?, version = version + 1, "
+			+ "updated_at = ? WHERE product_id = ? AND quantity >= ?";
+	private static final String INCREMENT_SQL = "UPDATE products SET quantity = quantity + ?, version = version + 1, "
+			+ "updated_at = ? WHERE product_id = ?";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	public Map<Integer, Integer> lockQuantities(final Collection<Integer> productIds) {
+		final Map<Integer, Integer> quantities = new TreeMap<>();
+		if (productIds.isEmpty())
+			return quantities;
+		this.jdbcTemplate.query(String.format("SELECT product_id, quantity FROM products WHERE product_id IN (%s) FOR UPDATE", 
+				String.join(", ", Collections.nCopies(productIds.size(), "?"))), 
+				resultSet -> {
+					quantities.put(resultSet.getInt("product_id"), resultSet.getInt("quantity"));
+				}, productIds.toArray());
+		return quantities;
+	}
+	
+	public List<Integer> decrement(final Map<Integer, Integer> quantities) {
+		final Timestamp updatedAt = Timestamp.from(Instant.now());
+		return this.batch(DECREMENT_SQL, quantities, 
+				entry -> new Object[] {entry.getValue(), updatedAt, entry.getKey(), entry.getValue()});
+	}
+	
+	public List<Integer> increment(final Map<Integer, Integer> quantities) {
+		final Timestamp updatedAt = Timestamp.from(Instant.now());
+		return this.batch(INCREMENT_SQL, quantities, entry -> new Object[] {entry.getValue(), updatedAt, entry.getKey()});
+	}
+	
+	private List<Integer> batch(final String sql, final Map<Integer, Integer> quantities, 
+			final Function<Map.Entry<Integer, Integer>, Object[]> argumentsMapper) {
+		final List<Integer> unmatchedProductIds = new ArrayList<>();
+		if (quantities.isEmpty())
+			return unmatchedProductIds;
+		final List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(quantities.entrySet());
+		final int[] updateCounts = this.jdbcTemplate.batchUpdate(sql, entries.stream()
+				.map(argumentsMapper)
+				.collect(Collectors.toList()));
+		for (int i = 0; i < updateCounts.length; i++)
+			if (updateCounts[i] != 1)
+				unmatchedProductIds.add(entries.get(i).getKey());
+		return unmatchedProductIds;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
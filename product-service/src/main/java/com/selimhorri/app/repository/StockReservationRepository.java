@@ -0,0 +1,46 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+	
+	@Override
+	@EntityGraph(attributePaths = {"items"})
+	Optional<StockReservation> findById(final String reservationId);
+	
+	@EntityGraph(attributePaths = {"items"})
+	List<StockReservation> findAllByReservationIdIn(final Collection<String> reservationIds);
+	
+	@Query("SELECT r.reservationId FROM StockReservation r "
+			+ "WHERE r.reservationStatus = :reservationStatus AND r.expiresAt <= :now ORDER BY r.expiresAt")
+	List<String> findIdsExpiredAt(@Param("reservationStatus") final ReservationStatus reservationStatus, 
+			@Param("now") final Instant now, final Pageable pageable);
+	
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.reservationStatus = :to, r.updatedAt = :now "
+			+ "WHERE r.reservationId = :reservationId AND r.reservationStatus = :from")
+	int transition(@Param("reservationId") final String reservationId, @Param("from") final ReservationStatus from, 
+			@Param("to") final ReservationStatus to, @Param("now") final Instant now);
+	
+	@Modifying
+	@Query("UPDATE StockReservation r SET r.reservationStatus = :to, r.updatedAt = :now "
+			+ "WHERE r.reservationId = :reservationId AND r.reservationStatus = :from AND r.expiresAt > :now")
+	int transitionUnexpired(@Param("reservationId") final String reservationId, @Param("from") final ReservationStatus from, 
+			@Param("to") final ReservationStatus to, @Param("now") final Instant now);
+			
+			
+			
+}
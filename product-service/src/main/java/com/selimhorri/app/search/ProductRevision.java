@@ -0,0 +1,34 @@
+package com.selimhorri.app.search;
+
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductRevision {
+	
+	private final Integer version;
+	private final Integer categoryId;
+	private final String categoryTitle;
+	private final String categoryImageUrl;
+	
+	public static ProductRevision of(final ProductDto productDto) {
+		return productDto.getCategoryDto() == null
+				? new ProductRevision(productDto.getVersion(), null, null, null)
+				: new ProductRevision(productDto.getVersion(), productDto.getCategoryDto().getCategoryId(), 
+						productDto.getCategoryDto().getCategoryTitle(), productDto.getCategoryDto().getImageUrl());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,362 @@
+package com.selimhorri.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.dto.ProductDto;
+
+@Component
+public class ProductSearchIndex {
+	
+	private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, Document> documents = new HashMap<>();
+	private final NavigableSet<Integer> productIds = new TreeSet<>();
+	private final NavigableMap<String, NavigableSet<Integer>> terms = new TreeMap<>();
+	private final NavigableMap<Double, NavigableSet<Integer>> prices = new TreeMap<>();
+	private final Map<Integer, NavigableSet<Integer>> categories = new HashMap<>();
+	
+	public void put(final ProductDto productDto) {
+		final Integer productId = Objects.requireNonNull(productDto.getProductId());
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(this.documents.remove(productId));
+			final String[] documentTerms = terms(productDto).stream()
+					.map(term -> post(this.terms, term, productId))
+					.toArray(String[]::new);
+			if (productDto.getPriceUnit() != null)
+				post(this.prices, productDto.getPriceUnit(), productId);
+			if (categoryId(productDto) != null)
+				post(this.categories, categoryId(productDto), productId);
+			this.documents.put(productId, new Document(productDto, documentTerms));
+			this.productIds.add(productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.unindex(this.documents.remove(productId));
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.documents.clear();
+			this.productIds.clear();
+			this.terms.clear();
+			this.prices.clear();
+			this.categories.clear();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public List<Integer> productIdsByCategoryId(final Integer categoryId) {
+		this.lock.readLock().lock();
+		try {
+			return List.copyOf(this.categories.getOrDefault(categoryId, new TreeSet<>()));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public Map<Integer, ProductRevision> revisions(final Collection<Integer> productIds) {
+		this.lock.readLock().lock();
+		try {
+			final Map<Integer, ProductRevision> revisions = new HashMap<>();
+			productIds.forEach(productId -> Optional.ofNullable(this.documents.get(productId))
+					.ifPresent(document -> revisions.put(productId, ProductRevision.of(document.getProductDto()))));
+			return revisions;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.documents.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public List<ProductDto> search(final String query, final Integer categoryId,
+			final Double minPrice, final Double maxPrice, final Integer afterProductId, final int limit) {
+		this.lock.readLock().lock();
+		try {
+			final List<Clause> clauses = new ArrayList<>();
+			final List<String> queryTerms = query == null ? List.of() : List.copyOf(terms(query));
+			for (int i = 0; i < queryTerms.size(); i++)
+				clauses.add(i == queryTerms.size() - 1 ? this.prefixClause(queryTerms.get(i)) : this.termClause(queryTerms.get(i)));
+			if (categoryId != null)
+				clauses.add(this.categoryClause(categoryId));
+			if (minPrice != null || maxPrice != null)
+				clauses.add(this.priceClause(minPrice == null ? Double.NEGATIVE_INFINITY : minPrice,
+						maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice));
+			
+			final Iterator<Integer> candidates = clauses.stream()
+					.min(Comparator.comparingLong(Clause::getCost))
+					.map(clause -> merge(clause.getPostings(), afterProductId))
+					.orElseGet(() -> merge(List.of(this.productIds), afterProductId));
+			final List<ProductDto> results = new ArrayList<>();
+			while (candidates.hasNext() && results.size() < limit) {
+				final Document document = this.documents.get(candidates.next());
+				if (clauses.stream().allMatch(clause -> clause.matches(document)))
+					results.add(document.getProductDto());
+			}
+			return results;
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	private Clause termClause(final String term) {
+		final NavigableSet<Integer> postings = this.terms.get(term);
+		return new Clause(postings == null ? List.of() : List.of(postings), document -> document.hasTerm(term));
+	}
+	
+	private Clause prefixClause(final String prefix) {
+		return new Clause(List.copyOf(this.terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()),
+				document -> document.hasTermStartingWith(prefix));
+	}
+	
+	private Clause categoryClause(final Integer categoryId) {
+		final NavigableSet<Integer> postings = this.categories.get(categoryId);
+		return new Clause(postings == null ? List.of() : List.of(postings),
+				document -> categoryId.equals(categoryId(document.getProductDto())));
+	}
+	
+	private Clause priceClause(final double lower, final double upper) {
+		return new Clause(lower > upper ? List.of() : List.copyOf(this.prices.subMap(lower, true, upper, true).values()),
+				document -> document.getProductDto().getPriceUnit() != null
+						&& document.getProductDto().getPriceUnit() >= lower
+						&& document.getProductDto().getPriceUnit() <= upper);
+	}
+	
+	private void unindex(final Document document) {
+		if (document == null)
+			return;
+		final Integer productId = document.getProductDto().getProductId();
+		Arrays.stream(document.getTerms()).forEach(term -> unpost(this.terms, term, productId));
+		if (document.getProductDto().getPriceUnit() != null)
+			unpost(this.prices, document.getProductDto().getPriceUnit(), productId);
+		if (categoryId(document.getProductDto()) != null)
+			unpost(this.categories, categoryId(document.getProductDto()), productId);
+		this.productIds.remove(productId);
+	}
+	
+	private static <K> K post(final NavigableMap<K, NavigableSet<Integer>> postings, final K key, final Integer productId) {
+		final Map.Entry<K, NavigableSet<Integer>> entry = postings.ceilingEntry(key);
+		if (entry != null && entry.getKey().equals(key)) {
+			entry.getValue().add(productId);
+			return entry.getKey();
+		}
+		postings.put(key, new TreeSet<>(Set.of(productId)));
+		return key;
+	}
+	
+	private static <K> void post(final Map<K, NavigableSet<Integer>> postings, final K key, final Integer productId) {
+		postings.computeIfAbsent(key, k -> new TreeSet<>()).add(productId);
+	}
+	
+	private static <K> void unpost(final Map<K, NavigableSet<Integer>> postings, final K key, final Integer productId) {
+		postings.computeIfPresent(key, (k, productIds) -> productIds.remove(productId) && productIds.isEmpty() ? null : productIds);
+	}
+	
+	private static Iterator<Integer> merge(final List<NavigableSet<Integer>> postings, final Integer afterProductId) {
+		final List<Iterator<Integer>> iterators = postings.stream()
+				.map(productIds -> afterProductId == null ? productIds : productIds.tailSet(afterProductId, false))
+				.map(NavigableSet::iterator)
+				.collect(Collectors.toList());
+		return iterators.size() == 1 ? iterators.get(0) : new MergingIterator(iterators);
+	}
+	
+	private static Set<String> terms(final ProductDto productDto) {
+		final Set<String> terms = terms(productDto.getProductTitle());
+		terms.addAll(terms(productDto.getSku()));
+		return terms;
+	}
+	
+	private static Set<String> terms(final String text) {
+		final Set<String> terms = new LinkedHashSet<>();
+		if (text == null)
+			return terms;
+		for (final String term : TERM_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+			if (!term.isEmpty())
+				terms.add(term);
+		return terms;
+	}
+	
+	private static Integer categoryId(final ProductDto productDto) {
+		return productDto.getCategoryDto() == null ? null : productDto.getCategoryDto().getCategoryId();
+	}
+	
+	private static final class Document {
+		
+		private final ProductDto productDto;
+		private final String[] terms;
+		
+		Document(final ProductDto productDto, final String[] terms) {
+			this.productDto = productDto;
+			this.terms = terms;
+		}
+		
+		ProductDto getProductDto() {
+			return this.productDto;
+		}
+		
+		String[] getTerms() {
+			return this.terms;
+		}
+		
+		boolean hasTerm(final String term) {
+			for (final String documentTerm : this.terms)
+				if (documentTerm.equals(term))
+					return true;
+			return false;
+		}
+		
+		boolean hasTermStartingWith(final String prefix) {
+			for (final String documentTerm : this.terms)
+				if (documentTerm.startsWith(prefix))
+					return true;
+			return false;
+		}
+		
+	}
+	
+	private static final class Clause {
+		
+		private final List<NavigableSet<Integer>> postings;
+		private final Predicate<Document> predicate;
+		private final long cost;
+		
+		Clause(final List<NavigableSet<Integer>> postings, final Predicate<Document> predicate) {
+			this.postings = postings;
+			this.predicate = predicate;
+			this.cost = postings.stream().mapToLong(Set::size).sum();
+		}
+		
+		List<NavigableSet<Integer>> getPostings() {
+			return this.postings;
+		}
+		
+		long getCost() {
+			return this.cost;
+		}
+		
+		boolean matches(final Document document) {
+			return this.predicate.test(document);
+		}
+		
+	}
+	
+	private static final class MergingIterator implements Iterator<Integer> {
+		
+		private final PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(Comparator.comparing(PeekingIterator::peek));
+		private Integer last;
+		
+		MergingIterator(final List<Iterator<Integer>> iterators) {
+			iterators.stream()
+					.filter(Iterator::hasNext)
+					.map(PeekingIterator::new)
+					.forEach(this.heads::add);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			while (!this.heads.isEmpty() && this.heads.peek().peek().equals(this.last))
+				this.advance();
+			return !this.heads.isEmpty();
+		}
+		
+		@Override
+		public Integer next() {
+			if (!this.hasNext())
+				throw new NoSuchElementException();
+			this.last = this.heads.peek().peek();
+			this.advance();
+			return this.last;
+		}
+		
+		private void advance() {
+			final PeekingIterator head = this.heads.poll();
+			head.next();
+			if (head.peek() != null)
+				this.heads.add(head);
+		}
+		
+	}
+	
+	private static final class PeekingIterator {
+		
+		private final Iterator<Integer> iterator;
+		private Integer head;
+		
+		PeekingIterator(final Iterator<Integer> iterator) {
+			this.iterator = iterator;
+			this.head = iterator.next();
+		}
+		
+		Integer peek() {
+			return this.head;
+		}
+		
+		void next() {
+			this.head = this.iterator.hasNext() ? this.iterator.next() : null;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
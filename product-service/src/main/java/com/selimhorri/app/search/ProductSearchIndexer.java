@@ -0,0 +1,145 @@
+package com.selimhorri.app.search;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.search.SearchProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.event.CategoryChangedEvent;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.helper.BatchHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductRevisionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchIndexer {
+	
+	private final ProductSearchIndex productSearchIndex;
+	private final ProductRepository productRepository;
+	private final ProductRevisionRepository productRevisionRepository;
+	private final BatchProperties batchProperties;
+	private final OutboxEventRepository outboxEventRepository;
+	private final SearchProperties searchProperties;
+	private final EntityManager entityManager;
+	
+	private volatile Instant syncedUntil;
+	
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		log.info("*** Void, indexer; rebuild product search index *");
+		final Instant startedAt = Instant.now();
+		this.productSearchIndex.clear();
+		try (final Stream<Product> products = this.productRepository.streamAllWithCategory()) {
+			products.forEach(p -> {
+				this.productSearchIndex.put(ProductMappingHelper.map(p));
+				if (p.getCategory() != null)
+					this.entityManager.detach(p.getCategory());
+				this.entityManager.detach(p);
+			});
+		}
+		this.syncedUntil = startedAt;
+		log.info("*** Void, indexer; indexed {} products *", this.productSearchIndex.size());
+	}
+	
+	@Transactional
+	@Scheduled(fixedDelayString = "${app.search.sync-interval:PT5S}", initialDelayString = "${app.search.sync-interval:PT5S}")
+	public void sync() {
+		final Instant syncedUntil = this.syncedUntil;
+		if (syncedUntil == null)
+			return;
+		final Instant startedAt = Instant.now();
+		final Instant since = syncedUntil.minus(this.searchProperties.getSyncOverlap());
+		final Map<Integer, ProductRevision> stored = this.productRevisionRepository.findChangedSince(since);
+		final Set<Integer> deletedProductIds = this.outboxEventRepository
+				.findAggregateIdsByEventTypeSince(OutboxEventType.PRODUCT_DELETED.getEventType(), since)
+				.stream()
+					.map(Integer::valueOf)
+					.filter(productId -> !stored.containsKey(productId))
+					.collect(Collectors.toUnmodifiableSet());
+		final Map<Integer, ProductRevision> indexed = this.productSearchIndex
+				.revisions(Stream.concat(stored.keySet().stream(), deletedProductIds.stream())
+						.collect(Collectors.toUnmodifiableList()));
+		final List<Integer> staleProductIds = Stream.concat(
+					stored.keySet().stream()
+						.filter(productId -> !Objects.equals(indexed.get(productId), stored.get(productId))),
+					deletedProductIds.stream()
+						.filter(indexed::containsKey))
+				.sorted()
+				.collect(Collectors.toUnmodifiableList());
+		this.syncedUntil = startedAt;
+		if (staleProductIds.isEmpty())
+			return;
+		log.info("*** Void, indexer; sync {} products changed outside this instance *", staleProductIds.size());
+		BatchHelper.partition(staleProductIds, this.batchProperties.getChunkSize())
+			.forEach(this::reindex);
+	}
+	
+	@Transactional(TxType.REQUIRES_NEW)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(final ProductChangedEvent event) {
+		log.info("*** Void, indexer; reindex product {} *", event.getProductId());
+		this.reindex(List.of(event.getProductId()));
+	}
+	
+	@Transactional(TxType.REQUIRES_NEW)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChanged(final CategoryChangedEvent event) {
+		log.info("*** Void, indexer; reindex products of category {} *", event.getCategoryId());
+		BatchHelper.partition(this.productSearchIndex.productIdsByCategoryId(event.getCategoryId()),
+				this.batchProperties.getChunkSize())
+			.forEach(this::reindex);
+	}
+	
+	private void reindex(final List<Integer> productIds) {
+		final List<ProductDto> productDtos = this.productRepository.findAllWithCategoryByProductIdIn(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		productDtos.forEach(this.productSearchIndex::put);
+		final Set<Integer> found = productDtos.stream()
+				.map(ProductDto::getProductId)
+				.collect(Collectors.toUnmodifiableSet());
+		productIds.stream()
+				.filter(productId -> !found.contains(productId))
+				.forEach(this.productSearchIndex::remove);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,13 +1,21 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface ProductService {
 	
-	List<ProductDto> findAll();
+	DtoCollectionResponse<ProductDto> findAll(final String cursor, final Integer size);
+	DtoCollectionResponse<ProductDto> findAllByCategorySubtree(final Integer categoryId, final String cursor, final Integer size);
+	void exportAll(final Consumer<ProductDto> productDtoConsumer);
+	DtoCollectionResponse<ProductDto> search(final String query, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final String cursor, final Integer size);
 	ProductDto findById(final Integer productId);
+	List<ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
@@ -1,17 +1,27 @@
 package com.selimhorri.app.service.impl;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.CategoryChangedEvent;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
+import com.selimhorri.app.exception.wrapper.InvalidCategoryTreeException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.service.CategoryService;
+import com.selimhorri.app.tree.CategoryTreeLoader;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,18 +33,24 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final PaginationProperties paginationProperties;
+	private final ApplicationEventPublisher eventPublisher;
+	private final CategoryTreeLoader categoryTreeLoader;
 	
 	@Override
-	public List<CategoryDto> findAll() {
-		log.info("*** CategoryDto List, service; fetch all categorys *");
-		return this.categoryRepository.findAll()
+	public DtoCollectionResponse<CategoryDto> findAll(final String cursor, final Integer size) {
+		log.info("*** CategoryDto Page, service; fetch categories after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.categoryRepository
+				.findByCategoryIdGreaterThanOrderByCategoryIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(CategoryMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, c -> CursorHelper.encode(c.getCategoryId()));
 	}
 	
 	@Override
+	@Cacheable(cacheNames = AppConstant.CATEGORY_CACHE, key = "#categoryId")
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
 		return this.categoryRepository.findById(categoryId)
@@ -42,31 +58,65 @@ public class CategoryServiceImpl implements CategoryService {
 				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
+	@Override
+	public CategoryDto findTreeById(final Integer categoryId) {
+		log.info("*** CategoryDto, service; fetch category tree by id *");
+		return this.categoryTreeLoader.load()
+				.subtree(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+	}
+	
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.publishChanged(CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(categoryDto)));
+		return this.publishChanged(CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(categoryDto))));
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
-				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		return this.publishChanged(CategoryMappingHelper.map(this
+				.saveWithPath(CategoryMappingHelper.map(this.findById(categoryId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+	}
+	
+	private Category saveWithPath(final Category category) {
+		final Integer parentCategoryId = category.getParentCategory() == null ? null : category.getParentCategory().getCategoryId();
+		final Category parentCategory = parentCategoryId == null ? null : this.categoryRepository.findById(parentCategoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", parentCategoryId)));
+		final String previousPath = category.getCategoryId() == null ? null : this.categoryRepository
+				.findCategoryPathByCategoryId(category.getCategoryId())
+				.orElse(null);
+		if (previousPath != null && parentCategory != null && parentCategory.getCategoryPath().startsWith(previousPath))
+			throw new InvalidCategoryTreeException(String.format("Category with id: %d cannot be moved under its own subtree", 
+					category.getCategoryId()));
+		
+		category.setParentCategory(parentCategory);
+		final Category savedCategory = this.categoryRepository.save(category);
+		savedCategory.setCategoryPath((parentCategory == null ? "/" : parentCategory.getCategoryPath()) 
+				+ savedCategory.getCategoryId() + "/");
+		if (previousPath != null && !previousPath.equals(savedCategory.getCategoryPath()))
+			this.categoryRepository.moveSubtree(previousPath, savedCategory.getCategoryPath());
+		return savedCategory;
+	}
+	
+	private CategoryDto publishChanged(final CategoryDto categoryDto) {
+		this.eventPublisher.publishEvent(new CategoryChangedEvent(categoryDto.getCategoryId()));
+		return categoryDto;
 	}
 	
 	
@@ -1,16 +1,36 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.BatchHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,18 +43,62 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final BatchProperties batchProperties;
+	private final PaginationProperties paginationProperties;
+	private final EntityManager entityManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ProductSearchIndex productSearchIndex;
+	private final OutboxPublisher outboxPublisher;
 	
 	@Override
-	public List<ProductDto> findAll() {
-		log.info("*** ProductDto List, service; fetch all products *");
-		return this.productRepository.findAll()
+	public DtoCollectionResponse<ProductDto> findAll(final String cursor, final Integer size) {
+		log.info("*** ProductDto Page, service; fetch products after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.productRepository
+				.findByProductIdGreaterThanOrderByProductIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(ProductMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, p -> CursorHelper.encode(p.getProductId()));
+	}
+	
+	@Override
+	public DtoCollectionResponse<ProductDto> findAllByCategorySubtree(final Integer categoryId, final String cursor, final Integer size) {
+		log.info("*** ProductDto Page, service; fetch products under category subtree after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.productRepository
+				.findByCategorySubtreeAndProductIdGreaterThan(categoryId, CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, p -> CursorHelper.encode(p.getProductId()));
+	}
+	
+	@Override
+	public void exportAll(final Consumer<ProductDto> productDtoConsumer) {
+		log.info("*** ProductDto Stream, service; export all products *");
+		try (final Stream<Product> products = this.productRepository.streamAllWithCategory()) {
+			products.forEach(p -> {
+				productDtoConsumer.accept(ProductMappingHelper.map(p));
+				if (p.getCategory() != null)
+					this.entityManager.detach(p.getCategory());
+				this.entityManager.detach(p);
+			});
+		}
+	}
+	
+	@Override
+	public DtoCollectionResponse<ProductDto> search(final String query, final Integer categoryId, 
+			final Double minPrice, final Double maxPrice, final String cursor, final Integer size) {
+		log.info("*** ProductDto Page, service; search products after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.productSearchIndex
+				.search(query, categoryId, minPrice, maxPrice, CursorHelper.decodeId(cursor), pageSize + 1), 
+				pageSize, p -> CursorHelper.encode(p.getProductId()));
 	}
 	
 	@Override
+	@Cacheable(cacheNames = AppConstant.PRODUCT_CACHE, key = "#productId")
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
 		return this.productRepository.findById(productId)
@@ -42,32 +106,69 @@ public class ProductServiceImpl implements ProductService {
 				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
 	}
 	
+	@Override
+	public List<ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch all products by ids *");
+		final List<Integer> distinctIds = BatchHelper.distinctIds(productIds);
+		if (distinctIds.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d ids exceeds the maximum of %d", 
+					distinctIds.size(), this.batchProperties.getMaxSize()));
+		return BatchHelper.partition(distinctIds, this.batchProperties.getChunkSize())
+				.stream()
+					.flatMap(chunk -> this.productRepository.findAllWithCategoryByProductIdIn(chunk).stream())
+					.map(ProductMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		return this.publishChanged(OutboxEventType.PRODUCT_CREATED, ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		if (productDto.getVersion() == null && productDto.getProductId() != null)
+			return this.publishChanged(OutboxEventType.PRODUCT_UPDATED, ProductMappingHelper.map(this.updateDetails(productDto)));
+		return this.publishChanged(OutboxEventType.PRODUCT_UPDATED, ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(productDto))));
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(this.findById(productId))));
+		return this.publishChanged(OutboxEventType.PRODUCT_UPDATED, ProductMappingHelper.map(this.productRepository
+				.save(ProductMappingHelper.map(this.findById(productId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer productId) {
 		log.info("*** Void, service; delete product by id *");
-		this.productRepository.delete(ProductMappingHelper
-				.map(this.findById(productId)));
+		final ProductDto productDto = this.findById(productId);
+		this.productRepository.delete(ProductMappingHelper.map(productDto));
+		this.publishChanged(OutboxEventType.PRODUCT_DELETED, productDto);
+	}
+	
+	private Product updateDetails(final ProductDto productDto) {
+		final Product product = this.productRepository.findForUpdateByProductId(productDto.getProductId())
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", 
+						productDto.getProductId())));
+		product.setProductTitle(productDto.getProductTitle());
+		product.setImageUrl(productDto.getImageUrl());
+		product.setSku(productDto.getSku());
+		product.setPriceUnit(productDto.getPriceUnit());
+		if (productDto.getCategoryDto() != null && productDto.getCategoryDto().getCategoryId() != null)
+			product.setCategory(this.entityManager.getReference(Category.class, productDto.getCategoryDto().getCategoryId()));
+		return this.productRepository.saveAndFlush(product);
+	}
+	
+	private ProductDto publishChanged(final OutboxEventType outboxEventType, final ProductDto productDto) {
+		this.outboxPublisher.publish(outboxEventType, productDto.getProductId(), productDto);
+		this.eventPublisher.publishEvent(new ProductChangedEvent(productDto.getProductId()));
+		return productDto;
 	}
 	
 	
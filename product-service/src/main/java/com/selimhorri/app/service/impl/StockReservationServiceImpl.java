@@ -0,0 +1,236 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.config.stock.StockReservationProperties;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.domain.StockReservationItem;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
+import com.selimhorri.app.exception.wrapper.HotStockOwnerUnavailableException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.StockReservationNotFoundException;
+import com.selimhorri.app.exception.wrapper.StockReservationStateException;
+import com.selimhorri.app.helper.StockReservationMappingHelper;
+import com.selimhorri.app.repository.ProductStockRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockReservationService;
+import com.selimhorri.app.stock.HotStockLease;
+import com.selimhorri.app.stock.HotStockLedger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+	
+	private final StockReservationRepository stockReservationRepository;
+	private final ProductStockRepository productStockRepository;
+	private final StockReservationProperties stockReservationProperties;
+	private final BatchProperties batchProperties;
+	private final HotStockProperties hotStockProperties;
+	private final HotStockLedger hotStockLedger;
+	private final HotStockLease hotStockLease;
+	private final ApplicationEventPublisher eventPublisher;
+	
+	@Override
+	public StockReservationDto findById(final String reservationId) {
+		log.info("*** StockReservationDto, service; fetch stock reservation by id *");
+		return StockReservationMappingHelper.map(this.load(reservationId));
+	}
+	
+	@Override
+	public StockReservationDto reserve(final StockReservationDto stockReservationDto) {
+		log.info("*** StockReservationDto, service; reserve stock *");
+		final Map<Integer, Integer> quantities = stockReservationDto.getItems()
+				.stream()
+					.collect(Collectors.toMap(StockReservationItemDto::getProductId, StockReservationItemDto::getQuantity, 
+							Integer::sum, TreeMap::new));
+		if (quantities.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d products exceeds the maximum of %d", 
+					quantities.size(), this.batchProperties.getMaxSize()));
+		
+		final String reservationId = UUID.randomUUID().toString();
+		final Map<Boolean, Map<Integer, Integer>> partitioned = this.partitionHot(quantities);
+		this.checkUnowned(partitioned.get(false).keySet());
+		this.checkReserved(this.hotStockLedger.reserve(partitioned.get(true)));
+		this.logHot(Map.of(reservationId, partitioned.get(true)
+				.entrySet()
+				.stream()
+					.collect(Collectors.toMap(Map.Entry::getKey, entry -> -entry.getValue(), Integer::sum, TreeMap::new))), 
+				status -> {
+					if (status != TransactionSynchronization.STATUS_COMMITTED)
+						this.hotStockLedger.restock(partitioned.get(true));
+				});
+		this.checkReserved(this.productStockRepository.decrement(partitioned.get(false)));
+		
+		final StockReservation stockReservation = this.stockReservationRepository.save(StockReservation.builder()
+				.reservationId(reservationId)
+				.reservationStatus(ReservationStatus.RESERVED)
+				.expiresAt(Instant.now().plus(this.stockReservationProperties.getTtl()))
+				.items(quantities.entrySet()
+						.stream()
+							.map(entry -> new StockReservationItem(entry.getKey(), entry.getValue()))
+							.collect(Collectors.toList()))
+				.build());
+		this.publishChanged(partitioned.get(false).keySet());
+		return StockReservationMappingHelper.map(stockReservation);
+	}
+	
+	@Override
+	public StockReservationDto commit(final String reservationId) {
+		log.info("*** StockReservationDto, service; commit stock reservation *");
+		if (this.stockReservationRepository.transitionUnexpired(reservationId, 
+				ReservationStatus.RESERVED, ReservationStatus.COMMITTED, Instant.now()) == 0)
+			throw this.notReserved(reservationId);
+		return StockReservationMappingHelper.map(this.load(reservationId));
+	}
+	
+	@Override
+	public StockReservationDto release(final String reservationId) {
+		log.info("*** StockReservationDto, service; release stock reservation *");
+		if (this.stockReservationRepository.transition(reservationId, 
+				ReservationStatus.RESERVED, ReservationStatus.RELEASED, Instant.now()) == 0)
+			throw this.notReserved(reservationId);
+		final StockReservation stockReservation = this.load(reservationId);
+		this.restock(List.of(stockReservation));
+		return StockReservationMappingHelper.map(stockReservation);
+	}
+	
+	@Override
+	public int expireOverdue() {
+		final Instant now = Instant.now();
+		final List<String> expiredIds = this.stockReservationRepository
+				.findIdsExpiredAt(ReservationStatus.RESERVED, now, 
+						PageRequest.of(0, this.stockReservationProperties.getExpirySweepBatchSize()))
+				.stream()
+					.filter(reservationId -> this.stockReservationRepository.transition(reservationId, 
+							ReservationStatus.RESERVED, ReservationStatus.EXPIRED, now) == 1)
+					.collect(Collectors.toList());
+		if (!expiredIds.isEmpty()) {
+			log.info("*** Integer, service; expire {} overdue stock reservations *", expiredIds.size());
+			this.restock(this.stockReservationRepository.findAllByReservationIdIn(expiredIds));
+		}
+		return expiredIds.size();
+	}
+	
+	private void restock(final Collection<StockReservation> stockReservations) {
+		final Map<Integer, Integer> quantities = stockReservations.stream()
+				.flatMap(stockReservation -> stockReservation.getItems().stream())
+				.collect(Collectors.toMap(StockReservationItem::getProductId, StockReservationItem::getQuantity, 
+						Integer::sum, TreeMap::new));
+		final Map<Boolean, Map<Integer, Integer>> partitioned = this.partitionHot(quantities);
+		this.logHot(stockReservations.stream()
+				.collect(Collectors.toMap(StockReservation::getReservationId, stockReservation -> stockReservation.getItems()
+						.stream()
+							.filter(stockReservationItem -> partitioned.get(true).containsKey(stockReservationItem.getProductId()))
+							.collect(Collectors.toMap(StockReservationItem::getProductId, StockReservationItem::getQuantity, 
+									Integer::sum, TreeMap::new)))), 
+				status -> {
+					if (status == TransactionSynchronization.STATUS_COMMITTED)
+						this.hotStockLedger.restock(partitioned.get(true));
+				});
+		final List<Integer> missingProductIds = this.productStockRepository.increment(partitioned.get(false));
+		if (!missingProductIds.isEmpty())
+			log.warn("*** Void, service; cannot restock deleted products {} *", missingProductIds);
+		this.publishChanged(partitioned.get(false).keySet());
+	}
+	
+	private Map<Boolean, Map<Integer, Integer>> partitionHot(final Map<Integer, Integer> quantities) {
+		return quantities.entrySet()
+				.stream()
+					.collect(Collectors.partitioningBy(entry -> this.hotStockLedger.isHot(entry.getKey()), 
+							Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Integer::sum, TreeMap::new)));
+	}
+	
+	private void checkUnowned(final Collection<Integer> productIds) {
+		if (this.hotStockProperties.isEnabled() && !this.hotStockLedger.isStarted() 
+				&& productIds.stream().anyMatch(this.hotStockProperties.getProductIds()::contains) 
+				&& this.hotStockLease.lockOwnerUrl().isPresent())
+			throw new HotStockOwnerUnavailableException("Hot stock is owned by another instance, retry the reservation");
+	}
+	
+	private void checkReserved(final List<Integer> insufficientProductIds) {
+		if (!insufficientProductIds.isEmpty())
+			throw new InsufficientStockException(String.format("Insufficient stock for products: %s", insufficientProductIds));
+	}
+	
+	private void logHot(final Map<String, Map<Integer, Integer>> reservationDeltas, final IntConsumer callback) {
+		final Map<String, Map<Integer, Integer>> deltas = new TreeMap<>(reservationDeltas);
+		deltas.values().removeIf(Map::isEmpty);
+		if (deltas.isEmpty())
+			return;
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			private boolean logged;
+			
+			@Override
+			public void beforeCommit(final boolean readOnly) {
+				hotStockLedger.log(deltas);
+				this.logged = true;
+			}
+			
+			@Override
+			public void afterCompletion(final int status) {
+				if (this.logged)
+					hotStockLedger.complete(deltas, status == STATUS_COMMITTED);
+				callback.accept(status);
+			}
+			
+		});
+	}
+	
+	private StockReservation load(final String reservationId) {
+		return this.stockReservationRepository.findById(reservationId)
+				.orElseThrow(() -> new StockReservationNotFoundException(String
+						.format("Stock reservation with id: %s not found", reservationId)));
+	}
+	
+	private RuntimeException notReserved(final String reservationId) {
+		final StockReservation stockReservation = this.load(reservationId);
+		return new StockReservationStateException(String.format("Stock reservation with id: %s is %s", reservationId, 
+				stockReservation.getReservationStatus() == ReservationStatus.RESERVED 
+						? "expired" 
+						: stockReservation.getReservationStatus().getStatus()));
+	}
+	
+	private void publishChanged(final Collection<Integer> productIds) {
+		productIds.forEach(productId -> this.eventPublisher.publishEvent(new ProductChangedEvent(productId)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
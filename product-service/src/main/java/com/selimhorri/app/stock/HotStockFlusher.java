@@ -0,0 +1,167 @@
+package com.selimhorri.app.stock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.domain.StockReservation;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.repository.HotStockCheckpointRepository;
+import com.selimhorri.app.repository.ProductStockRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HotStockFlusher {
+	
+	private final HotStockLedger hotStockLedger;
+	private final HotStockProperties hotStockProperties;
+	private final ProductStockRepository productStockRepository;
+	private final HotStockCheckpointRepository hotStockCheckpointRepository;
+	private final StockReservationRepository stockReservationRepository;
+	private final HotStockLease hotStockLease;
+	private final ApplicationEventPublisher eventPublisher;
+	
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${app.hot-stock.claim-interval:PT2S}")
+	public void claim() {
+		if (!this.hotStockProperties.isEnabled() || this.hotStockLedger.isStarted())
+			return;
+		final long claimedAt = System.nanoTime();
+		if (!this.hotStockLease.acquire())
+			return;
+		log.info("*** Void, flusher; acquired hot stock lease as {} *", this.hotStockLease.getOwnerId());
+		final long checkpoint = this.hotStockCheckpointRepository.findLastSequence();
+		final StockWriteAheadLog.Replay replay = this.hotStockLedger.replay(checkpoint);
+		final Map<Integer, Integer> deltas = this.committedDeltas(replay.getRecords());
+		if (!deltas.isEmpty()) {
+			log.info("*** Void, flusher; replay hot stock deltas {} up to sequence {} *", deltas, replay.getLastSequence());
+			this.apply(new HotStockLedger.Checkpoint(deltas, replay.getLastSequence()));
+		}
+		final Map<Integer, Integer> quantities = this.productStockRepository.lockQuantities(this.hotStockProperties.getProductIds());
+		this.afterCommit(() -> {
+			this.hotStockLedger.start(quantities, replay.getLastSequence(), this.hotStockLease.expiresAt(claimedAt));
+			this.hotStockLedger.truncate(replay.getLastSequence());
+		}, () -> {});
+	}
+	
+	@Transactional
+	@Scheduled(fixedDelayString = "${app.hot-stock.flush-interval:PT0.2S}")
+	public void flush() {
+		if (!this.hotStockProperties.isEnabled() || !this.hotStockLedger.isStarted())
+			return;
+		final long renewedAt = System.nanoTime();
+		if (!this.hotStockLease.renew()) {
+			log.warn("*** Void, flusher; lost hot stock lease, leaving unflushed deltas to the next owner *");
+			this.hotStockLedger.stop();
+			return;
+		}
+		final HotStockLedger.Checkpoint checkpoint = this.hotStockLedger.drain();
+		if (checkpoint == null)
+			this.hotStockLedger.force();
+		else
+			this.apply(checkpoint);
+		final Map<Integer, Integer> quantities = this.productStockRepository.lockQuantities(this.hotStockProperties.getProductIds());
+		this.afterCommit(() -> {
+			if (checkpoint != null)
+				this.hotStockLedger.truncate(checkpoint.getLastSequence());
+			this.hotStockLedger.reconcile(checkpoint == null ? Map.of() : checkpoint.getDeltas(), quantities);
+			this.hotStockLedger.extend(this.hotStockLease.expiresAt(renewedAt));
+		}, () -> {
+			if (checkpoint != null)
+				this.hotStockLedger.requeue(checkpoint);
+		});
+	}
+	
+	@Transactional
+	@EventListener(ContextClosedEvent.class)
+	public void release() {
+		if (!this.hotStockLedger.isStarted())
+			return;
+		this.hotStockLedger.extend(System.nanoTime());
+		final HotStockLedger.Checkpoint checkpoint = this.hotStockLease.renew() ? this.hotStockLedger.drain() : null;
+		if (checkpoint != null)
+			this.apply(checkpoint);
+		this.hotStockLease.release();
+		this.afterCommit(() -> {
+			if (checkpoint != null)
+				this.hotStockLedger.truncate(checkpoint.getLastSequence());
+			this.hotStockLedger.stop();
+		}, this.hotStockLedger::stop);
+		log.info("*** Void, flusher; released hot stock lease *");
+	}
+	
+	private Map<Integer, Integer> committedDeltas(final List<StockWriteAheadLog.Record> records) {
+		if (records.isEmpty())
+			return Map.of();
+		final Map<String, ReservationStatus> reservationStatuses = this.stockReservationRepository
+				.findAllByReservationIdIn(records.stream()
+						.map(StockWriteAheadLog.Record::getReservationId)
+						.collect(Collectors.toSet()))
+				.stream()
+					.collect(Collectors.toMap(StockReservation::getReservationId, StockReservation::getReservationStatus));
+		final Map<Integer, Integer> deltas = records.stream()
+				.filter(record -> record.getDelta() < 0 
+						? reservationStatuses.containsKey(record.getReservationId()) 
+						: reservationStatuses.get(record.getReservationId()) == ReservationStatus.RELEASED 
+								|| reservationStatuses.get(record.getReservationId()) == ReservationStatus.EXPIRED)
+				.collect(Collectors.toMap(StockWriteAheadLog.Record::getProductId, StockWriteAheadLog.Record::getDelta, 
+						Integer::sum, TreeMap::new));
+		deltas.values().removeIf(delta -> delta == 0);
+		return deltas;
+	}
+	
+	private void apply(final HotStockLedger.Checkpoint checkpoint) {
+		final List<Integer> missingProductIds = this.productStockRepository.increment(checkpoint.getDeltas());
+		if (!missingProductIds.isEmpty())
+			log.warn("*** Void, flusher; cannot flush hot stock of deleted products {} *", missingProductIds);
+		this.hotStockCheckpointRepository.save(checkpoint.getLastSequence());
+		checkpoint.getDeltas().keySet().forEach(productId -> this.eventPublisher.publishEvent(new ProductChangedEvent(productId)));
+	}
+	
+	private void afterCommit(final Runnable committed, final Runnable rolledBack) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCompletion(final int status) {
+				if (status == STATUS_COMMITTED)
+					committed.run();
+				else
+					rolledBack.run();
+			}
+			
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
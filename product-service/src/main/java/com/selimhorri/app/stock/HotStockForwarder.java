@@ -0,0 +1,64 @@
+package com.selimhorri.app.stock;
+
+import java.util.Optional;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.exception.wrapper.HotStockOwnerUnavailableException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class HotStockForwarder {
+	
+	private final HotStockLedger hotStockLedger;
+	private final HotStockLease hotStockLease;
+	private final HotStockProperties hotStockProperties;
+	private final RestTemplate restTemplate;
+	
+	public HotStockForwarder(final HotStockLedger hotStockLedger, final HotStockLease hotStockLease, 
+			final HotStockProperties hotStockProperties, final CloseableHttpClient closeableHttpClient) {
+		this.hotStockLedger = hotStockLedger;
+		this.hotStockLease = hotStockLease;
+		this.hotStockProperties = hotStockProperties;
+		this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(closeableHttpClient));
+	}
+	
+	public Optional<String> reserve(final StockReservationDto stockReservationDto) {
+		if (!this.hotStockProperties.isEnabled() || this.hotStockLedger.isStarted() || stockReservationDto.getItems()
+				.stream()
+					.map(StockReservationItemDto::getProductId)
+					.noneMatch(this.hotStockProperties.getProductIds()::contains))
+			return Optional.empty();
+		final Optional<String> ownerUrl = this.hotStockLease.findOwnerUrl();
+		if (ownerUrl.isEmpty())
+			return Optional.empty();
+		if (ownerUrl.get().equals(this.hotStockLease.ownerUrl()))
+			throw new HotStockOwnerUnavailableException("Hot stock lease is held by this instance but its counters are stopped");
+		log.info("*** String, forwarder; forward stock reservation to hot stock owner {} *", ownerUrl.get());
+		try {
+			return Optional.of(this.restTemplate.postForObject(ownerUrl.get() + "/api/stock-reservations", 
+					stockReservationDto, StockReservationDto.class).getReservationId());
+		}
+		catch (final HttpClientErrorException.Conflict e) {
+			throw new InsufficientStockException(String.format("Insufficient stock reported by hot stock owner %s", 
+					ownerUrl.get()), e);
+		}
+		catch (final RestClientException e) {
+			throw new HotStockOwnerUnavailableException(String.format("Hot stock owner %s is unavailable", ownerUrl.get()), e);
+		}
+	}
+	
+	
+	
+}
@@ -0,0 +1,72 @@
+package com.selimhorri.app.stock;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.repository.HotStockLeaseRepository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class HotStockLease {
+	
+	private final HotStockLeaseRepository hotStockLeaseRepository;
+	private final HotStockProperties hotStockProperties;
+	private final Environment environment;
+	
+	@Getter
+	private final String ownerId = UUID.randomUUID().toString();
+	
+	public boolean acquire() {
+		final Instant now = Instant.now();
+		return this.hotStockLeaseRepository.acquire(this.ownerId, this.ownerUrl(), now, 
+				now.plus(this.hotStockProperties.getLeaseDuration()));
+	}
+	
+	public boolean renew() {
+		final Instant now = Instant.now();
+		return this.hotStockLeaseRepository.renew(this.ownerId, now, now.plus(this.hotStockProperties.getLeaseDuration()));
+	}
+	
+	public void release() {
+		this.hotStockLeaseRepository.release(this.ownerId);
+	}
+	
+	public Optional<String> findOwnerUrl() {
+		return this.hotStockLeaseRepository.findOwnerUrl(Instant.now());
+	}
+	
+	public Optional<String> lockOwnerUrl() {
+		return this.hotStockLeaseRepository.lockOwnerUrl(Instant.now());
+	}
+	
+	public long expiresAt(final long renewedAt) {
+		return renewedAt + this.hotStockProperties.getLeaseDuration().dividedBy(2).toNanos();
+	}
+	
+	public String ownerUrl() {
+		if (StringUtils.hasText(this.hotStockProperties.getAdvertisedUrl()))
+			return this.hotStockProperties.getAdvertisedUrl();
+		try {
+			return String.format("http://%s:%s%s", InetAddress.getLocalHost().getHostAddress(), 
+					this.environment.getProperty("server.port", "8080"), 
+					this.environment.getProperty("server.servlet.context-path", ""));
+		}
+		catch (final UnknownHostException e) {
+			throw new IllegalStateException("Cannot derive app.hot-stock.advertised-url", e);
+		}
+	}
+	
+	
+	
+}
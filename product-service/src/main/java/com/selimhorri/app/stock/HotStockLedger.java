@@ -0,0 +1,277 @@
+package com.selimhorri.app.stock;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.exception.wrapper.HotStockOwnerUnavailableException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class HotStockLedger implements DisposableBean {
+	
+	private final HotStockProperties hotStockProperties;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, StripedStockCounter> counters = new ConcurrentHashMap<>();
+	private final Map<Integer, Long> storedQuantities = new ConcurrentHashMap<>();
+	private volatile Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+	private volatile boolean started;
+	private volatile long ownedUntil;
+	private StockWriteAheadLog writeAheadLog;
+	
+	public HotStockLedger(final HotStockProperties hotStockProperties) {
+		this.hotStockProperties = hotStockProperties;
+		if (hotStockProperties.isEnabled())
+			this.walDirectory();
+	}
+	
+	public StockWriteAheadLog.Replay replay(final long checkpoint) {
+		if (this.writeAheadLog != null)
+			this.writeAheadLog.close();
+		this.writeAheadLog = new StockWriteAheadLog(this.walDirectory());
+		return this.writeAheadLog.replay(checkpoint);
+	}
+	
+	public void start(final Map<Integer, Integer> quantities, final long lastSequence, final long ownedUntil) {
+		this.lock.writeLock().lock();
+		try {
+			this.writeAheadLog.open(lastSequence);
+			this.pending = new ConcurrentHashMap<>();
+			this.counters.clear();
+			this.storedQuantities.clear();
+			quantities.forEach((productId, quantity) -> {
+				this.counters.put(productId, new StripedStockCounter(this.hotStockProperties.getStripes(), quantity));
+				this.storedQuantities.put(productId, quantity.longValue());
+			});
+			this.ownedUntil = ownedUntil;
+			this.started = true;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		log.info("*** Void, ledger; hot stock counters started for products {} *", quantities.keySet());
+	}
+	
+	public void stop() {
+		this.lock.writeLock().lock();
+		try {
+			if (!this.started)
+				return;
+			this.started = false;
+			this.counters.clear();
+			this.storedQuantities.clear();
+			this.pending = new ConcurrentHashMap<>();
+			this.writeAheadLog.close();
+			this.writeAheadLog = null;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		log.info("*** Void, ledger; hot stock counters stopped *");
+	}
+	
+	public void extend(final long ownedUntil) {
+		this.ownedUntil = ownedUntil;
+	}
+	
+	public boolean isStarted() {
+		return this.started;
+	}
+	
+	public boolean isHot(final Integer productId) {
+		return this.counters.containsKey(productId);
+	}
+	
+	public long quantity(final Integer productId) {
+		final StripedStockCounter counter = this.counters.get(productId);
+		return counter == null ? 0L : counter.get();
+	}
+	
+	public List<Integer> reserve(final Map<Integer, Integer> quantities) {
+		final List<Integer> insufficientProductIds = new ArrayList<>();
+		final Map<Integer, Integer> taken = new TreeMap<>();
+		this.lock.readLock().lock();
+		try {
+			quantities.forEach((productId, quantity) -> {
+				final StripedStockCounter counter = this.counters.get(productId);
+				if (counter != null && counter.tryDecrement(quantity))
+					taken.put(productId, quantity);
+				else
+					insufficientProductIds.add(productId);
+			});
+			if (!insufficientProductIds.isEmpty())
+				taken.forEach((productId, quantity) -> this.counters.get(productId).add(quantity));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		return insufficientProductIds;
+	}
+	
+	public void restock(final Map<Integer, Integer> quantities) {
+		this.lock.readLock().lock();
+		try {
+			quantities.forEach((productId, quantity) -> {
+				final StripedStockCounter counter = this.counters.get(productId);
+				if (counter != null)
+					counter.add(quantity);
+			});
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public void log(final Map<String, Map<Integer, Integer>> deltas) {
+		this.lock.readLock().lock();
+		try {
+			if (!this.started || System.nanoTime() - this.ownedUntil >= 0L)
+				throw new HotStockOwnerUnavailableException("Hot stock lease expired before the reservation committed");
+			deltas.forEach((reservationId, reservationDeltas) -> reservationDeltas.forEach((productId, delta) -> 
+					this.writeAheadLog.append(reservationId, productId, delta)));
+			this.writeAheadLog.force();
+		}
+		catch (final RuntimeException e) {
+			this.lock.readLock().unlock();
+			throw e;
+		}
+	}
+	
+	public void complete(final Map<String, Map<Integer, Integer>> deltas, final boolean committed) {
+		try {
+			if (committed)
+				deltas.values().forEach(reservationDeltas -> reservationDeltas.forEach((productId, delta) -> this.pending
+						.computeIfAbsent(productId, key -> new LongAdder())
+						.add(delta)));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public Checkpoint drain() {
+		final Map<Integer, LongAdder> drained;
+		final long lastSequence;
+		this.lock.writeLock().lock();
+		try {
+			if (this.writeAheadLog == null || this.pending.isEmpty())
+				return null;
+			drained = this.pending;
+			this.pending = new ConcurrentHashMap<>();
+			lastSequence = this.writeAheadLog.rotate();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		final Map<Integer, Integer> deltas = new TreeMap<>();
+		drained.forEach((productId, delta) -> deltas.put(productId, delta.intValue()));
+		deltas.values().removeIf(delta -> delta == 0);
+		return new Checkpoint(deltas, lastSequence);
+	}
+	
+	public void reconcile(final Map<Integer, Integer> flushedDeltas, final Map<Integer, Integer> quantities) {
+		this.lock.writeLock().lock();
+		try {
+			quantities.forEach((productId, quantity) -> {
+				final StripedStockCounter counter = this.counters.get(productId);
+				final Long storedQuantity = this.storedQuantities.get(productId);
+				if (counter == null || storedQuantity == null)
+					return;
+				final long adjustment = quantity - storedQuantity - flushedDeltas.getOrDefault(productId, 0);
+				if (adjustment != 0L) {
+					log.info("*** Void, ledger; adjust hot stock of product {} by {} after an external change *", 
+							productId, adjustment);
+					counter.reset(counter.get() + adjustment);
+				}
+				this.storedQuantities.put(productId, quantity.longValue());
+			});
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void requeue(final Checkpoint checkpoint) {
+		this.lock.readLock().lock();
+		try {
+			checkpoint.getDeltas().forEach((productId, delta) -> this.pending
+					.computeIfAbsent(productId, key -> new LongAdder())
+					.add(delta));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public void truncate(final long checkpoint) {
+		this.writeAheadLog.truncate(checkpoint);
+	}
+	
+	public void force() {
+		this.lock.readLock().lock();
+		try {
+			if (this.writeAheadLog != null)
+				this.writeAheadLog.force();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public void destroy() {
+		this.lock.writeLock().lock();
+		try {
+			if (this.writeAheadLog != null)
+				this.writeAheadLog.close();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	private Path walDirectory() {
+		final String walDirectory = this.hotStockProperties.getWalDirectory();
+		if (!StringUtils.hasText(walDirectory) || !Path.of(walDirectory).isAbsolute())
+			throw new IllegalStateException(String.format("app.hot-stock.enabled requires app.hot-stock.wal-directory "
+					+ "to be an absolute path on a persistent volume, found: %s", walDirectory));
+		return Path.of(walDirectory);
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static class Checkpoint {
+		
+		private final Map<Integer, Integer> deltas;
+		private final long lastSequence;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
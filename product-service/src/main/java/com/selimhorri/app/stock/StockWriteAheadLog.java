@@ -0,0 +1,209 @@
+package com.selimhorri.app.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+public class StockWriteAheadLog implements Closeable {
+	
+	private static final int RECORD_SIZE = Long.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+	private static final String SEGMENT_PREFIX = "stock-";
+	private static final String SEGMENT_SUFFIX = ".wal";
+	
+	private final Path directory;
+	private final AtomicLong sequence = new AtomicLong();
+	private volatile Segment segment;
+	
+	public StockWriteAheadLog(final Path directory) {
+		this.directory = directory;
+		try {
+			Files.createDirectories(directory);
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	public Replay replay(final long afterSequence) {
+		final List<Record> records = new ArrayList<>();
+		long lastSequence = afterSequence;
+		for (final Path path : this.segments()) {
+			final ByteBuffer buffer;
+			try {
+				buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+			}
+			catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			while (buffer.remaining() >= RECORD_SIZE) {
+				final long recordSequence = buffer.getLong();
+				final String reservationId = new UUID(buffer.getLong(), buffer.getLong()).toString();
+				final int productId = buffer.getInt();
+				final int delta = buffer.getInt();
+				if (recordSequence > afterSequence) {
+					records.add(new Record(reservationId, productId, delta));
+					lastSequence = Math.max(lastSequence, recordSequence);
+				}
+			}
+		}
+		return new Replay(records, lastSequence);
+	}
+	
+	public void open(final long lastSequence) {
+		this.sequence.set(lastSequence);
+		this.segment = this.newSegment(lastSequence + 1);
+	}
+	
+	public long append(final String reservationId, final int productId, final int delta) {
+		final UUID reservationUuid = UUID.fromString(reservationId);
+		final Segment current = this.segment;
+		final long recordSequence = this.sequence.incrementAndGet();
+		final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+				.putLong(recordSequence)
+				.putLong(reservationUuid.getMostSignificantBits())
+				.putLong(reservationUuid.getLeastSignificantBits())
+				.putInt(productId)
+				.putInt(delta)
+				.flip();
+		try {
+			long position = (recordSequence - current.getFirstSequence()) * RECORD_SIZE;
+			while (record.hasRemaining())
+				position += current.getChannel().write(record, position);
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return recordSequence;
+	}
+	
+	public long rotate() {
+		final Segment sealed = this.segment;
+		final long lastSequence = this.sequence.get();
+		this.segment = this.newSegment(lastSequence + 1);
+		close(sealed);
+		return lastSequence;
+	}
+	
+	public void force() {
+		try {
+			this.segment.getChannel().force(false);
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	public void truncate(final long checkpoint) {
+		final List<Path> segments = this.segments();
+		for (int i = 0; i + 1 < segments.size(); i++) {
+			if (firstSequence(segments.get(i + 1)) - 1 > checkpoint)
+				break;
+			try {
+				Files.deleteIfExists(segments.get(i));
+			}
+			catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	@Override
+	public void close() {
+		if (this.segment != null)
+			close(this.segment);
+	}
+	
+	private Segment newSegment(final long firstSequence) {
+		try {
+			return new Segment(firstSequence, FileChannel.open(this.directory.resolve(String
+					.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX)), 
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE));
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private List<Path> segments() {
+		try (final Stream<Path> paths = Files.list(this.directory)) {
+			return paths
+					.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+					.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static long firstSequence(final Path path) {
+		final String fileName = path.getFileName().toString();
+		return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+	}
+	
+	private static void close(final Segment segment) {
+		try {
+			segment.getChannel().force(false);
+			segment.getChannel().close();
+		}
+		catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	private static class Segment {
+		
+		private final long firstSequence;
+		private final FileChannel channel;
+		
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static class Record {
+		
+		private final String reservationId;
+		private final int productId;
+		private final int delta;
+		
+	}
+	
+	@Getter
+	@AllArgsConstructor
+	public static class Replay {
+		
+		private final List<Record> records;
+		private final long lastSequence;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,93 @@
+package com.selimhorri.app.stock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class StripedStockCounter {
+	
+	private static final int CELL_PADDING = 16;
+	
+	private final AtomicLongArray cells;
+	private final AtomicLong debt = new AtomicLong();
+	private final int mask;
+	
+	public StripedStockCounter(final int stripes, final long quantity) {
+		final int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+		this.cells = new AtomicLongArray(size * CELL_PADDING);
+		this.mask = size - 1;
+		this.reset(quantity);
+	}
+	
+	public void reset(final long quantity) {
+		final long available = Math.max(0L, quantity);
+		final int size = this.mask + 1;
+		for (int stripe = 0; stripe < size; stripe++)
+			this.cells.set(stripe * CELL_PADDING, available / size + (stripe < available % size ? 1 : 0));
+		this.debt.set(available - quantity);
+	}
+	
+	public boolean tryDecrement(final long quantity) {
+		final int home = home();
+		long taken = 0L;
+		for (int i = 0; i <= this.mask && taken < quantity; i++) {
+			final int cell = ((home + i) & this.mask) * CELL_PADDING;
+			long available = this.cells.get(cell);
+			while (available > 0L) {
+				final long take = Math.min(available, quantity - taken);
+				final long witness = this.cells.compareAndExchange(cell, available, available - take);
+				if (witness == available) {
+					taken += take;
+					break;
+				}
+				available = witness;
+			}
+		}
+		if (taken == quantity)
+			return true;
+		if (taken > 0L)
+			this.add(taken);
+		return false;
+	}
+	
+	public void add(final long quantity) {
+		long remaining = quantity;
+		long owed = this.debt.get();
+		while (owed > 0L && remaining > 0L) {
+			final long repay = Math.min(owed, remaining);
+			final long witness = this.debt.compareAndExchange(owed, owed - repay);
+			if (witness == owed)
+				remaining -= repay;
+			owed = this.debt.get();
+		}
+		if (remaining > 0L)
+			this.cells.getAndAdd((home() & this.mask) * CELL_PADDING, remaining);
+	}
+	
+	public long get() {
+		long quantity = -this.debt.get();
+		for (int stripe = 0; stripe <= this.mask; stripe++)
+			quantity += this.cells.get(stripe * CELL_PADDING);
+		return quantity;
+	}
+	
+	public int stripes() {
+		return this.mask + 1;
+	}
+	
+	private static int home() {
+		return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 40);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,117 @@
+package com.selimhorri.app.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+
+public final class CategoryTree {
+	
+	private static final Pattern PATH_SEPARATOR = Pattern.compile("/");
+	
+	private final Map<Integer, Node> nodes;
+	
+	private CategoryTree(final Map<Integer, Node> nodes) {
+		this.nodes = nodes;
+	}
+	
+	public static CategoryTree of(final List<Category> categories) {
+		final Map<Integer, Node> nodes = new HashMap<>();
+		categories.forEach(category -> nodes.put(category.getCategoryId(), new Node(category, parentId(category.getCategoryPath()))));
+		nodes.values()
+				.stream()
+					.filter(node -> node.getParentId() != null && nodes.containsKey(node.getParentId()))
+					.sorted((left, right) -> left.getCategoryId().compareTo(right.getCategoryId()))
+					.forEach(node -> nodes.get(node.getParentId()).getChildIds().add(node.getCategoryId()));
+		return new CategoryTree(Collections.unmodifiableMap(nodes));
+	}
+	
+	public Optional<CategoryDto> subtree(final Integer categoryId) {
+		return Optional.ofNullable(this.nodes.get(categoryId))
+				.map(node -> {
+					final Node parent = node.getParentId() == null ? null : this.nodes.get(node.getParentId());
+					final CategoryDto categoryDto = this.nested(node);
+					categoryDto.setParentCategoryDto(parent == null ? new CategoryDto() : parent.flat());
+					return categoryDto;
+				});
+	}
+	
+	public int size() {
+		return this.nodes.size();
+	}
+	
+	private CategoryDto nested(final Node node) {
+		final CategoryDto categoryDto = node.flat();
+		if (!node.getChildIds().isEmpty()) {
+			final Set<CategoryDto> subCategoriesDtos = new LinkedHashSet<>();
+			node.getChildIds().forEach(childId -> subCategoriesDtos.add(this.nested(this.nodes.get(childId))));
+			categoryDto.setSubCategoriesDtos(subCategoriesDtos);
+		}
+		return categoryDto;
+	}
+	
+	private static Integer parentId(final String categoryPath) {
+		if (categoryPath == null)
+			return null;
+		final String[] ids = PATH_SEPARATOR.split(categoryPath.substring(1));
+		return ids.length < 2 ? null : Integer.valueOf(ids[ids.length - 2]);
+	}
+	
+	private static final class Node {
+		
+		private final Integer categoryId;
+		private final String categoryTitle;
+		private final String imageUrl;
+		private final Integer parentId;
+		private final List<Integer> childIds = new ArrayList<>();
+		
+		Node(final Category category, final Integer parentId) {
+			this.categoryId = category.getCategoryId();
+			this.categoryTitle = category.getCategoryTitle();
+			this.imageUrl = category.getImageUrl();
+			this.parentId = parentId;
+		}
+		
+		Integer getCategoryId() {
+			return this.categoryId;
+		}
+		
+		Integer getParentId() {
+			return this.parentId;
+		}
+		
+		List<Integer> getChildIds() {
+			return this.childIds;
+		}
+		
+		CategoryDto flat() {
+			return CategoryDto.builder()
+					.categoryId(this.categoryId)
+					.categoryTitle(this.categoryTitle)
+					.imageUrl(this.imageUrl)
+					.build();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.tree;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.repository.CategoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTreeLoader {
+	
+	private final CategoryRepository categoryRepository;
+	
+	@Cacheable(cacheNames = AppConstant.CATEGORY_TREE_CACHE, key = "'snapshot'")
+	public CategoryTree load() {
+		log.info("*** CategoryTree, loader; load category tree snapshot *");
+		return CategoryTree.of(this.categoryRepository.findAllOrderByCategoryPath());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,10 @@
+
+CREATE TABLE hot_stock_leases (
+	lease_id INT(11) NOT NULL PRIMARY KEY,
+	owner_id VARCHAR(36),
+	owner_url VARCHAR(255),
+	leased_until TIMESTAMP
+);
+
+INSERT INTO hot_stock_leases (lease_id) VALUES (1);
+
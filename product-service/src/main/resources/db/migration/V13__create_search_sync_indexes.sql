@@ -0,0 +1,6 @@
+CREATE INDEX idx_products_updated_at ON products (updated_at);
+
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
+
+CREATE INDEX idx_outbox_events_event_type_occurred_at ON outbox_events (event_type, occurred_at);
+
@@ -0,0 +1,22 @@
+
+ALTER TABLE categories
+  ADD COLUMN category_path VARCHAR(255);
+
+MERGE INTO categories c
+USING (
+  WITH RECURSIVE category_tree (category_id, category_path) AS (
+    SELECT category_id, CONCAT('/', category_id, '/')
+    FROM categories
+    WHERE parent_category_id IS NULL
+    UNION ALL
+    SELECT child.category_id, CONCAT(parent.category_path, child.category_id, '/')
+    FROM categories child
+    JOIN category_tree parent ON child.parent_category_id = parent.category_id
+  )
+  SELECT category_id, category_path FROM category_tree
+) t
+ON c.category_id = t.category_id
+WHEN MATCHED THEN UPDATE SET c.category_path = t.category_path;
+
+CREATE INDEX idx_categories_category_path ON categories (category_path);
+
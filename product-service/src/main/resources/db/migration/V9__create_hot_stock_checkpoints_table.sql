@@ -0,0 +1,9 @@
+
+CREATE TABLE hot_stock_checkpoints (
+	checkpoint_id INT(11) NOT NULL PRIMARY KEY,
+	last_sequence BIGINT NOT NULL,
+	updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT
+);
+
+INSERT INTO hot_stock_checkpoints (checkpoint_id, last_sequence) VALUES (1, 0);
+
@@ -0,0 +1,61 @@
+package com.selimhorri.app.config.thread;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@DisplayName("VirtualThreadConfig Unit Tests")
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    @DisplayName("Should keep the platform thread pool unless virtual threads are enabled")
+    void shouldKeepPlatformThreadPoolByDefault() {
+        contextRunner.run(context -> {
+            assertFalse(context.containsBean("virtualThreadExecutor"));
+            assertTrue(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                    instanceof ThreadPoolTaskExecutor);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fail fast when enabled on a runtime without virtual threads")
+    void shouldFailFastWithoutVirtualThreads() {
+        assumeTrue(Runtime.version().feature() < 21);
+
+        contextRunner.withPropertyValues("app.virtual-threads.enabled=true").run(context -> {
+            assertNotNull(context.getStartupFailure());
+            assertTrue(context.getStartupFailure().getMessage().contains("requires a Java 21+ runtime"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should run request and async work on virtual threads when enabled")
+    void shouldRunOnVirtualThreadsWhenEnabled() {
+        assumeTrue(Runtime.version().feature() >= 21);
+
+        contextRunner.withPropertyValues("app.virtual-threads.enabled=true").run(context -> {
+            assertNotNull(context.getBean("virtualThreadExecutor", ExecutorService.class));
+            final AsyncTaskExecutor applicationTaskExecutor = context.getBean(
+                    TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            assertTrue(applicationTaskExecutor instanceof TaskExecutorAdapter);
+            assertEquals(Boolean.TRUE, applicationTaskExecutor.submit(() -> Thread.class
+                    .getMethod("isVirtual")
+                    .invoke(Thread.currentThread())).get());
+        });
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.selimhorri.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.repository.OutboxRelayLockRepository;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxPublisher.class, OutboxRelay.class, OutboxRelayLockRepository.class, OutboxProperties.class,
+        MapperConfig.class, OutboxRelayTest.RecordingTransportConfig.class})
+@DisplayName("OutboxRelay Delivery Tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private RecordingOutboxTransport outboxTransport;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        this.outboxTransport.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.outboxProperties.setBatchSize(500);
+        this.jdbcTemplate.update("DELETE FROM outbox_events");
+    }
+
+    @Test
+    @DisplayName("Should relay committed events in write order across several batches")
+    void shouldRelayCommittedEventsInOrder() {
+        // Given
+        this.outboxProperties.setBatchSize(2);
+        this.publish(OutboxEventType.PRODUCT_CREATED, 1);
+        this.publish(OutboxEventType.PRODUCT_CREATED, 2);
+        this.publish(OutboxEventType.PRODUCT_UPDATED, 1);
+        this.publish(OutboxEventType.PRODUCT_DELETED, 2);
+
+        // When
+        this.outboxRelay.relay();
+        this.outboxRelay.relay();
+
+        // Then
+        assertEquals(List.of(2, 2), this.outboxTransport.batchSizes);
+        assertEquals(List.of("ProductCreated:1", "ProductCreated:2", "ProductUpdated:1", "ProductDeleted:2"),
+                this.outboxTransport.delivered.stream()
+                        .map(outboxMessage -> outboxMessage.getEventType() + ":" + outboxMessage.getAggregateId())
+                        .collect(Collectors.toList()));
+        assertEquals(1, this.outboxTransport.delivered.get(0).getPayload().get("productId").asInt());
+        assertEquals(0, this.unpublished());
+    }
+
+    @Test
+    @DisplayName("Should not relay an event whose business transaction rolled back")
+    void shouldDropEventsOfRolledBackTransactions() {
+        // Given
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> {
+            this.outboxPublisher.publish(OutboxEventType.PRODUCT_CREATED, 1, Map.of("productId", 1));
+            status.setRollbackOnly();
+        });
+
+        // When
+        this.outboxRelay.relay();
+
+        // Then
+        assertTrue(this.outboxTransport.delivered.isEmpty());
+        assertEquals(0, this.count());
+    }
+
+    @Test
+    @DisplayName("Should refuse to record an event outside a business transaction")
+    void shouldRequireSurroundingTransaction() {
+        // When / Then
+        assertThrows(RuntimeException.class,
+                () -> this.outboxPublisher.publish(OutboxEventType.PRODUCT_CREATED, 1, Map.of("productId", 1)));
+        assertEquals(0, this.count());
+    }
+
+    @Test
+    @DisplayName("Should keep events pending when the transport fails and redeliver them on the next relay")
+    void shouldRedeliverAfterTransportFailure() {
+        // Given
+        this.publish(OutboxEventType.PRODUCT_CREATED, 1);
+        this.outboxTransport.failures = 1;
+
+        // When
+        this.outboxRelay.relay();
+        final int pendingAfterFailure = this.unpublished();
+        this.outboxRelay.relay();
+
+        // Then
+        assertEquals(1, pendingAfterFailure);
+        assertEquals(1, this.outboxTransport.delivered.size());
+        assertEquals(0, this.unpublished());
+    }
+
+    @Test
+    @DisplayName("Should deliver each event once when two instances relay the same outbox table at the same time")
+    void shouldDeliverOnceAcrossConcurrentRelays() throws Exception {
+        // Given
+        this.publish(OutboxEventType.PRODUCT_CREATED, 1);
+        this.publish(OutboxEventType.PRODUCT_CREATED, 2);
+        this.publish(OutboxEventType.PRODUCT_UPDATED, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        this.outboxTransport.sending = new CountDownLatch(1);
+        this.outboxTransport.release = release;
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // When
+        final Future<?> first = executorService.submit(() -> this.outboxRelay.relay());
+        assertTrue(this.outboxTransport.sending.await(5, TimeUnit.SECONDS));
+        final Future<?> second = executorService.submit(() -> this.outboxRelay.relay());
+        Thread.sleep(200);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertEquals(List.of(3), this.outboxTransport.batchSizes);
+        assertEquals(3L, this.outboxTransport.delivered.stream()
+                .map(OutboxMessage::getEventId)
+                .distinct()
+                .count());
+        assertEquals(0, this.unpublished());
+    }
+
+    private void publish(final OutboxEventType outboxEventType, final Integer productId) {
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status ->
+                this.outboxPublisher.publish(outboxEventType, productId, Map.of("productId", productId)));
+    }
+
+    private int count() {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+    }
+
+    private int unpublished() {
+        return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL",
+                Integer.class);
+    }
+
+    @TestConfiguration
+    static class RecordingTransportConfig {
+
+        @Bean
+        RecordingOutboxTransport recordingOutboxTransport() {
+            return new RecordingOutboxTransport();
+        }
+
+    }
+
+    static class RecordingOutboxTransport implements OutboxTransport {
+
+        private final List<OutboxMessage> delivered = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private int failures;
+        private CountDownLatch sending;
+        private CountDownLatch release;
+
+        @Override
+        public void send(final List<OutboxMessage> outboxMessages) {
+            final CountDownLatch blocking = this.release;
+            if (blocking != null) {
+                this.release = null;
+                this.sending.countDown();
+                try {
+                    blocking.await(5, TimeUnit.SECONDS);
+                }
+                catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (this.failures > 0) {
+                this.failures--;
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            this.delivered.addAll(outboxMessages);
+            this.batchSizes.add(outboxMessages.size());
+        }
+
+        void reset() {
+            this.delivered.clear();
+            this.batchSizes.clear();
+            this.failures = 0;
+            this.sending = null;
+            this.release = null;
+        }
+
+    }
+
+}
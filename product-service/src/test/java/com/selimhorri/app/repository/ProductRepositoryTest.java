@@ -0,0 +1,212 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.tree.CategoryTree;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("ProductRepository / CategoryRepository Query Count Tests")
+class ProductRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Statistics statistics;
+
+    private final List<Category> categories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The root holds no products, so nothing loads it unless a lazy association is initialized
+        Category parentCategory = this.testEntityManager.persist(Category.builder()
+                .categoryTitle("Catalog")
+                .build());
+        parentCategory.setCategoryPath("/" + parentCategory.getCategoryId() + "/");
+        for (int i = 0; i < 5; i++) {
+            final Category category = this.testEntityManager.persist(Category.builder()
+                    .categoryTitle("Category " + i)
+                    .parentCategory(parentCategory)
+                    .build());
+            category.setCategoryPath(parentCategory.getCategoryPath() + category.getCategoryId() + "/");
+            this.categories.add(category);
+            for (int j = 0; j < 4; j++) {
+                this.testEntityManager.persist(Product.builder()
+                        .productTitle("Product " + i + "-" + j)
+                        .sku("SKU-" + i + "-" + j)
+                        .priceUnit(9.99)
+                        .quantity(10)
+                        .category(category)
+                        .build());
+            }
+            parentCategory = category;
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        this.statistics = this.testEntityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load and map every product with its category in a single statement")
+    void shouldFindAllProductsInSingleStatement() {
+        // When
+        final List<ProductDto> productDtos = this.productRepository.findAll().stream()
+                .map(ProductMappingHelper::map)
+                .collect(Collectors.toList());
+
+        // Then
+        assertTrue(productDtos.size() >= 20);
+        assertTrue(productDtos.stream().allMatch(p -> p.getCategoryDto().getCategoryTitle() != null));
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load and map every category with its parent in a single statement")
+    void shouldFindAllCategoriesInSingleStatement() {
+        // When
+        final List<CategoryDto> categoryDtos = this.categoryRepository.findAll().stream()
+                .map(CategoryMappingHelper::map)
+                .collect(Collectors.toList());
+
+        // Then
+        assertTrue(categoryDtos.size() >= 6);
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load a product with its category in a single statement")
+    void shouldFindProductByIdInSingleStatement() {
+        // Given
+        final Integer productId = this.productRepository.findAll().get(0).getProductId();
+        this.testEntityManager.clear();
+        this.statistics.clear();
+
+        // When
+        final ProductDto productDto = ProductMappingHelper.map(this.productRepository.findById(productId).orElseThrow());
+
+        // Then
+        assertNotNull(productDto.getCategoryDto().getCategoryTitle());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should leave the category of a product unloaded until it is accessed")
+    void shouldLoadProductCategoryLazily() {
+        // Given
+        final Integer categoryId = this.categories.get(0).getCategoryId();
+        final Integer productId = this.productRepository.findAll().stream()
+                .filter(p -> p.getCategory().getCategoryId().equals(categoryId))
+                .findFirst()
+                .orElseThrow()
+                .getProductId();
+        this.testEntityManager.clear();
+        this.statistics.clear();
+
+        // When
+        final Product product = this.testEntityManager.find(Product.class, productId);
+
+        // Then
+        assertFalse(Hibernate.isInitialized(product.getCategory()));
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals("Category 0", product.getCategory().getCategoryTitle());
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should leave the parent of a category unloaded until it is accessed")
+    void shouldLoadParentCategoryLazily() {
+        // When
+        final Category category = this.testEntityManager.find(Category.class, this.categories.get(0).getCategoryId());
+
+        // Then
+        assertFalse(Hibernate.isInitialized(category.getParentCategory()));
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+        assertEquals("Catalog", category.getParentCategory().getCategoryTitle());
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should page products across a category subtree in a single statement per page")
+    void shouldFindProductsByCategorySubtreeInSingleStatement() {
+        // Given
+        final Integer categoryId = this.categories.get(2).getCategoryId();
+
+        // When
+        final List<ProductDto> firstPage = this.productRepository
+                .findByCategorySubtreeAndProductIdGreaterThan(categoryId, Integer.MIN_VALUE, PageRequest.of(0, 10))
+                .stream()
+                .map(ProductMappingHelper::map)
+                .collect(Collectors.toList());
+        final List<Product> secondPage = this.productRepository.findByCategorySubtreeAndProductIdGreaterThan(categoryId,
+                firstPage.get(firstPage.size() - 1).getProductId(), PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(10, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(firstPage.stream().allMatch(p -> p.getCategoryDto().getCategoryTitle().matches("Category [234]")));
+        assertEquals(2, this.statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should rewrite the materialized path of a moved subtree in one update")
+    void shouldMoveSubtreePaths() {
+        // Given
+        final Category movedCategory = this.categories.get(3);
+        final Category leafCategory = this.categories.get(4);
+        final String newPath = "/" + movedCategory.getCategoryId() + "/";
+
+        // When
+        final int updated = this.categoryRepository.moveSubtree(movedCategory.getCategoryPath(), newPath);
+
+        // Then
+        assertEquals(2, updated);
+        assertEquals(newPath, this.categoryRepository.findCategoryPathByCategoryId(movedCategory.getCategoryId()).orElseThrow());
+        assertEquals(newPath + leafCategory.getCategoryId() + "/",
+                this.categoryRepository.findCategoryPathByCategoryId(leafCategory.getCategoryId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should build the category tree snapshot in a single statement")
+    void shouldBuildCategoryTreeInSingleStatement() {
+        // When
+        final CategoryTree categoryTree = CategoryTree.of(this.categoryRepository.findAllOrderByCategoryPath());
+        final CategoryDto subtree = categoryTree.subtree(this.categories.get(3).getCategoryId()).orElseThrow();
+
+        // Then
+        assertEquals(this.categories.get(2).getCategoryId(), subtree.getParentCategoryDto().getCategoryId());
+        assertEquals("Category 4", subtree.getSubCategoriesDtos().iterator().next().getCategoryTitle());
+        assertEquals(1, this.statistics.getPrepareStatementCount());
+    }
+
+}
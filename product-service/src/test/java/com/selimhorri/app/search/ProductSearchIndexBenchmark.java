@@ -0,0 +1,112 @@
+package com.selimhorri.app.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+/**
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@jmh}; pass JMH options through {@code -Djmh.args}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] BRANDS = {"acme", "globex", "initech", "umbrella", "stark", "wayne", "wonka", "tyrell"};
+    private static final String[] ADJECTIVES = {"gaming", "wireless", "compact", "premium", "portable", "smart", "classic", "ultra"};
+    private static final String[] NOUNS = {"laptop", "mouse", "keyboard", "monitor", "headset", "speaker", "camera", "router",
+            "tablet", "charger", "printer", "drive"};
+    private static final int PAGE_SIZE = 20;
+
+    @Param("1000000")
+    private int products;
+
+    private ProductSearchIndex productSearchIndex;
+    private List<ProductDto> catalogue;
+    private int nextProductId;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        productSearchIndex = new ProductSearchIndex();
+        catalogue = new ArrayList<>(products);
+        for (int productId = 1; productId <= products; productId++) {
+            ProductDto productDto = product(productId, random);
+            productSearchIndex.put(productDto);
+            catalogue.add(productDto);
+        }
+        nextProductId = products;
+    }
+
+    @Benchmark
+    public List<ProductDto> termQuery() {
+        return productSearchIndex.search("wireless headset", null, null, null, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ProductDto> prefixQuery() {
+        return productSearchIndex.search("stark mon", null, null, null, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ProductDto> filteredQuery() {
+        return productSearchIndex.search("laptop", 7, 500.0, 900.0, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ProductDto> deepPage() {
+        return productSearchIndex.search("camera", null, null, null, products / 2, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ProductDto> linearScanBaseline() {
+        return catalogue.stream()
+                .filter(productDto -> productDto.getProductTitle().toLowerCase(Locale.ROOT).contains("wireless")
+                        && productDto.getProductTitle().toLowerCase(Locale.ROOT).contains("headset"))
+                .limit(PAGE_SIZE + 1)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int reindexProduct() {
+        int productId = 1 + (nextProductId++ % products);
+        productSearchIndex.put(product(productId, new SplittableRandom(productId)));
+        return productSearchIndex.size();
+    }
+
+    private static ProductDto product(int productId, SplittableRandom random) {
+        String title = String.join(" ", BRANDS[random.nextInt(BRANDS.length)],
+                ADJECTIVES[random.nextInt(ADJECTIVES.length)], NOUNS[random.nextInt(NOUNS.length)],
+                "v" + random.nextInt(100));
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(title)
+                .sku(String.format("SKU-%08d", productId))
+                .priceUnit(Math.round(random.nextDouble(5.0, 2500.0) * 100.0) / 100.0)
+                .quantity(random.nextInt(500))
+                .categoryDto(CategoryDto.builder().categoryId(1 + random.nextInt(50)).build())
+                .build();
+    }
+
+}
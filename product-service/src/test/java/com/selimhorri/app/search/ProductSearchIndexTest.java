@@ -0,0 +1,141 @@
+package com.selimhorri.app.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.put(product(1, "Gaming Laptop Pro", "LAP-001", 1500.0, 10));
+        productSearchIndex.put(product(2, "Office Laptop", "LAP-002", 700.0, 10));
+        productSearchIndex.put(product(3, "Wireless Mouse", "MOU-001", 25.0, 20));
+        productSearchIndex.put(product(4, "Gaming Mouse", "MOU-002", 60.0, 20));
+        productSearchIndex.put(product(5, "Laptop Stand", "ACC-001", 40.0, 30));
+    }
+
+    @Test
+    @DisplayName("Should match every query term and prefix-match the last one")
+    void shouldMatchTermsAndPrefix() {
+        // When
+        List<Integer> gaming = ids(productSearchIndex.search("gaming lap", null, null, null, null, 10));
+        List<Integer> laptops = ids(productSearchIndex.search("LAPTOP", null, null, null, null, 10));
+
+        // Then
+        assertEquals(List.of(1), gaming);
+        assertEquals(List.of(1, 2, 5), laptops);
+    }
+
+    @Test
+    @DisplayName("Should match SKU prefixes alongside title terms")
+    void shouldMatchSkuPrefix() {
+        // When
+        List<Integer> results = ids(productSearchIndex.search("mou-", null, null, null, null, 10));
+
+        // Then
+        assertEquals(List.of(3, 4), results);
+    }
+
+    @Test
+    @DisplayName("Should intersect query, category and price range filters")
+    void shouldIntersectFilters() {
+        // When
+        List<Integer> results = ids(productSearchIndex.search("laptop", 10, 500.0, 1000.0, null, 10));
+        List<Integer> cheap = ids(productSearchIndex.search(null, null, null, 50.0, null, 10));
+
+        // Then
+        assertEquals(List.of(2), results);
+        assertEquals(List.of(3, 5), cheap);
+    }
+
+    @Test
+    @DisplayName("Should page in product id order after the given id")
+    void shouldPageAfterProductId() {
+        // When
+        List<Integer> firstPage = ids(productSearchIndex.search(null, null, null, null, null, 2));
+        List<Integer> secondPage = ids(productSearchIndex.search(null, null, null, null, 2, 2));
+
+        // Then
+        assertEquals(List.of(1, 2), firstPage);
+        assertEquals(List.of(3, 4), secondPage);
+    }
+
+    @Test
+    @DisplayName("Should drop stale postings when a product is updated or removed")
+    void shouldReindexOnUpdateAndRemove() {
+        // Given
+        productSearchIndex.put(product(2, "Office Desk", "DSK-001", 300.0, 30));
+        productSearchIndex.remove(3);
+
+        // When
+        List<Integer> laptops = ids(productSearchIndex.search("laptop", null, null, null, null, 10));
+        List<Integer> desks = ids(productSearchIndex.search("desk", 30, null, null, null, 10));
+        List<Integer> mice = ids(productSearchIndex.search("mouse", null, null, null, null, 10));
+
+        // Then
+        assertEquals(List.of(1, 5), laptops);
+        assertEquals(List.of(2), desks);
+        assertEquals(List.of(4), mice);
+        assertEquals(List.of(2, 5), productSearchIndex.productIdsByCategoryId(30));
+        assertEquals(4, productSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Should return nothing when no product matches")
+    void shouldReturnEmptyForNoMatch() {
+        // When
+        List<ProductDto> results = productSearchIndex.search("keyboard", null, null, null, null, 10);
+
+        // Then
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through a price range spanning hundreds of distinct prices in product id order")
+    void shouldPageWidePriceRange() {
+        // Given
+        for (int productId = 100; productId < 400; productId++)
+            productSearchIndex.put(product(productId, "Cable " + productId, "CBL-" + productId, 100.0 + (productId % 250), 40));
+
+        // When
+        List<Integer> firstPage = ids(productSearchIndex.search(null, null, 150.0, 300.0, 5, 3));
+        List<Integer> secondPage = ids(productSearchIndex.search(null, null, 150.0, 300.0, firstPage.get(2), 3));
+        List<Integer> narrowed = ids(productSearchIndex.search("cable", 40, 340.0, 345.0, 241, 10));
+
+        // Then
+        assertEquals(List.of(100, 101, 102), firstPage);
+        assertEquals(List.of(103, 104, 105), secondPage);
+        assertEquals(List.of(242, 243, 244, 245), narrowed);
+    }
+
+    private static List<Integer> ids(List<ProductDto> productDtos) {
+        return productDtos.stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+    private static ProductDto product(int productId, String title, String sku, double price, int categoryId) {
+        return ProductDto.builder()
+                .productId(productId)
+                .productTitle(title)
+                .sku(sku)
+                .priceUnit(price)
+                .quantity(1)
+                .categoryDto(CategoryDto.builder().categoryId(categoryId).build())
+                .build();
+    }
+
+}
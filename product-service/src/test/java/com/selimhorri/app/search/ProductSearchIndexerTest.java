@@ -0,0 +1,142 @@
+package com.selimhorri.app.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.search.SearchProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductRevisionRepository;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductSearchIndexer.class, ProductSearchIndex.class, ProductRevisionRepository.class, BatchProperties.class,
+        SearchProperties.class})
+@DisplayName("ProductSearchIndexer Sync Tests")
+class ProductSearchIndexerTest {
+
+    @Autowired
+    private ProductSearchIndexer productSearchIndexer;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRevisionRepository productRevisionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+    private Integer editedProductId;
+    private Integer deletedProductId;
+
+    @BeforeEach
+    void setUp() {
+        this.category = this.categoryRepository.save(Category.builder()
+                .categoryTitle("Lighting")
+                .build());
+        this.editedProductId = this.product("Syncable Lamp").getProductId();
+        this.deletedProductId = this.product("Syncable Chair").getProductId();
+        this.productSearchIndexer.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id = ?", String.valueOf(this.deletedProductId));
+        this.jdbcTemplate.update("DELETE FROM products WHERE category_id = ?", this.category.getCategoryId());
+        this.categoryRepository.deleteById(this.category.getCategoryId());
+    }
+
+    @Test
+    @DisplayName("Should pick up inserts, edits, deletes and category renames committed by other instances")
+    void shouldSyncChangesMadeElsewhere() {
+        // Given
+        final Timestamp now = Timestamp.from(Instant.now());
+        this.jdbcTemplate.update("UPDATE products SET product_title = ?, version = version + 1, updated_at = ? WHERE product_id = ?",
+                "Syncable Desk", now, this.editedProductId);
+        this.jdbcTemplate.update("DELETE FROM products WHERE product_id = ?", this.deletedProductId);
+        this.jdbcTemplate.update("INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, occurred_at) "
+                + "VALUES ('Product', ?, 'ProductDeleted', '{}', ?)", String.valueOf(this.deletedProductId), now);
+        final Integer insertedProductId = this.product("Syncable Shelf").getProductId();
+        this.jdbcTemplate.update("UPDATE categories SET category_title = ?, updated_at = ? WHERE category_id = ?",
+                "Furniture", now, this.category.getCategoryId());
+        final List<Integer> beforeSync = this.ids(this.productSearchIndex.search("syncable", null, null, null, null, 10));
+
+        // When
+        this.productSearchIndexer.sync();
+        final List<ProductDto> afterSync = this.productSearchIndex.search("syncable", null, null, null, null, 10);
+
+        // Then
+        assertEquals(List.of(this.editedProductId, this.deletedProductId), beforeSync);
+        assertEquals(List.of(this.editedProductId, insertedProductId), this.ids(afterSync));
+        assertEquals("Syncable Desk", afterSync.get(0).getProductTitle());
+        assertTrue(afterSync.stream().allMatch(productDto -> "Furniture".equals(productDto.getCategoryDto().getCategoryTitle())));
+        assertTrue(this.productSearchIndex.search("chair", null, null, null, null, 10).isEmpty());
+        final Map<Integer, ProductRevision> stored = this.productRevisionRepository.findChangedSince(now.toInstant());
+        assertEquals(stored, this.productSearchIndex.revisions(stored.keySet()));
+    }
+
+    @Test
+    @DisplayName("Should leave products and categories untouched since the sync window out of the feed")
+    void shouldOnlyReadRecentChanges() {
+        // Given
+        final Timestamp longAgo = Timestamp.from(Instant.now().minus(Duration.ofHours(1)));
+        this.jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE category_id = ?", longAgo,
+                this.category.getCategoryId());
+        this.jdbcTemplate.update("UPDATE categories SET updated_at = ? WHERE category_id = ?", longAgo,
+                this.category.getCategoryId());
+
+        // When
+        final Map<Integer, ProductRevision> changed = this.productRevisionRepository
+                .findChangedSince(Instant.now().minus(Duration.ofMinutes(1)));
+
+        // Then
+        assertFalse(changed.containsKey(this.editedProductId));
+        assertFalse(changed.containsKey(this.deletedProductId));
+    }
+
+    private Product product(final String productTitle) {
+        return this.productRepository.save(Product.builder()
+                .productTitle(productTitle)
+                .sku("SKU-" + System.nanoTime())
+                .priceUnit(19.99)
+                .quantity(5)
+                .category(this.category)
+                .build());
+    }
+
+    private List<Integer> ids(final List<ProductDto> productDtos) {
+        return productDtos.stream()
+                .map(ProductDto::getProductId)
+                .collect(Collectors.toList());
+    }
+
+}
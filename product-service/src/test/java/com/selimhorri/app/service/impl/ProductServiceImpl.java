@@ -3,11 +3,16 @@ package com.selimhorri.app.service.impl;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,14 +20,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.ProductChangedEvent;
+import com.selimhorri.app.exception.wrapper.InvalidCursorException;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.CursorHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ProductServiceImpl Unit Tests")
@@ -31,6 +48,24 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Spy
+    private ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -72,24 +107,113 @@ class ProductServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should return all products when findAll is called")
-    void shouldReturnAllProducts() {
+    @DisplayName("Should return a page of products with a cursor to the next one")
+    void shouldReturnFirstPageWithNextCursor() {
+        // Given
+        Product secondProduct = Product.builder()
+                .productId(2)
+                .productTitle("Second Product")
+                .category(mockCategory)
+                .build();
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(Integer.MIN_VALUE, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(mockProduct, secondProduct));
+
+        // When
+        DtoCollectionResponse<ProductDto> result = productService.findAll(null, 1);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(1, result.getPageSize());
+        assertEquals(CursorHelper.encode(1), result.getNextCursor());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should resume after the cursor and cap the page size")
+    void shouldResumeAfterCursorAndCapPageSize() {
+        // Given
+        int maxSize = paginationProperties.getMaxSize();
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(1, PageRequest.of(0, maxSize + 1)))
+                .thenReturn(Arrays.asList(mockProduct));
+
+        // When
+        DtoCollectionResponse<ProductDto> result = productService.findAll(CursorHelper.encode(1), maxSize * 10);
+
+        // Then
+        assertEquals(1, result.getCollection().size());
+        assertEquals(maxSize, result.getPageSize());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> productService.findAll("not-a-cursor", 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should page search results from the index without touching the repository")
+    void shouldPageSearchResultsFromIndex() {
+        // Given
+        productSearchIndex.put(mockProductDto);
+        productSearchIndex.put(ProductDto.builder()
+                .productId(2)
+                .productTitle("Test Product Case")
+                .priceUnit(5.0)
+                .categoryDto(mockProductDto.getCategoryDto())
+                .build());
+
+        // When
+        DtoCollectionResponse<ProductDto> firstPage = productService.search("test", 1, null, null, null, 1);
+        DtoCollectionResponse<ProductDto> secondPage = productService
+                .search("test", 1, null, null, firstPage.getNextCursor(), 1);
+
+        // Then
+        assertEquals(1, firstPage.getCollection().iterator().next().getProductId());
+        assertEquals(CursorHelper.encode(1), firstPage.getNextCursor());
+        assertEquals(2, secondPage.getCollection().iterator().next().getProductId());
+        assertNull(secondPage.getNextCursor());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream every product and detach it once exported")
+    void shouldStreamAndDetachExportedProducts() {
         // Given
-        List<Product> products = Arrays.asList(mockProduct);
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.streamAllWithCategory()).thenReturn(Stream.of(mockProduct));
+        List<ProductDto> exported = new ArrayList<>();
 
         // When
-        List<ProductDto> result = productService.findAll();
+        productService.exportAll(exported::add);
+
+        // Then
+        assertEquals(1, exported.size());
+        assertEquals("Electronics", exported.get(0).getCategoryDto().getCategoryTitle());
+        verify(entityManager).detach(mockCategory);
+        verify(entityManager).detach(mockProduct);
+    }
+
+    @Test
+    @DisplayName("Should map every product field and its category on a page")
+    void shouldMapProductsOnPage() {
+        // Given
+        when(productRepository.findByProductIdGreaterThanOrderByProductIdAsc(Integer.MIN_VALUE, PageRequest.of(0, 21)))
+                .thenReturn(List.of(mockProduct));
+
+        // When
+        DtoCollectionResponse<ProductDto> result = productService.findAll(null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Product", result.get(0).getProductTitle());
-        assertEquals("TEST-SKU-001", result.get(0).getSku());
-        assertEquals(99.99, result.get(0).getPriceUnit());
-        assertEquals(50, result.get(0).getQuantity());
-        assertEquals("Electronics", result.get(0).getCategoryDto().getCategoryTitle());
-        verify(productRepository, times(1)).findAll();
+        assertEquals(1, result.getCollection().size());
+        ProductDto productDto = result.getCollection().iterator().next();
+        assertEquals("Test Product", productDto.getProductTitle());
+        assertEquals("TEST-SKU-001", productDto.getSku());
+        assertEquals(99.99, productDto.getPriceUnit());
+        assertEquals(50, productDto.getQuantity());
+        assertEquals("Electronics", productDto.getCategoryDto().getCategoryTitle());
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -113,6 +237,25 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findById(1);
     }
 
+    @Test
+    @DisplayName("Should return all requested products in a single repository call")
+    void shouldReturnAllProductsByIds() {
+        // Given
+        List<Integer> productIds = Arrays.asList(1, 2);
+        when(productRepository.findAllWithCategoryByProductIdIn(productIds)).thenReturn(Arrays.asList(mockProduct));
+
+        // When
+        List<ProductDto> result = productService.findAllByIds(productIds);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getProductId());
+        assertEquals("Electronics", result.get(0).getCategoryDto().getCategoryTitle());
+        verify(productRepository, times(1)).findAllWithCategoryByProductIdIn(productIds);
+        verify(productRepository, never()).findById(anyInt());
+    }
+
     @Test
     @DisplayName("Should throw ProductNotFoundException when product not found")
     void shouldThrowExceptionWhenProductNotFound() {
@@ -168,6 +311,7 @@ class ProductServiceImplTest {
                 .sku("UPDATED-SKU-001")
                 .priceUnit(149.99)
                 .quantity(30)
+                .version(0)
                 .categoryDto(CategoryDto.builder()
                         .categoryId(1)
                         .categoryTitle("Electronics")
@@ -187,6 +331,36 @@ class ProductServiceImplTest {
         assertEquals(149.99, result.getPriceUnit());
         assertEquals(30, result.getQuantity());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.PRODUCT_UPDATED), eq(1), any(ProductDto.class));
+    }
+
+    @Test
+    @DisplayName("Should leave stock alone when a PUT carries no version")
+    void shouldKeepQuantityOnVersionlessUpdate() {
+        // Given
+        ProductDto versionlessDto = ProductDto.builder()
+                .productId(1)
+                .productTitle("Renamed Product")
+                .imageUrl("renamed-image.jpg")
+                .sku("TEST-SKU-001")
+                .priceUnit(89.99)
+                .quantity(500)
+                .categoryDto(CategoryDto.builder().categoryId(1).build())
+                .build();
+        when(productRepository.findForUpdateByProductId(1)).thenReturn(Optional.of(mockProduct));
+        when(entityManager.getReference(Category.class, 1)).thenReturn(mockCategory);
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ProductDto result = productService.update(versionlessDto);
+
+        // Then
+        assertEquals("Renamed Product", result.getProductTitle());
+        assertEquals(89.99, result.getPriceUnit());
+        assertEquals(50, result.getQuantity());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.PRODUCT_UPDATED), eq(1), any(ProductDto.class));
     }
 
     @Test
@@ -202,6 +376,8 @@ class ProductServiceImplTest {
         // Then
         verify(productRepository, times(1)).findById(1);
         verify(productRepository, times(1)).delete(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.PRODUCT_DELETED), eq(1), any(ProductDto.class));
     }
 
     @Test
@@ -0,0 +1,289 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.config.stock.StockReservationProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.domain.ReservationStatus;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.StockReservationStateException;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.outbox.OutboxPublisher;
+import com.selimhorri.app.repository.HotStockLeaseRepository;
+import com.selimhorri.app.repository.ProductStockRepository;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.StockReservationService;
+import com.selimhorri.app.stock.HotStockLease;
+import com.selimhorri.app.stock.HotStockLedger;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StockReservationServiceImpl.class, ProductStockRepository.class, HotStockLedger.class, HotStockLease.class,
+        HotStockLeaseRepository.class,
+        StockReservationProperties.class, HotStockProperties.class, BatchProperties.class, ProductServiceImpl.class,
+        PaginationProperties.class, ProductSearchIndex.class, OutboxPublisher.class, OutboxProperties.class,
+        MapperConfig.class})
+@DisplayName("StockReservationServiceImpl Concurrency Tests")
+class StockReservationServiceImplTest {
+
+    private static final int STOCK = 100;
+    private static final int RESERVERS = 500;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockReservationProperties stockReservationProperties;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        this.stockReservationProperties.setTtl(Duration.ofMinutes(10));
+        this.jdbcTemplate.update("DELETE FROM stock_reservation_items");
+        this.jdbcTemplate.update("DELETE FROM stock_reservations");
+        this.jdbcTemplate.update("DELETE FROM outbox_events");
+        this.productRepository.deleteAll();
+        this.categoryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should never oversell when hundreds of reservers race for the same stock")
+    void shouldNeverOversellUnderContention() throws Exception {
+        // Given
+        final Integer productId = this.product(STOCK);
+        final Integer otherProductId = this.product(STOCK * RESERVERS);
+        final AtomicInteger reserved = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final AtomicInteger retried = new AtomicInteger();
+        final AtomicInteger negativeReads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < RESERVERS; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                while (true) {
+                    try {
+                        this.stockReservationService.reserve(this.reservation(productId, 1, otherProductId, 1));
+                        reserved.incrementAndGet();
+                        break;
+                    }
+                    catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                        break;
+                    }
+                    catch (ConcurrencyFailureException e) {
+                        retried.incrementAndGet();
+                    }
+                }
+                if (this.quantity(productId) < 0)
+                    negativeReads.incrementAndGet();
+                return null;
+            }));
+        }
+        final long startedAt = System.nanoTime();
+        start.countDown();
+        for (final Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        final long elapsedNanos = System.nanoTime() - startedAt;
+        executorService.shutdown();
+        log.info("*** {} reservers on {} threads in {} ms ({} requests/s, {} retried after a lock conflict) *",
+                RESERVERS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                RESERVERS * 1_000_000_000L / elapsedNanos, retried.get());
+
+        // Then
+        assertEquals(STOCK, reserved.get());
+        assertEquals(RESERVERS - STOCK, rejected.get());
+        assertEquals(0, negativeReads.get());
+        assertEquals(0, this.quantity(productId));
+        assertEquals(STOCK * RESERVERS - STOCK, this.quantity(otherProductId));
+        assertEquals(STOCK, this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_reservations", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should restock a released reservation and refuse to commit it afterwards")
+    void shouldRestockReleasedReservation() {
+        // Given
+        final Integer productId = this.product(5);
+        final StockReservationDto stockReservationDto = this.stockReservationService
+                .reserve(this.reservation(productId, 3, productId, 2));
+
+        // When
+        final StockReservationDto released = this.stockReservationService.release(stockReservationDto.getReservationId());
+
+        // Then
+        assertEquals(ReservationStatus.RELEASED, released.getReservationStatus());
+        assertEquals(5, this.quantity(productId));
+        assertThrows(StockReservationStateException.class,
+                () -> this.stockReservationService.commit(stockReservationDto.getReservationId()));
+    }
+
+    @Test
+    @DisplayName("Should expire overdue reservations in one sweep and give their stock back")
+    void shouldExpireOverdueReservations() {
+        // Given
+        final Integer productId = this.product(10);
+        this.stockReservationProperties.setTtl(Duration.ZERO);
+        final StockReservationDto expiring = this.stockReservationService.reserve(this.reservation(productId, 4));
+        this.stockReservationService.reserve(this.reservation(productId, 4));
+        this.stockReservationProperties.setTtl(Duration.ofMinutes(10));
+        final StockReservationDto committed = this.stockReservationService.reserve(this.reservation(productId, 2));
+
+        // When
+        final int expired = this.stockReservationService.expireOverdue();
+
+        // Then
+        assertEquals(2, expired);
+        assertEquals(8, this.quantity(productId));
+        assertEquals(ReservationStatus.EXPIRED,
+                this.stockReservationService.findById(expiring.getReservationId()).getReservationStatus());
+        assertThrows(StockReservationStateException.class,
+                () -> this.stockReservationService.commit(expiring.getReservationId()));
+        assertEquals(ReservationStatus.COMMITTED,
+                this.stockReservationService.commit(committed.getReservationId()).getReservationStatus());
+        assertEquals(8, this.quantity(productId));
+    }
+
+    @Test
+    @DisplayName("Should roll back every line of a multi-item reservation when one product is short")
+    void shouldRollBackWholeReservationWhenOneItemIsShort() {
+        // Given
+        final Integer plentyProductId = this.product(10);
+        final Integer scarceProductId = this.product(1);
+
+        // When / Then
+        assertThrows(InsufficientStockException.class, () -> this.stockReservationService
+                .reserve(this.reservation(plentyProductId, 5, scarceProductId, 2)));
+        assertEquals(10, this.quantity(plentyProductId));
+        assertEquals(1, this.quantity(scarceProductId));
+    }
+
+    @Test
+    @DisplayName("Should keep reserved stock when a versionless PUT races reservations and reject a stale versioned PUT")
+    void shouldNotLoseReservationsToProductUpdates() throws Exception {
+        // Given
+        final Integer productId = this.product(STOCK);
+        this.jdbcTemplate.update("UPDATE products SET category_id = ? WHERE product_id = ?", this.categoryRepository
+                .save(Category.builder().categoryTitle("Flash sale").build()).getCategoryId(), productId);
+        final ProductDto staleView = this.productService.findById(productId);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < STOCK / 2; i++) {
+            final int round = i;
+            futures.add(executorService.submit(() -> {
+                start.await();
+                while (true) {
+                    try {
+                        this.stockReservationService.reserve(this.reservation(productId, 1));
+                        break;
+                    }
+                    catch (ConcurrencyFailureException e) {
+                        continue;
+                    }
+                }
+                return null;
+            }));
+            futures.add(executorService.submit(() -> {
+                start.await();
+                this.productService.update(ProductDto.builder()
+                        .productId(productId)
+                        .productTitle("Renamed " + round)
+                        .sku(staleView.getSku())
+                        .priceUnit(staleView.getPriceUnit())
+                        .quantity(staleView.getQuantity())
+                        .categoryDto(staleView.getCategoryDto())
+                        .build());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // Then
+        assertEquals(STOCK / 2, this.quantity(productId));
+        assertTrue(this.productService.findById(productId).getProductTitle().startsWith("Renamed "));
+        assertThrows(ConcurrencyFailureException.class, () -> this.productService.update(staleView));
+        assertEquals(STOCK / 2, this.quantity(productId));
+    }
+
+    private Integer product(final int quantity) {
+        return this.productRepository.save(Product.builder()
+                .productTitle("Product")
+                .sku("SKU-" + System.nanoTime())
+                .priceUnit(9.99)
+                .quantity(quantity)
+                .build()).getProductId();
+    }
+
+    private int quantity(final Integer productId) {
+        return this.jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?",
+                Integer.class, productId);
+    }
+
+    private StockReservationDto reservation(final Integer... productIdsAndQuantities) {
+        final List<StockReservationItemDto> items = new ArrayList<>();
+        for (int i = 0; i < productIdsAndQuantities.length; i += 2)
+            items.add(StockReservationItemDto.builder()
+                    .productId(productIdsAndQuantities[i])
+                    .quantity(productIdsAndQuantities[i + 1])
+                    .build());
+        return StockReservationDto.builder()
+                .items(items)
+                .build();
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.selimhorri.app.stock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+
+/**
+ * Flash-sale reservations of one SKU from 32 threads: a conditional row update per transaction against striped
+ * counters with the write-ahead log and a background write-behind drain.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args=HotStockBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+public class HotStockBenchmark {
+
+    private static final int PRODUCT_ID = 1;
+    private static final int STOCK = Integer.MAX_VALUE;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private static final String URL = "jdbc:h2:mem:hot-stock-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000";
+
+        private final AtomicLong reservationIds = new AtomicLong();
+        private Connection keepAlive;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            keepAlive = DriverManager.getConnection(URL, "sa", "");
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("CREATE TABLE products (product_id INT PRIMARY KEY, quantity INT NOT NULL, "
+                        + "version INT DEFAULT 0 NOT NULL)");
+                statement.execute("CREATE TABLE stock_reservation_items (reservation_id BIGINT PRIMARY KEY, "
+                        + "product_id INT NOT NULL, quantity INT NOT NULL)");
+                statement.execute("INSERT INTO products (product_id, quantity) VALUES (" + PRODUCT_ID + ", " + STOCK + ")");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Statement statement = keepAlive.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            keepAlive.close();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement decrement;
+        private PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void setUp(final Database database) throws SQLException {
+            connection = DriverManager.getConnection(Database.URL, "sa", "");
+            connection.setAutoCommit(false);
+            decrement = connection.prepareStatement("UPDATE products SET quantity = quantity - ?, version = version + 1 "
+                    + "WHERE product_id = ? AND quantity >= ?");
+            insert = connection.prepareStatement("INSERT INTO stock_reservation_items (reservation_id, product_id, quantity) "
+                    + "VALUES (?, ?, ?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class Ledger {
+
+        private Path walDirectory;
+        private HotStockLedger hotStockLedger;
+        private ScheduledExecutorService flusher;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            walDirectory = Files.createTempDirectory("hot-stock-benchmark");
+            HotStockProperties hotStockProperties = new HotStockProperties();
+            hotStockProperties.setWalDirectory(walDirectory.toString());
+            hotStockLedger = new HotStockLedger(hotStockProperties);
+            hotStockLedger.replay(0L);
+            hotStockLedger.start(Map.of(PRODUCT_ID, STOCK), 0L, System.nanoTime() + TimeUnit.HOURS.toNanos(1L));
+            flusher = Executors.newSingleThreadScheduledExecutor();
+            flusher.scheduleWithFixedDelay(() -> {
+                HotStockLedger.Checkpoint checkpoint = hotStockLedger.drain();
+                if (checkpoint != null)
+                    hotStockLedger.truncate(checkpoint.getLastSequence());
+            }, 200L, 200L, TimeUnit.MILLISECONDS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            flusher.shutdownNow();
+            hotStockLedger.destroy();
+            try (var paths = Files.list(walDirectory)) {
+                for (Path path : (Iterable<Path>) paths::iterator)
+                    Files.delete(path);
+            }
+            Files.delete(walDirectory);
+        }
+
+    }
+
+    @Benchmark
+    public boolean databaseRow(final Database database, final Session session) throws SQLException {
+        session.decrement.setInt(1, 1);
+        session.decrement.setInt(2, PRODUCT_ID);
+        session.decrement.setInt(3, 1);
+        final boolean reserved = session.decrement.executeUpdate() == 1;
+        if (reserved) {
+            session.insert.setLong(1, database.reservationIds.incrementAndGet());
+            session.insert.setInt(2, PRODUCT_ID);
+            session.insert.setInt(3, 1);
+            session.insert.executeUpdate();
+        }
+        session.connection.commit();
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean stripedCounters(final Ledger ledger) {
+        return ledger.hotStockLedger.reserve(Map.of(PRODUCT_ID, 1)).isEmpty();
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.selimhorri.app.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.config.stock.StockReservationProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.StockReservationDto;
+import com.selimhorri.app.dto.StockReservationItemDto;
+import com.selimhorri.app.exception.wrapper.HotStockOwnerUnavailableException;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.repository.HotStockCheckpointRepository;
+import com.selimhorri.app.repository.HotStockLeaseRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.repository.ProductStockRepository;
+import com.selimhorri.app.repository.StockReservationRepository;
+import com.selimhorri.app.service.StockReservationService;
+import com.selimhorri.app.service.impl.StockReservationServiceImpl;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({HotStockFlusher.class, HotStockLedger.class, HotStockProperties.class, HotStockCheckpointRepository.class,
+        HotStockLease.class, HotStockLeaseRepository.class, ProductStockRepository.class, StockReservationServiceImpl.class,
+        StockReservationProperties.class, BatchProperties.class})
+@DisplayName("HotStockFlusher Write-Behind Tests")
+class HotStockFlusherTest {
+
+    @TempDir
+    Path walDirectory;
+
+    @Autowired
+    private HotStockFlusher hotStockFlusher;
+
+    @Autowired
+    private HotStockLedger hotStockLedger;
+
+    @Autowired
+    private HotStockProperties hotStockProperties;
+
+    @Autowired
+    private HotStockCheckpointRepository hotStockCheckpointRepository;
+
+    @Autowired
+    private HotStockLeaseRepository hotStockLeaseRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Environment environment;
+
+    private Integer hotProductId;
+    private Integer coldProductId;
+
+    @BeforeEach
+    void setUp() {
+        this.hotProductId = this.product(10);
+        this.coldProductId = this.product(1);
+        this.hotStockProperties.setEnabled(true);
+        this.hotStockProperties.setWalDirectory(this.walDirectory.toString());
+        this.hotStockProperties.setProductIds(Set.of(this.hotProductId));
+        this.hotStockFlusher.claim();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.hotStockLedger.stop();
+        this.hotStockProperties.setEnabled(false);
+        this.jdbcTemplate.update("UPDATE hot_stock_leases SET owner_id = NULL, owner_url = NULL, leased_until = NULL");
+        this.jdbcTemplate.update("DELETE FROM stock_reservation_items");
+        this.jdbcTemplate.update("DELETE FROM stock_reservations");
+        this.productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve hot stock from counters and write the net delta behind in one flush")
+    void shouldFlushNetDeltaBehindReservations() {
+        // Given
+        for (int i = 0; i < 5; i++)
+            this.stockReservationService.reserve(this.reservation(this.hotProductId, 2));
+        final long checkpointBefore = this.hotStockCheckpointRepository.findLastSequence();
+
+        // When
+        assertThrows(InsufficientStockException.class,
+                () -> this.stockReservationService.reserve(this.reservation(this.hotProductId, 1)));
+        final int quantityBeforeFlush = this.quantity(this.hotProductId);
+        this.hotStockFlusher.flush();
+
+        // Then
+        assertEquals(10, quantityBeforeFlush);
+        assertEquals(0, this.quantity(this.hotProductId));
+        assertEquals(checkpointBefore + 5, this.hotStockCheckpointRepository.findLastSequence());
+    }
+
+    @Test
+    @DisplayName("Should give hot stock back when the cold line of the same reservation is short")
+    void shouldRestoreHotStockWhenTransactionRollsBack() {
+        // When
+        assertThrows(InsufficientStockException.class, () -> this.stockReservationService
+                .reserve(this.reservation(this.hotProductId, 4, this.coldProductId, 2)));
+        this.hotStockFlusher.flush();
+
+        // Then
+        assertEquals(10L, this.hotStockLedger.quantity(this.hotProductId));
+        assertEquals(10, this.quantity(this.hotProductId));
+        assertEquals(1, this.quantity(this.coldProductId));
+    }
+
+    @Test
+    @DisplayName("Should replay only committed unflushed deltas from the write-ahead log after a crash")
+    void shouldReplayUnflushedDeltasAfterCrash() {
+        // Given
+        this.stockReservationService.reserve(this.reservation(this.hotProductId, 3));
+        this.hotStockFlusher.flush();
+        final StockReservationDto unflushed = this.stockReservationService.reserve(this.reservation(this.hotProductId, 4));
+        this.stockReservationService.release(unflushed.getReservationId());
+        this.stockReservationService.reserve(this.reservation(this.hotProductId, 2));
+        final Map<String, Map<Integer, Integer>> uncommitted = Map.of(UUID.randomUUID().toString(), Map.of(this.hotProductId, -1));
+        this.hotStockLedger.log(uncommitted);
+        this.hotStockLedger.complete(uncommitted, false);
+
+        // When
+        this.expireLease();
+        final HotStockLedger restartedLedger = new HotStockLedger(this.hotStockProperties);
+        final HotStockFlusher restartedFlusher = this.flusher(restartedLedger);
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> restartedFlusher.claim());
+
+        // Then
+        assertEquals(5, this.quantity(this.hotProductId));
+        assertEquals(5L, restartedLedger.quantity(this.hotProductId));
+        assertTrue(restartedLedger.replay(this.hotStockCheckpointRepository.findLastSequence()).getRecords().isEmpty());
+        restartedLedger.destroy();
+    }
+
+    @Test
+    @DisplayName("Should keep a second instance out of hot mode while the lease is held")
+    void shouldNotStartSecondOwnerWhileLeaseIsHeld() {
+        // Given
+        final HotStockLedger secondLedger = new HotStockLedger(this.hotStockProperties);
+        final HotStockFlusher secondFlusher = this.flusher(secondLedger);
+
+        // When
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> secondFlusher.claim());
+
+        // Then
+        assertTrue(this.hotStockLedger.isStarted());
+        assertFalse(secondLedger.isStarted());
+        assertFalse(secondLedger.isHot(this.hotProductId));
+    }
+
+    @Test
+    @DisplayName("Should refuse database reservations of hot products while another instance holds the lease")
+    void shouldRejectDatabaseReservationsWhileLeaseIsHeld() {
+        // Given
+        this.hotStockLedger.stop();
+
+        // When / Then
+        assertThrows(HotStockOwnerUnavailableException.class,
+                () -> this.stockReservationService.reserve(this.reservation(this.hotProductId, 1)));
+        assertEquals(10, this.quantity(this.hotProductId));
+    }
+
+    @Test
+    @DisplayName("Should stop the counters once the lease is lost and let the next owner replay their deltas")
+    void shouldHandOverAfterLeaseIsLost() {
+        // Given
+        this.stockReservationService.reserve(this.reservation(this.hotProductId, 3));
+        this.expireLease();
+
+        // When
+        this.hotStockFlusher.flush();
+        final HotStockLedger secondLedger = new HotStockLedger(this.hotStockProperties);
+        new TransactionTemplate(this.transactionManager).executeWithoutResult(status -> this.flusher(secondLedger).claim());
+
+        // Then
+        assertFalse(this.hotStockLedger.isStarted());
+        assertTrue(secondLedger.isStarted());
+        assertEquals(7, this.quantity(this.hotProductId));
+        assertEquals(7L, secondLedger.quantity(this.hotProductId));
+        secondLedger.destroy();
+    }
+
+    @Test
+    @DisplayName("Should fold quantity edits made outside the counters into them on the next flush")
+    void shouldReconcileExternalQuantityEdits() {
+        // Given
+        this.stockReservationService.reserve(this.reservation(this.hotProductId, 4));
+        this.jdbcTemplate.update("UPDATE products SET quantity = quantity + 20 WHERE product_id = ?", this.hotProductId);
+
+        // When
+        this.hotStockFlusher.flush();
+
+        // Then
+        assertEquals(26, this.quantity(this.hotProductId));
+        assertEquals(26L, this.hotStockLedger.quantity(this.hotProductId));
+    }
+
+    private HotStockFlusher flusher(final HotStockLedger hotStockLedger) {
+        return new HotStockFlusher(hotStockLedger, this.hotStockProperties, this.productStockRepository,
+                this.hotStockCheckpointRepository, this.stockReservationRepository,
+                new HotStockLease(this.hotStockLeaseRepository, this.hotStockProperties, this.environment),
+                this.eventPublisher);
+    }
+
+    private void expireLease() {
+        this.jdbcTemplate.update("UPDATE hot_stock_leases SET leased_until = ?",
+                Timestamp.from(Instant.now().minusSeconds(1L)));
+    }
+
+    private Integer product(final int quantity) {
+        return this.productRepository.save(Product.builder()
+                .productTitle("Flash sale product")
+                .sku("SKU-" + System.nanoTime())
+                .priceUnit(9.99)
+                .quantity(quantity)
+                .build()).getProductId();
+    }
+
+    private int quantity(final Integer productId) {
+        return this.jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?",
+                Integer.class, productId);
+    }
+
+    private StockReservationDto reservation(final Integer... productIdsAndQuantities) {
+        final List<StockReservationItemDto> items = new ArrayList<>();
+        for (int i = 0; i < productIdsAndQuantities.length; i += 2)
+            items.add(StockReservationItemDto.builder()
+                    .productId(productIdsAndQuantities[i])
+                    .quantity(productIdsAndQuantities[i + 1])
+                    .build());
+        return StockReservationDto.builder()
+                .items(items)
+                .build();
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.selimhorri.app.stock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.selimhorri.app.config.stock.HotStockProperties;
+import com.selimhorri.app.exception.wrapper.HotStockOwnerUnavailableException;
+
+@DisplayName("HotStockLedger Unit Tests")
+class HotStockLedgerTest {
+
+    @TempDir
+    Path walDirectory;
+
+    private HotStockProperties hotStockProperties;
+    private HotStockLedger hotStockLedger;
+
+    @BeforeEach
+    void setUp() {
+        hotStockProperties = new HotStockProperties();
+        hotStockProperties.setWalDirectory(walDirectory.toString());
+        hotStockLedger = new HotStockLedger(hotStockProperties);
+        hotStockLedger.replay(0L);
+        hotStockLedger.start(Map.of(1, 1_000, 2, 10), 0L, System.nanoTime() + TimeUnit.MINUTES.toNanos(1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotStockLedger.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the striped stock to racing reservers and reject on zero")
+    void shouldNeverOversellStripedStock() throws Exception {
+        // Given
+        final AtomicInteger reserved = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(32);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 32; i++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (hotStockLedger.reserve(Map.of(1, 3)).isEmpty())
+                        reserved.addAndGet(3);
+                    else
+                        rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+        while (hotStockLedger.reserve(Map.of(1, 3)).isEmpty())
+            reserved.addAndGet(3);
+
+        // Then
+        assertTrue(rejected.get() >= 3200 - 333);
+        assertEquals(999, reserved.get());
+        assertEquals(1L, hotStockLedger.quantity(1));
+        assertNull(hotStockLedger.drain());
+    }
+
+    @Test
+    @DisplayName("Should keep a multi-item reservation all-or-nothing when one hot line is short")
+    void shouldGiveBackHotLinesWhenOneIsShort() {
+        // When
+        final List<Integer> insufficientProductIds = hotStockLedger.reserve(Map.of(1, 5, 2, 11));
+
+        // Then
+        assertEquals(List.of(2), insufficientProductIds);
+        assertEquals(1_000L, hotStockLedger.quantity(1));
+        assertEquals(10L, hotStockLedger.quantity(2));
+        assertNull(hotStockLedger.drain());
+    }
+
+    @Test
+    @DisplayName("Should only count a logged delta towards the next flush once its transaction commits")
+    void shouldCountLoggedDeltasOnlyAfterCommit() {
+        // Given
+        final Map<String, Map<Integer, Integer>> rolledBack = Map.of(UUID.randomUUID().toString(), Map.of(1, -5));
+        final Map<String, Map<Integer, Integer>> committed = Map.of(UUID.randomUUID().toString(), Map.of(1, -3));
+
+        // When
+        hotStockLedger.log(rolledBack);
+        hotStockLedger.complete(rolledBack, false);
+        final HotStockLedger.Checkpoint afterRollback = hotStockLedger.drain();
+        hotStockLedger.log(committed);
+        hotStockLedger.complete(committed, true);
+
+        // Then
+        assertNull(afterRollback);
+        assertEquals(Map.of(1, -3), hotStockLedger.drain().getDeltas());
+    }
+
+    @Test
+    @DisplayName("Should replay every record logged after the last checkpoint with its reservation id")
+    void shouldReplayRecordsAfterCheckpoint() throws Exception {
+        // Given
+        final String flushed = UUID.randomUUID().toString();
+        final String reserved = UUID.randomUUID().toString();
+        final String released = UUID.randomUUID().toString();
+        final String uncommitted = UUID.randomUUID().toString();
+        this.commit(flushed, Map.of(1, -4));
+        final HotStockLedger.Checkpoint checkpoint = hotStockLedger.drain();
+        hotStockLedger.truncate(checkpoint.getLastSequence());
+        this.commit(reserved, Map.of(1, -2, 2, -3));
+        this.commit(released, Map.of(2, 1));
+        hotStockLedger.log(Map.of(uncommitted, Map.of(1, -7)));
+
+        // When
+        final HotStockLedger recovered = new HotStockLedger(hotStockProperties);
+        final StockWriteAheadLog.Replay replay = recovered.replay(checkpoint.getLastSequence());
+
+        // Then
+        assertEquals(Map.of(1, -4), checkpoint.getDeltas());
+        assertEquals(List.of(reserved + ":1:-2", reserved + ":2:-3", released + ":2:1", uncommitted + ":1:-7"),
+                replay.getRecords().stream()
+                        .map(record -> record.getReservationId() + ":" + record.getProductId() + ":" + record.getDelta())
+                        .collect(Collectors.toList()));
+        assertEquals(checkpoint.getLastSequence() + 4, replay.getLastSequence());
+        hotStockLedger.complete(Map.of(uncommitted, Map.of(1, -7)), false);
+        recovered.start(Map.of(1, 994, 2, 8), replay.getLastSequence(), System.nanoTime() + TimeUnit.MINUTES.toNanos(1L));
+        recovered.truncate(replay.getLastSequence());
+        try (Stream<Path> segments = Files.list(walDirectory)) {
+            assertEquals(1L, segments.count());
+        }
+        assertTrue(recovered.replay(replay.getLastSequence()).getRecords().isEmpty());
+        recovered.destroy();
+    }
+
+    @Test
+    @DisplayName("Should fold external quantity changes into the counters without losing unflushed reservations")
+    void shouldReconcileExternalQuantityChanges() {
+        // Given
+        hotStockLedger.reserve(Map.of(2, 3));
+        this.commit(UUID.randomUUID().toString(), Map.of(2, -3));
+        final HotStockLedger.Checkpoint checkpoint = hotStockLedger.drain();
+        hotStockLedger.reserve(Map.of(2, 2));
+        this.commit(UUID.randomUUID().toString(), Map.of(2, -2));
+
+        // When
+        hotStockLedger.reconcile(checkpoint.getDeltas(), Map.of(2, 10 - 3 + 20));
+
+        // Then
+        assertEquals(25L, hotStockLedger.quantity(2));
+        assertEquals(1_000L, hotStockLedger.quantity(1));
+    }
+
+    @Test
+    @DisplayName("Should refuse to log reservations once the lease deadline has passed")
+    void shouldFenceLoggingAfterLeaseDeadline() {
+        // Given
+        final Map<String, Map<Integer, Integer>> deltas = Map.of(UUID.randomUUID().toString(), Map.of(1, -1));
+        hotStockLedger.extend(System.nanoTime());
+
+        // When / Then
+        assertThrows(HotStockOwnerUnavailableException.class, () -> hotStockLedger.log(deltas));
+        hotStockLedger.stop();
+        assertFalse(hotStockLedger.isStarted());
+        assertFalse(hotStockLedger.isHot(1));
+    }
+
+    @Test
+    @DisplayName("Should refuse hot mode unless the write-ahead log sits on a configured absolute path")
+    void shouldRefuseHotModeWithoutPersistentWalDirectory() {
+        // Given
+        final HotStockProperties unconfigured = new HotStockProperties();
+        unconfigured.setEnabled(true);
+        final HotStockProperties relative = new HotStockProperties();
+        relative.setEnabled(true);
+        relative.setWalDirectory("data/hot-stock-wal");
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> new HotStockLedger(unconfigured));
+        assertThrows(IllegalStateException.class, () -> new HotStockLedger(relative));
+        assertThrows(IllegalStateException.class, () -> new HotStockLedger(new HotStockProperties()).replay(0L));
+    }
+
+    private void commit(final String reservationId, final Map<Integer, Integer> deltas) {
+        hotStockLedger.log(Map.of(reservationId, new TreeMap<>(deltas)));
+        hotStockLedger.complete(Map.of(reservationId, deltas), true);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.selimhorri.app.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+
+@DisplayName("CategoryTree Unit Tests")
+class CategoryTreeTest {
+
+    private CategoryTree categoryTree;
+
+    @BeforeEach
+    void setUp() {
+        categoryTree = CategoryTree.of(List.of(
+                category(1, "Electronics", "/1/"),
+                category(2, "Computers", "/1/2/"),
+                category(5, "Phones", "/1/5/"),
+                category(3, "Laptops", "/1/2/3/"),
+                category(4, "Fashion", "/4/")));
+    }
+
+    @Test
+    @DisplayName("Should nest every descendant under the requested category in id order")
+    void shouldNestDescendants() {
+        // When
+        CategoryDto electronics = categoryTree.subtree(1).orElseThrow();
+
+        // Then
+        assertEquals(List.of(2, 5), ids(electronics));
+        CategoryDto computers = electronics.getSubCategoriesDtos().iterator().next();
+        assertEquals(List.of(3), ids(computers));
+        assertNull(computers.getSubCategoriesDtos().iterator().next().getSubCategoriesDtos());
+        assertNull(electronics.getParentCategoryDto().getCategoryId());
+    }
+
+    @Test
+    @DisplayName("Should attach the flat parent to the subtree root")
+    void shouldAttachParentToSubtreeRoot() {
+        // When
+        CategoryDto computers = categoryTree.subtree(2).orElseThrow();
+
+        // Then
+        assertEquals(1, computers.getParentCategoryDto().getCategoryId());
+        assertEquals("Electronics", computers.getParentCategoryDto().getCategoryTitle());
+        assertNull(computers.getParentCategoryDto().getSubCategoriesDtos());
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown category")
+    void shouldReturnEmptyForUnknownCategory() {
+        assertTrue(categoryTree.subtree(42).isEmpty());
+        assertEquals(5, categoryTree.size());
+    }
+
+    private static List<Integer> ids(CategoryDto categoryDto) {
+        return categoryDto.getSubCategoriesDtos().stream()
+                .map(CategoryDto::getCategoryId)
+                .collect(Collectors.toList());
+    }
+
+    private static Category category(int categoryId, String title, String categoryPath) {
+        return Category.builder()
+                .categoryId(categoryId)
+                .categoryTitle(title)
+                .categoryPath(categoryPath)
+                .build();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.business.auth.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.service.AuthenticationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/internal/cache")
+@Slf4j
+@RequiredArgsConstructor
+public class InternalCacheController {
+	
+	private final AuthenticationService authenticationService;
+	
+	@DeleteMapping("/users/{username}")
+	public ResponseEntity<Void> evictUser(@PathVariable("username") final String username) {
+		log.info("**Internal cache controller, evict cached user*\n");
+		this.authenticationService.evictUser(username);
+		return ResponseEntity.noContent().build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
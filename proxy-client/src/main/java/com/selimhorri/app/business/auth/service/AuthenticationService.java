@@ -7,5 +7,6 @@ public interface AuthenticationService {
 	
 	AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest);
 	Boolean authenticate(final String jwt);
+	void evictUser(final String username);
 	
 }
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.util.Optional;
+
+import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -9,7 +12,9 @@ import org.springframework.stereotype.Service;
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
+import com.selimhorri.app.jwt.cache.VerifiedJwtCache;
 import com.selimhorri.app.jwt.service.JwtService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +28,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private final AuthenticationManager authenticationManager;
 	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	private final CacheManager cacheManager;
+	private final VerifiedJwtCache verifiedJwtCache;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
@@ -46,6 +53,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		return null;
 	}
 	
+	@Override
+	public void evictUser(final String username) {
+		log.info("** Void, evict cached user details and verified tokens of {}*\n", username);
+		Optional.ofNullable(this.cacheManager.getCache(AppConstant.USER_DETAILS_CACHE))
+				.ifPresent(cache -> cache.evictIfPresent(username));
+		this.verifiedJwtCache.invalidateUsername(username);
+	}
+	
 	
 	
 }
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,15 +14,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.selimhorri.app.business.order.model.OrderDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.constant.AppConstant;
 
+import feign.Response;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@ConditionalOnProperty(name = AppConstant.CLIENT_MODE_PROPERTY, havingValue = AppConstant.CLIENT_MODE_FEIGN, matchIfMissing = true)
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
@@ -28,8 +35,23 @@ public class OrderController {
 	private final OrderClientService orderClientService;
 	
 	@GetMapping
-	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll() {
-		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", required = false) final Integer size) {
+		return ResponseEntity.ok(this.orderClientService.findAll(cursor, size).getBody());
+	}
+	
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		final Response response = this.orderClientService.exportAll();
+		return ResponseEntity.status(response.status())
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> {
+					try (response) {
+						if (response.body() != null)
+							response.body().asInputStream().transferTo(outputStream);
+					}
+				});
 	}
 	
 	@GetMapping("/{orderId}")
@@ -0,0 +1,38 @@
+package com.selimhorri.app.business.order.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderDetailsController {
+	
+	private final OrderDetailsService orderDetailsService;
+	
+	@GetMapping("/{orderId}/details")
+	public ResponseEntity<OrderDetailsDto> findById(@PathVariable("orderId") final String orderId) {
+		return ResponseEntity.ok(this.orderDetailsService.findById(orderId));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
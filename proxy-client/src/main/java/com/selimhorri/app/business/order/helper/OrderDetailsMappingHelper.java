@@ -0,0 +1,42 @@
+package com.selimhorri.app.business.order.helper;
+
+import com.selimhorri.app.business.order.model.UserDto;
+import com.selimhorri.app.business.orderItem.model.ProductDto;
+
+public interface OrderDetailsMappingHelper {
+	
+	public static UserDto map(final com.selimhorri.app.business.user.model.UserDto userDto) {
+		return UserDto.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.build();
+	}
+	
+	public static ProductDto map(final com.selimhorri.app.business.product.model.ProductDto productDto) {
+		return ProductDto.builder()
+				.productId(productDto.getProductId())
+				.productTitle(productDto.getProductTitle())
+				.imageUrl(productDto.getImageUrl())
+				.sku(productDto.getSku())
+				.priceUnit(productDto.getPriceUnit())
+				.quantity(productDto.getQuantity())
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
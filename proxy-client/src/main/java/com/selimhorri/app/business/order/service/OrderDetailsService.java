@@ -0,0 +1,19 @@
+package com.selimhorri.app.business.order.service;
+
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+
+public interface OrderDetailsService {
+	
+	OrderDetailsDto findById(final String orderId);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,157 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.order.helper.OrderDetailsMappingHelper;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.order.service.OrderDetailsService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.client.RemoteEnrichmentExecutor;
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderDetailsServiceImpl implements OrderDetailsService {
+	
+	private final OrderClientService orderClientService;
+	private final UserClientService userClientService;
+	private final PaymentClientService paymentClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final ProductClientService productClientService;
+	private final RemoteEnrichmentExecutor remoteEnrichmentExecutor;
+	private final EnrichmentProperties enrichmentProperties;
+	
+	@Override
+	public OrderDetailsDto findById(final String orderId) {
+		log.info("*** OrderDetailsDto, service; fetch order details by order id *");
+		final long deadline = System.nanoTime() + this.enrichmentProperties.getTimeout().toNanos();
+		
+		final CompletableFuture<OrderDto> orderLookup = this.remoteEnrichmentExecutor
+				.supply(() -> this.orderClientService.findById(orderId).getBody());
+		final CompletableFuture<List<PaymentDto>> paymentsLookup = this.remoteEnrichmentExecutor
+				.supply(() -> toList(this.paymentClientService.findAllByOrderId(orderId).getBody().getCollection()));
+		final CompletableFuture<List<OrderItemDto>> orderItemsLookup = this.remoteEnrichmentExecutor
+				.supply(() -> toList(this.orderItemClientService.findAllByOrderId(orderId).getBody().getCollection()));
+		final CompletableFuture<UserDto> userLookup = orderLookup.thenCompose(orderDto -> Optional.ofNullable(orderDto)
+				.map(OrderDto::getCartDto)
+				.map(CartDto::getUserId)
+				.map(userId -> this.remoteEnrichmentExecutor
+						.supply(() -> this.userClientService.findById(String.valueOf(userId)).getBody()))
+				.orElseGet(() -> CompletableFuture.completedFuture(null)));
+		final CompletableFuture<Map<Integer, ProductDto>> productsLookup = orderItemsLookup.thenCompose(orderItemDtos -> 
+				orderItemDtos.isEmpty() ? CompletableFuture.completedFuture(Map.of()) 
+						: this.remoteEnrichmentExecutor.supply(() -> this.findProducts(orderItemDtos)));
+		
+		final OrderDto orderDto = awaitOrder(orderId, orderLookup, deadline);
+		final Set<String> unavailable = new TreeSet<>();
+		final List<PaymentDto> paymentDtos = await(paymentsLookup, deadline, List.of(), "payments", unavailable);
+		final List<OrderItemDto> orderItemDtos = await(orderItemsLookup, deadline, List.of(), "orderItems", unavailable);
+		final UserDto userDto = await(userLookup, deadline, null, "user", unavailable);
+		final Map<Integer, ProductDto> productDtos = await(productsLookup, deadline, Map.of(), "products", unavailable);
+		
+		if (userDto != null)
+			orderDto.getCartDto().setUserDto(OrderDetailsMappingHelper.map(userDto));
+		orderItemDtos.forEach(orderItemDto -> Optional.ofNullable(productDtos.get(orderItemDto.getProductId()))
+				.map(OrderDetailsMappingHelper::map)
+				.ifPresent(orderItemDto::setProductDto));
+		
+		return OrderDetailsDto.builder()
+				.orderDto(orderDto)
+				.paymentDtos(paymentDtos)
+				.orderItemDtos(orderItemDtos)
+				.unavailable(unavailable)
+				.build();
+	}
+	
+	private Map<Integer, ProductDto> findProducts(final List<OrderItemDto> orderItemDtos) {
+		final List<Integer> productIds = orderItemDtos.stream()
+				.map(OrderItemDto::getProductId)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		return toList(this.productClientService.findAllByIds(productIds).getBody().getCollection())
+				.stream()
+					.collect(Collectors.toUnmodifiableMap(ProductDto::getProductId, Function.identity(), (a, b) -> a));
+	}
+	
+	private static <T> List<T> toList(final Collection<T> collection) {
+		return collection == null ? List.of() : List.copyOf(collection);
+	}
+	
+	private static OrderDto awaitOrder(final String orderId, final CompletableFuture<OrderDto> orderLookup, final long deadline) {
+		try {
+			return Optional.ofNullable(orderLookup.get(remainingNanos(deadline), TimeUnit.NANOSECONDS))
+					.orElseThrow(() -> new IllegalStateException(String.format("Order with id: %s not found", orderId)));
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (TimeoutException e) {
+			throw new IllegalStateException(String.format("Order with id: %s could not be loaded in time", orderId));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static <T> T await(final CompletableFuture<T> lookup, final long deadline, final T fallback,
+			final String part, final Set<String> unavailable) {
+		try {
+			return lookup.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+		}
+		catch (ExecutionException | TimeoutException e) {
+			log.warn("*** order details {} unavailable, falling back; {} *", part, e.toString());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		unavailable.add(part);
+		return fallback;
+	}
+	
+	private static long remainingNanos(final long deadline) {
+		return Math.max(0L, deadline - System.nanoTime());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,71 @@
+package com.selimhorri.app.business.reactive.controller;
+
+import java.util.Collections;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.reactive.service.ReactiveClientService;
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = AppConstant.CLIENT_MODE_PROPERTY, havingValue = AppConstant.CLIENT_MODE_REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveProxyController {
+	
+	private static final String FORWARDED_RESOURCES = "products|categories|orders|carts|users|credentials"
+			+ "|verificationTokens|address|favourites|payments|shippings";
+	private static final String EXPORTED_RESOURCES = "products|orders|users";
+	
+	private final ReactiveClientService reactiveClientService;
+	
+	@RequestMapping(path = "/{resource:" + FORWARDED_RESOURCES + "}/**",
+			method = { RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE })
+	public Mono<ResponseEntity<byte[]>> forward(
+			@PathVariable("resource") final String resource,
+			@RequestBody(required = false) final byte[] body,
+			final HttpServletRequest request) {
+		final var headers = new HttpHeaders();
+		Collections.list(request.getHeaderNames())
+				.forEach(name -> headers.addAll(name, Collections.list(request.getHeaders(name))));
+		final var path = request.getRequestURI()
+				.substring(request.getContextPath().length() + ("/api/" + resource).length());
+		return this.reactiveClientService.exchange(resource, HttpMethod.resolve(request.getMethod()),
+				path, request.getQueryString(), headers, body);
+	}
+	
+	@GetMapping(path = "/{resource:" + EXPORTED_RESOURCES + "}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<String> exportAll(@PathVariable("resource") final String resource) {
+		return this.reactiveClientService.exportAll(resource)
+				.map(line -> line + "\n");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,25 @@
+package com.selimhorri.app.business.reactive.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveClientService {
+	
+	Mono<ResponseEntity<byte[]>> exchange(final String resource, final HttpMethod method,
+			final String path, final String query, final HttpHeaders headers, final byte[] body);
+	Flux<String> exportAll(final String resource);
+	
+}
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,95 @@
+package com.selimhorri.app.business.reactive.service.impl;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.reactive.service.ReactiveClientService;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.constant.AppConstant.DiscoveredDomainsApi;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = AppConstant.CLIENT_MODE_PROPERTY, havingValue = AppConstant.CLIENT_MODE_REACTIVE)
+@Slf4j
+public class ReactiveClientServiceImpl implements ReactiveClientService {
+	
+	private static final Map<String, String> ROUTES = Map.ofEntries(
+			Map.entry("products", DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/products"),
+			Map.entry("categories", DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/categories"),
+			Map.entry("orders", DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders"),
+			Map.entry("carts", DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts"),
+			Map.entry("users", DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/users"),
+			Map.entry("credentials", DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials"),
+			Map.entry("verificationTokens", DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/verificationTokens"),
+			Map.entry("address", DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/address"),
+			Map.entry("favourites", DiscoveredDomainsApi.FAVOURITE_SERVICE_HOST + "/api/favourites"),
+			Map.entry("payments", DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/payments"),
+			Map.entry("shippings", DiscoveredDomainsApi.SHIPPING_SERVICE_HOST + "/api/shippings"));
+	
+	private final WebClient webClient;
+	
+	public ReactiveClientServiceImpl(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.build();
+	}
+	
+	@Override
+	public Mono<ResponseEntity<byte[]>> exchange(final String resource, final HttpMethod method,
+			final String path, final String query, final HttpHeaders headers, final byte[] body) {
+		log.info("*** ResponseEntity, service; forward {} /api/{}{} *", method, resource, path);
+		final var request = this.webClient.method(method)
+				.uri(this.resolveUri(resource, path, query))
+				.headers(h -> {
+					Optional.ofNullable(headers.getContentType()).ifPresent(h::setContentType);
+					h.setAccept(headers.getAccept());
+				});
+		return (body == null ? request : request.bodyValue(body))
+				.retrieve()
+				.toEntity(byte[].class)
+				.map(response -> {
+					final var builder = ResponseEntity.status(response.getStatusCode());
+					Optional.ofNullable(response.getHeaders().getContentType()).ifPresent(builder::contentType);
+					return builder.body(response.getBody());
+				});
+	}
+	
+	@Override
+	public Flux<String> exportAll(final String resource) {
+		log.info("*** String, service; stream export of /api/{} *", resource);
+		return this.webClient.get()
+				.uri(this.resolveUri(resource, "", null))
+				.accept(MediaType.APPLICATION_NDJSON)
+				.retrieve()
+				.bodyToFlux(String.class);
+	}
+	
+	private URI resolveUri(final String resource, final String path, final String query) {
+		final var baseUrl = Optional.ofNullable(ROUTES.get(resource))
+				.orElseThrow(() -> new IllegalStateException(String.format("No downstream route for resource: %s", resource)));
+		return URI.create(baseUrl + path + (query == null ? "" : "?" + query));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
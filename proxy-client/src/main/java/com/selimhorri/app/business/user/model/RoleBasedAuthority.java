@@ -8,7 +8,8 @@ import lombok.RequiredArgsConstructor;
 public enum RoleBasedAuthority {
 	
 	ROLE_USER("USER"),
-	ROLE_ADMIN("ADMIN");
+	ROLE_ADMIN("ADMIN"),
+	ROLE_INTERNAL("INTERNAL");
 	
 	private final String role;
 	
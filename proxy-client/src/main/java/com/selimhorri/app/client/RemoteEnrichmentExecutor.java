@@ -0,0 +1,49 @@
+package com.selimhorri.app.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+
+@Component
+public class RemoteEnrichmentExecutor implements DisposableBean {
+	
+	private final ThreadPoolTaskExecutor executor;
+	
+	public RemoteEnrichmentExecutor(final EnrichmentProperties enrichmentProperties) {
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(enrichmentProperties.getPoolSize());
+		this.executor.setMaxPoolSize(enrichmentProperties.getPoolSize());
+		this.executor.setQueueCapacity(enrichmentProperties.getQueueCapacity());
+		this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.setThreadNamePrefix("remote-enrichment-");
+		this.executor.initialize();
+	}
+	
+	public <T> CompletableFuture<T> supply(final Supplier<T> lookup) {
+		return CompletableFuture.supplyAsync(lookup, this.executor);
+	}
+	
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.enrichment;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.enrichment")
+@Data
+public class EnrichmentProperties {
+	
+	private int poolSize = 16;
+	private int queueCapacity = 256;
+	private Duration timeout = Duration.ofSeconds(2);
+	
+}
+
+
+
@@ -0,0 +1,67 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.config.internal.InternalApiProperties;
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class InternalTokenRequestFilter extends OncePerRequestFilter {
+	
+	private final InternalApiProperties internalApiProperties;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
+			throws ServletException, IOException {
+		
+		final var internalToken = request.getHeader(AppConstant.INTERNAL_TOKEN_HEADER);
+		
+		if (internalToken != null && !this.internalApiProperties.getToken().isBlank() 
+				&& SecurityContextHolder.getContext().getAuthentication() == null) {
+			
+			if (MessageDigest.isEqual(internalToken.getBytes(StandardCharsets.UTF_8), 
+					this.internalApiProperties.getToken().getBytes(StandardCharsets.UTF_8)))
+				SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+						AppConstant.INTERNAL_PRINCIPAL, null, 
+						List.of(new SimpleGrantedAuthority(RoleBasedAuthority.ROLE_INTERNAL.name()))));
+			else
+				log.warn("**InternalTokenRequestFilter, rejected internal token from {}*\n", request.getRemoteAddr());
+				
+		}
+		
+		filterChain.doFilter(request, response);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
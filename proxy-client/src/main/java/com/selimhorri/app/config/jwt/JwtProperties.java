@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.jwt;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.jwt")
+@Data
+public class JwtProperties {
+	
+	private long cacheMaxSize = 10000;
+	private Duration cacheTtl = Duration.ofMinutes(5);
+	
+}
+
+
+
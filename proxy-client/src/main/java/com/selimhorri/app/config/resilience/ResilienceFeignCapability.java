@@ -0,0 +1,86 @@
+package com.selimhorri.app.config.resilience;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ResilienceFeignCapability implements Capability {
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> {
+			final String instanceName = instanceName(request.url());
+			final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(instanceName);
+			final Bulkhead bulkhead = this.bulkheadRegistry.bulkhead(instanceName);
+			bulkhead.acquirePermission();
+			try {
+				circuitBreaker.acquirePermission();
+				final long start = System.nanoTime();
+				try {
+					final Response response = client.execute(request, this.options(instanceName, options));
+					if (response.status() >= 500)
+						circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, 
+								new IOException(String.format("%s answered with status %d", instanceName, response.status())));
+					else
+						circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					return response;
+				}
+				catch (IOException | RuntimeException e) {
+					circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+					throw e;
+				}
+			}
+			finally {
+				bulkhead.onComplete();
+			}
+		};
+	}
+	
+	private Request.Options options(final String instanceName, final Request.Options options) {
+		final long timeoutMillis = this.timeLimiterRegistry.timeLimiter(instanceName)
+				.getTimeLimiterConfig().getTimeoutDuration().toMillis();
+		return new Request.Options(options.connectTimeoutMillis(), TimeUnit.MILLISECONDS, 
+				Math.min(options.readTimeoutMillis(), timeoutMillis), TimeUnit.MILLISECONDS, options.isFollowRedirects());
+	}
+	
+	static String instanceName(final String url) {
+		final String[] words = URI.create(url).getHost().toLowerCase().split("-");
+		return words[0] + Arrays.stream(words, 1, words.length)
+				.map(word -> Character.toUpperCase(word.charAt(0)) + word.substring(1))
+				.collect(Collectors.joining());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
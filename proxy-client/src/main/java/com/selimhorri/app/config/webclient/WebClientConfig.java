@@ -0,0 +1,58 @@
+package com.selimhorri.app.config.webclient;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.config.client.HttpClientProperties;
+import com.selimhorri.app.constant.AppConstant;
+
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = AppConstant.CLIENT_MODE_PROPERTY, havingValue = AppConstant.CLIENT_MODE_REACTIVE)
+@RequiredArgsConstructor
+public class WebClientConfig {
+	
+	private final HttpClientProperties httpClientProperties;
+	
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider webClientConnectionProvider() {
+		return ConnectionProvider.builder("web-client")
+				.maxConnections(this.httpClientProperties.getMaxTotal())
+				.pendingAcquireTimeout(this.httpClientProperties.getConnectionRequestTimeout())
+				.maxIdleTime(this.httpClientProperties.getIdleTimeout())
+				.maxLifeTime(this.httpClientProperties.getTimeToLive())
+				.metrics(true)
+				.build();
+	}
+	
+	@LoadBalanced
+	@Bean
+	public WebClient.Builder webClientBuilder(final ConnectionProvider webClientConnectionProvider) {
+		final var httpClient = HttpClient.create(webClientConnectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) this.httpClientProperties.getConnectTimeout().toMillis())
+				.responseTimeout(this.httpClientProperties.getReadTimeout());
+		return WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
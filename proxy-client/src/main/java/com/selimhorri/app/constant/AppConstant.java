@@ -10,6 +10,13 @@ public abstract class AppConstant {
 	public static final String LOCAL_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
+	public static final String JWT_ROLES_CLAIM = "roles";
+	public static final String USER_DETAILS_CACHE = "userDetails";
+	public static final String CLIENT_MODE_PROPERTY = "app.client.mode";
+	public static final String CLIENT_MODE_FEIGN = "feign";
+	public static final String CLIENT_MODE_REACTIVE = "reactive";
+	public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+	public static final String INTERNAL_PRINCIPAL = "internal";
 	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
@@ -0,0 +1,91 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.model.VerifiedJwt;
+
+@Component
+public class VerifiedJwtCache {
+	
+	private final Cache<String, VerifiedJwt> cache;
+	private final long ttlMillis;
+	
+	public VerifiedJwtCache(final JwtProperties jwtProperties) {
+		this.ttlMillis = jwtProperties.getCacheTtl().toMillis();
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(jwtProperties.getCacheMaxSize())
+				.expireAfter(new Expiry<String, VerifiedJwt>() {
+					
+					@Override
+					public long expireAfterCreate(final String key, final VerifiedJwt verifiedJwt, final long currentTime) {
+						if (verifiedJwt.getExpiration() == null)
+							return 0L;
+						return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, Math.min(ttlMillis, 
+								verifiedJwt.getExpiration().getTime() - System.currentTimeMillis())));
+					}
+					
+					@Override
+					public long expireAfterUpdate(final String key, final VerifiedJwt verifiedJwt, 
+							final long currentTime, final long currentDuration) {
+						return this.expireAfterCreate(key, verifiedJwt, currentTime);
+					}
+					
+					@Override
+					public long expireAfterRead(final String key, final VerifiedJwt verifiedJwt, 
+							final long currentTime, final long currentDuration) {
+						return currentDuration;
+					}
+					
+				})
+				.build();
+	}
+	
+	public VerifiedJwt get(final String token, final Function<String, VerifiedJwt> verifier) {
+		final var key = hash(token);
+		final var cached = this.cache.getIfPresent(key);
+		if (cached != null)
+			return cached;
+		final var verifiedJwt = verifier.apply(token);
+		if (verifiedJwt != null)
+			this.cache.put(key, verifiedJwt);
+		return verifiedJwt;
+	}
+	
+	public void invalidateUsername(final String username) {
+		this.cache.asMap().values().removeIf(verifiedJwt -> verifiedJwt.getUsername().equals(username));
+	}
+	
+	private static String hash(final String token) {
+		try {
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest
+					.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.jwt.model;
+
+import java.util.Collection;
+import java.util.Date;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class VerifiedJwt {
+	
+	private final String username;
+	private final Collection<? extends GrantedAuthority> authorities;
+	private final Date expiration;
+	
+}
+
+
+
+
+
+
+
+
+
+
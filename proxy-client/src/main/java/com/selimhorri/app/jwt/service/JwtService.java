@@ -1,10 +1,13 @@
 package com.selimhorri.app.jwt.service;
 
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.selimhorri.app.jwt.model.VerifiedJwt;
+
 import io.jsonwebtoken.Claims;
 
 public interface JwtService {
@@ -14,6 +17,7 @@ public interface JwtService {
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Optional<VerifiedJwt> verify(final String token);
 	
 }
 
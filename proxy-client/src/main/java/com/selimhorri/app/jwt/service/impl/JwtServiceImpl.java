@@ -1,15 +1,28 @@
 package com.selimhorri.app.jwt.service.impl;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.jwt.cache.VerifiedJwtCache;
+import com.selimhorri.app.jwt.model.VerifiedJwt;
 import com.selimhorri.app.jwt.service.JwtService;
 import com.selimhorri.app.jwt.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,6 +32,8 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtServiceImpl implements JwtService {
 	
 	private final JwtUtil jwtUtil;
+	private final VerifiedJwtCache verifiedJwtCache;
+	private final UserDetailsService userDetailsService;
 	
 	@Override
 	public String extractUsername(final String token) {
@@ -50,6 +65,37 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Optional<VerifiedJwt> verify(final String token) {
+		log.info("**Optional<VerifiedJwt>, jwt service verify given token once and cache it until expiry!*");
+		return Optional.ofNullable(this.verifiedJwtCache.get(token, this::parse));
+	}
+	
+	private VerifiedJwt parse(final String token) {
+		try {
+			final Claims claims = this.jwtUtil.extractAllClaims(token);
+			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
+			if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked() || !userDetails.isAccountNonExpired()) {
+				log.warn("**Rejected jwt of inactive account: {}*", claims.getSubject());
+				return null;
+			}
+			return new VerifiedJwt(claims.getSubject(), this.extractAuthorities(claims, userDetails), claims.getExpiration());
+		}
+		catch (JwtException | IllegalArgumentException | UsernameNotFoundException | RestClientException e) {
+			log.warn("**Rejected jwt: {}*", e.getMessage());
+			return null;
+		}
+	}
+	
+	private Collection<? extends GrantedAuthority> extractAuthorities(final Claims claims, final UserDetails userDetails) {
+		final List<?> roles = claims.get(AppConstant.JWT_ROLES_CLAIM, List.class);
+		if (roles == null)
+			return List.copyOf(userDetails.getAuthorities());
+		return roles.stream()
+				.map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	
 	
 }
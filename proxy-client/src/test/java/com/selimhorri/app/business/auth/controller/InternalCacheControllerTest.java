@@ -0,0 +1,92 @@
+package com.selimhorri.app.business.auth.controller;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.internal.InternalApiProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.jwt.service.JwtService;
+
+@WebMvcTest(InternalCacheController.class)
+@Import(InternalApiProperties.class)
+@TestPropertySource(properties = {"app.internal-api.token=s3cret", "eureka.client.enabled=false"})
+@DisplayName("InternalCacheController Security Tests")
+class InternalCacheControllerTest {
+
+    private static final String EVICT_URL = "/api/internal/cache/users/{username}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthenticationService authenticationService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Should reject an anonymous eviction without touching the caches")
+    void shouldRejectAnonymousEviction() throws Exception {
+        // When / Then
+        mockMvc.perform(delete(EVICT_URL, "selimhorri"))
+                .andExpect(status().isForbidden());
+        verify(authenticationService, never()).evictUser("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should reject an eviction carrying the wrong internal token")
+    void shouldRejectWrongInternalToken() throws Exception {
+        // When / Then
+        mockMvc.perform(delete(EVICT_URL, "selimhorri").header(AppConstant.INTERNAL_TOKEN_HEADER, "guess"))
+                .andExpect(status().isForbidden());
+        verify(authenticationService, never()).evictUser("selimhorri");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("Should reject an eviction from a regular user")
+    void shouldRejectRegularUser() throws Exception {
+        // When / Then
+        mockMvc.perform(delete(EVICT_URL, "selimhorri"))
+                .andExpect(status().isForbidden());
+        verify(authenticationService, never()).evictUser("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should evict the user when called with the shared internal token")
+    void shouldEvictWithInternalToken() throws Exception {
+        // When / Then
+        mockMvc.perform(delete(EVICT_URL, "selimhorri").header(AppConstant.INTERNAL_TOKEN_HEADER, "s3cret"))
+                .andExpect(status().isNoContent());
+        verify(authenticationService, times(1)).evictUser("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should no longer expose eviction under the public authenticate path")
+    void shouldNotExposeEvictionUnderAuthenticate() throws Exception {
+        // When / Then
+        mockMvc.perform(delete("/api/authenticate/cache/users/{username}", "selimhorri"));
+        verify(authenticationService, never()).evictUser("selimhorri");
+    }
+
+}
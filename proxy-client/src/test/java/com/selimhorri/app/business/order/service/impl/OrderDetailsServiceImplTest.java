@@ -0,0 +1,158 @@
+package com.selimhorri.app.business.order.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDetailsDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.PaymentStatus;
+import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.service.UserClientService;
+import com.selimhorri.app.client.RemoteEnrichmentExecutor;
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderDetailsServiceImpl Unit Tests")
+class OrderDetailsServiceImplTest {
+
+    @Mock
+    private OrderClientService orderClientService;
+
+    @Mock
+    private UserClientService userClientService;
+
+    @Mock
+    private PaymentClientService paymentClientService;
+
+    @Mock
+    private OrderItemClientService orderItemClientService;
+
+    @Mock
+    private ProductClientService productClientService;
+
+    private RemoteEnrichmentExecutor remoteEnrichmentExecutor;
+
+    private OrderDetailsServiceImpl orderDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        EnrichmentProperties enrichmentProperties = new EnrichmentProperties();
+        enrichmentProperties.setTimeout(Duration.ofMillis(500));
+        remoteEnrichmentExecutor = new RemoteEnrichmentExecutor(enrichmentProperties);
+        orderDetailsService = new OrderDetailsServiceImpl(orderClientService, userClientService, paymentClientService,
+                orderItemClientService, productClientService, remoteEnrichmentExecutor, enrichmentProperties);
+
+        lenient().when(orderClientService.findById("1")).thenReturn(ResponseEntity.ok(OrderDto.builder()
+                .orderId(1)
+                .orderDesc("Order 1")
+                .cartDto(CartDto.builder().cartId(3).userId(7).build())
+                .build()));
+        lenient().when(userClientService.findById("7")).thenReturn(ResponseEntity.ok(UserDto.builder()
+                .userId(7)
+                .firstName("Selim")
+                .build()));
+        lenient().when(orderItemClientService.findAllByOrderId("1")).thenReturn(ResponseEntity.ok(
+                new OrderItemOrderItemServiceDtoCollectionResponse(List.of(
+                        OrderItemDto.builder().orderId(1).productId(10).orderedQuantity(2).build(),
+                        OrderItemDto.builder().orderId(1).productId(11).orderedQuantity(1).build()), null, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        remoteEnrichmentExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should compose order, user, payments and items with one batched product lookup")
+    void shouldComposeOrderDetails() {
+        // Given
+        when(paymentClientService.findAllByOrderId("1")).thenReturn(ResponseEntity.ok(
+                new PaymentPaymentServiceDtoCollectionResponse(List.of(PaymentDto.builder()
+                        .paymentId(5)
+                        .isPayed(true)
+                        .paymentStatus(PaymentStatus.COMPLETED)
+                        .build()), null, null)));
+        when(productClientService.findAllByIds(List.of(10, 11))).thenReturn(ResponseEntity.ok(
+                new ProductProductServiceCollectionDtoResponse(List.of(
+                        ProductDto.builder().productId(10).productTitle("Laptop").build(),
+                        ProductDto.builder().productId(11).productTitle("Mouse").build()), null, null)));
+
+        // When
+        OrderDetailsDto result = orderDetailsService.findById("1");
+
+        // Then
+        assertEquals(1, result.getOrderDto().getOrderId());
+        assertEquals("Selim", result.getOrderDto().getCartDto().getUserDto().getFirstName());
+        assertEquals(1, result.getPaymentDtos().size());
+        assertEquals("Laptop", result.getOrderItemDtos().get(0).getProductDto().getProductTitle());
+        assertEquals("Mouse", result.getOrderItemDtos().get(1).getProductDto().getProductTitle());
+        assertTrue(result.getUnavailable().isEmpty());
+        verify(productClientService, times(1)).findAllByIds(any());
+        verify(productClientService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should degrade parts that fail or miss the deadline instead of failing the request")
+    void shouldDegradeFailedAndSlowParts() {
+        // Given
+        when(paymentClientService.findAllByOrderId("1")).thenThrow(new IllegalStateException("payment-service down"));
+        when(productClientService.findAllByIds(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return ResponseEntity.ok(new ProductProductServiceCollectionDtoResponse());
+        });
+
+        // When
+        long start = System.nanoTime();
+        OrderDetailsDto result = orderDetailsService.findById("1");
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertEquals(1, result.getOrderDto().getOrderId());
+        assertEquals(2, result.getOrderItemDtos().size());
+        assertNull(result.getOrderItemDtos().get(0).getProductDto());
+        assertTrue(result.getPaymentDtos().isEmpty());
+        assertEquals(Set.of("payments", "products"), result.getUnavailable());
+        assertTrue(elapsedMillis < 1500);
+    }
+
+    @Test
+    @DisplayName("Should fail when the order itself cannot be loaded")
+    void shouldFailWhenOrderIsMissing() {
+        // Given
+        when(orderClientService.findById("1")).thenThrow(new IllegalStateException("Order with id: 1 not found"));
+        lenient().when(paymentClientService.findAllByOrderId("1")).thenReturn(ResponseEntity.ok(
+                new PaymentPaymentServiceDtoCollectionResponse()));
+        lenient().when(productClientService.findAllByIds(any())).thenReturn(ResponseEntity.ok(
+                new ProductProductServiceCollectionDtoResponse()));
+
+        // When & Then
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> orderDetailsService.findById("1"));
+        assertEquals("Order with id: 1 not found", e.getMessage());
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.selimhorri.app.business.reactive.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+@DisplayName("ReactiveClientServiceImpl Unit Tests")
+class ReactiveClientServiceImplTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ClientResponse nextResponse;
+
+    private ReactiveClientServiceImpl reactiveClientService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveClientService = new ReactiveClientServiceImpl(WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(nextResponse);
+                }));
+    }
+
+    @Test
+    @DisplayName("Should forward method, path and query to the owning downstream service")
+    void shouldForwardToDownstreamService() {
+        // Given
+        nextResponse = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"productId\":1}")
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // When
+        ResponseEntity<byte[]> response = reactiveClientService.exchange("products", HttpMethod.PUT,
+                "/1", "size=2", headers, "{}".getBytes(StandardCharsets.UTF_8)).block();
+
+        // Then
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.PUT, requests.get(0).method());
+        assertEquals(URI.create("http://PRODUCT-SERVICE/product-service/api/products/1?size=2"), requests.get(0).url());
+        assertEquals(MediaType.APPLICATION_JSON, requests.get(0).headers().getContentType());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"productId\":1}", new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should surface downstream errors as WebClientResponseException")
+    void shouldSurfaceDownstreamErrors() {
+        // Given
+        nextResponse = ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .body("Cart with id: 7 not found")
+                .build();
+
+        // When
+        Mono<ResponseEntity<byte[]>> response = reactiveClientService.exchange("carts", HttpMethod.GET,
+                "/7", null, new HttpHeaders(), null);
+
+        // Then
+        WebClientResponseException e = assertThrows(WebClientResponseException.class, response::block);
+        assertEquals("Cart with id: 7 not found", e.getResponseBodyAsString());
+        assertEquals(URI.create("http://ORDER-SERVICE/order-service/api/carts/7"), requests.get(0).url());
+    }
+
+    @Test
+    @DisplayName("Should stream an NDJSON export line by line")
+    void shouldStreamExportLineByLine() {
+        // Given
+        nextResponse = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body("{\"userId\":1}\n{\"userId\":2}\n")
+                .build();
+
+        // When
+        List<String> lines = reactiveClientService.exportAll("users").collectList().block();
+
+        // Then
+        assertEquals(List.of("{\"userId\":1}", "{\"userId\":2}"), lines);
+        assertEquals(URI.create("http://USER-SERVICE/user-service/api/users"), requests.get(0).url());
+        assertEquals(List.of(MediaType.APPLICATION_NDJSON), requests.get(0).headers().getAccept());
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.selimhorri.app.config.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@DisplayName("ResilienceFeignCapability Unit Tests")
+class ResilienceFeignCapabilityTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET,
+            "http://USER-SERVICE/user-service/api/users/1", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private ResilienceFeignCapability resilienceFeignCapability;
+
+    @BeforeEach
+    void setUp() {
+        resilienceFeignCapability = new ResilienceFeignCapability(
+                CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .build()),
+                BulkheadRegistry.ofDefaults(),
+                TimeLimiterRegistry.ofDefaults());
+    }
+
+    @Test
+    @DisplayName("Should open the downstream circuit after repeated server errors")
+    void shouldOpenCircuitAfterServerErrors() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        Client upstream = (request, options) -> {
+            calls.incrementAndGet();
+            return Response.builder().status(500).request(request).headers(Map.of()).build();
+        };
+        Client client = resilienceFeignCapability.enrich(upstream);
+        Request.Options options = new Request.Options();
+
+        // When
+        client.execute(REQUEST, options);
+        client.execute(REQUEST, options);
+
+        // Then
+        assertThrows(CallNotPermittedException.class, () -> client.execute(REQUEST, options));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should cap the read timeout at the downstream time limit")
+    void shouldCapReadTimeoutAtTimeLimit() throws Exception {
+        // Given
+        AtomicReference<Request.Options> sent = new AtomicReference<>();
+        Client upstream = (request, options) -> {
+            sent.set(options);
+            return Response.builder().status(200).request(request).headers(Map.of()).build();
+        };
+        Client client = resilienceFeignCapability.enrich(upstream);
+
+        // When
+        client.execute(REQUEST, new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true));
+
+        // Then
+        assertEquals(1000, sent.get().readTimeoutMillis());
+        assertEquals(2000, sent.get().connectTimeoutMillis());
+    }
+
+    @Test
+    @DisplayName("Should derive the instance name from the discovered service id")
+    void shouldDeriveInstanceName() {
+        assertEquals("userService", ResilienceFeignCapability.instanceName("http://USER-SERVICE/user-service/api/users"));
+    }
+
+}
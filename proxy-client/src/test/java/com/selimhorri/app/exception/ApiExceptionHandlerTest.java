@@ -0,0 +1,69 @@
+package com.selimhorri.app.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@DisplayName("ApiExceptionHandler Unit Tests")
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler apiExceptionHandler = new ApiExceptionHandler();
+
+    @Test
+    @DisplayName("Should pass the downstream status through for reactive client responses")
+    void shouldPassDownstreamStatusThrough() {
+        // Given
+        final var notFound = WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY,
+                "product not found".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        final var serverError = WebClientResponseException.create(500, "Internal Server Error", HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8);
+
+        // When
+        final var notFoundResponse = apiExceptionHandler.handleReactiveProxyException(notFound);
+        final var serverErrorResponse = apiExceptionHandler.handleReactiveProxyException(serverError);
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, notFoundResponse.getStatusCode());
+        assertEquals("product not found", notFoundResponse.getBody().getMsg());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, serverErrorResponse.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should map an unknown downstream status to bad gateway")
+    void shouldMapUnknownStatusToBadGateway() {
+        // Given
+        final var unknown = WebClientResponseException.create(599, "Unknown", HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8);
+
+        // When
+        final var response = apiExceptionHandler.handleReactiveProxyException(unknown);
+
+        // Then
+        assertEquals(HttpStatus.BAD_GATEWAY, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should answer service unavailable when the downstream cannot be reached")
+    void shouldMapConnectionFailureToServiceUnavailable() {
+        // Given
+        final var connectionRefused = new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.GET, URI.create("http://PRODUCT-SERVICE/product-service/api/products"), HttpHeaders.EMPTY);
+
+        // When
+        final var response = apiExceptionHandler.handleUnavailableException(connectionRefused);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
+
+}
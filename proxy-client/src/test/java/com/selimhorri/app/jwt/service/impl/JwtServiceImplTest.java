@@ -0,0 +1,154 @@
+package com.selimhorri.app.jwt.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.selimhorri.app.config.jwt.JwtProperties;
+import com.selimhorri.app.jwt.cache.VerifiedJwtCache;
+import com.selimhorri.app.jwt.model.VerifiedJwt;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtServiceImpl Unit Tests")
+class JwtServiceImplTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtilImpl jwtUtil;
+
+    private VerifiedJwtCache verifiedJwtCache;
+
+    private JwtServiceImpl jwtService;
+
+    private UserDetails activeUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtilImpl());
+        verifiedJwtCache = new VerifiedJwtCache(new JwtProperties());
+        jwtService = new JwtServiceImpl(jwtUtil, verifiedJwtCache, userDetailsService);
+        activeUser = User.withUsername("selimhorri")
+                .password("password")
+                .authorities("ROLE_USER")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should take authorities from the token roles claim")
+    void shouldAuthenticateFromClaims() {
+        // Given
+        String token = jwtUtil.generateToken(activeUser);
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(User.withUserDetails(activeUser)
+                .authorities("ROLE_ADMIN")
+                .build());
+
+        // When
+        Optional<VerifiedJwt> result = jwtService.verify(token);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("selimhorri", result.get().getUsername());
+        assertEquals(List.of("ROLE_USER"), result.get().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should verify a token and check its account only once while it is cached")
+    void shouldVerifyTokenOnlyOnce() {
+        // Given
+        String token = jwtUtil.generateToken(activeUser);
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(activeUser);
+
+        // When
+        jwtService.verify(token);
+        jwtService.verify(token);
+        jwtService.verify(token);
+
+        // Then
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+        verify(userDetailsService, times(1)).loadUserByUsername("selimhorri");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the account authorities for tokens issued without a roles claim")
+    void shouldLoadAuthoritiesForLegacyToken() {
+        // Given
+        String token = Jwts.builder()
+                .setSubject("selimhorri")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, "secret")
+                .compact();
+        when(userDetailsService.loadUserByUsername("selimhorri")).thenReturn(User.withUserDetails(activeUser)
+                .authorities("ROLE_ADMIN")
+                .build());
+
+        // When
+        Optional<VerifiedJwt> result = jwtService.verify(token);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals("ROLE_ADMIN", result.get().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Should reject a cached token once its account is locked and evicted")
+    void shouldRejectTokenOfLockedAccountAfterEviction() {
+        // Given
+        String token = jwtUtil.generateToken(activeUser);
+        when(userDetailsService.loadUserByUsername("selimhorri"))
+                .thenReturn(activeUser)
+                .thenReturn(User.withUserDetails(activeUser).accountLocked(true).build());
+        assertTrue(jwtService.verify(token).isPresent());
+
+        // When
+        verifiedJwtCache.invalidateUsername("selimhorri");
+
+        // Then
+        assertTrue(jwtService.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject tampered and expired tokens")
+    void shouldRejectInvalidTokens() {
+        // Given
+        String expired = Jwts.builder()
+                .setSubject("selimhorri")
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(SignatureAlgorithm.HS256, "secret")
+                .compact();
+        String forged = Jwts.builder()
+                .setSubject("selimhorri")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, "not-the-secret")
+                .compact();
+
+        // When & Then
+        assertTrue(jwtService.verify(expired).isEmpty());
+        assertTrue(jwtService.verify(forged).isEmpty());
+        assertTrue(jwtService.verify("not-a-jwt").isEmpty());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+}
@@ -0,0 +1,276 @@
+package com.selimhorri.app.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.client.HedgingProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class HedgedRequestClient implements DisposableBean {
+	
+	private final CloseableHttpClient closeableHttpClient;
+	private final LoadBalancerClient loadBalancerClient;
+	private final DiscoveryClient discoveryClient;
+	private final HedgingProperties hedgingProperties;
+	private final MeterRegistry meterRegistry;
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final Map<String, HedgeBudget> budgets = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
+	private final ScheduledExecutorService scheduler;
+	
+	public HedgedRequestClient(final CloseableHttpClient closeableHttpClient, final LoadBalancerClient loadBalancerClient,
+			final DiscoveryClient discoveryClient, final HedgingProperties hedgingProperties, final MeterRegistry meterRegistry) {
+		this.closeableHttpClient = closeableHttpClient;
+		this.loadBalancerClient = loadBalancerClient;
+		this.discoveryClient = discoveryClient;
+		this.hedgingProperties = hedgingProperties;
+		this.meterRegistry = meterRegistry;
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "remote-call-hedging");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "remote-call-hedging-timer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	public boolean isHedged(final String apiUrl) {
+		return this.hedgingProperties.isEnabled()
+				&& this.hedgingProperties.getServices().contains(URI.create(apiUrl).getHost());
+	}
+	
+	public <T> T getForObject(final String url, final Class<T> dtoClass) {
+		final URI uri = URI.create(url);
+		final String serviceId = uri.getHost();
+		final ServiceInstance primary = this.loadBalancerClient.choose(serviceId);
+		if (primary == null)
+			throw new ResourceAccessException(String.format("No instances available for %s", serviceId));
+		this.budget(serviceId).deposit();
+		
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		final AtomicInteger pending = new AtomicInteger(1);
+		final List<HttpGet> inFlight = new CopyOnWriteArrayList<>();
+		this.attempt(serviceId, primary, uri, dtoClass, result, pending, inFlight, false);
+		final ScheduledFuture<?> hedge = this.scheduler.schedule(() -> this.executor.execute(() ->
+				this.hedge(serviceId, primary, uri, dtoClass, result, pending, inFlight)),
+				this.delay(serviceId), TimeUnit.NANOSECONDS);
+		result.whenComplete((dto, e) -> {
+			hedge.cancel(false);
+			inFlight.forEach(HttpGet::abort);
+		});
+		
+		try {
+			return result.get();
+		}
+		catch (InterruptedException e) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException(String.format("Interrupted while calling %s", serviceId));
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	private <T> void hedge(final String serviceId, final ServiceInstance primary, final URI uri, final Class<T> dtoClass,
+			final CompletableFuture<T> result, final AtomicInteger pending, final List<HttpGet> inFlight) {
+		if (result.isDone())
+			return;
+		final List<ServiceInstance> alternates = this.discoveryClient.getInstances(serviceId).stream()
+				.filter(instance -> !Objects.equals(instance.getHost(), primary.getHost())
+						|| instance.getPort() != primary.getPort())
+				.collect(Collectors.toUnmodifiableList());
+		if (alternates.isEmpty()) {
+			this.hedges(serviceId, "no_instance").increment();
+			return;
+		}
+		if (!this.budget(serviceId).tryWithdraw()) {
+			this.hedges(serviceId, "throttled").increment();
+			return;
+		}
+		log.debug("*** {}, hedging client; hedge slow call to {} *", dtoClass.getSimpleName(), serviceId);
+		pending.incrementAndGet();
+		this.hedges(serviceId, "fired").increment();
+		this.attempt(serviceId, alternates.get(ThreadLocalRandom.current().nextInt(alternates.size())),
+				uri, dtoClass, result, pending, inFlight, true);
+	}
+	
+	private <T> void attempt(final String serviceId, final ServiceInstance instance, final URI uri, final Class<T> dtoClass,
+			final CompletableFuture<T> result, final AtomicInteger pending, final List<HttpGet> inFlight, final boolean hedged) {
+		final HttpGet httpGet = new HttpGet(this.loadBalancerClient.reconstructURI(instance, uri));
+		httpGet.setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+		inFlight.add(httpGet);
+		if (result.isDone()) {
+			inFlight.remove(httpGet);
+			return;
+		}
+		this.executor.execute(() -> {
+			final long start = System.nanoTime();
+			try {
+				final T dto = this.execute(httpGet, dtoClass);
+				this.latency(serviceId).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				inFlight.remove(httpGet);
+				if (result.complete(dto) && hedged)
+					this.hedges(serviceId, "won").increment();
+			}
+			catch (HttpClientErrorException e) {
+				inFlight.remove(httpGet);
+				result.completeExceptionally(e);
+			}
+			catch (IOException | RuntimeException e) {
+				inFlight.remove(httpGet);
+				if (pending.decrementAndGet() == 0)
+					result.completeExceptionally(e instanceof IOException
+							? new ResourceAccessException(String.format("I/O error on GET request for \"%s\": %s",
+									uri, e.getMessage()), (IOException) e)
+							: e);
+			}
+		});
+	}
+	
+	private <T> T execute(final HttpGet httpGet, final Class<T> dtoClass) throws IOException {
+		try (final CloseableHttpResponse response = this.closeableHttpClient.execute(httpGet)) {
+			final int statusCode = response.getStatusLine().getStatusCode();
+			final byte[] body = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+			if (statusCode >= 500)
+				throw HttpServerErrorException.create(HttpStatus.valueOf(statusCode),
+						response.getStatusLine().getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8);
+			if (statusCode >= 400)
+				throw HttpClientErrorException.create(HttpStatus.valueOf(statusCode),
+						response.getStatusLine().getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8);
+			return body.length == 0 ? null : this.objectMapper.readValue(body, dtoClass);
+		}
+	}
+	
+	private long delay(final String serviceId) {
+		final long minDelay = this.hedgingProperties.getMinDelay().toNanos();
+		final long maxDelay = this.hedgingProperties.getMaxDelay().toNanos();
+		final HistogramSnapshot snapshot = this.latency(serviceId).takeSnapshot();
+		if (snapshot.count() < this.hedgingProperties.getMinSamples())
+			return maxDelay;
+		for (final ValueAtPercentile valueAtPercentile : snapshot.percentileValues())
+			if (valueAtPercentile.percentile() == this.hedgingProperties.getDelayPercentile())
+				return Math.max(minDelay, Math.min(maxDelay, (long) valueAtPercentile.value(TimeUnit.NANOSECONDS)));
+		return maxDelay;
+	}
+	
+	private HedgeBudget budget(final String serviceId) {
+		return this.budgets.computeIfAbsent(serviceId, id -> new HedgeBudget(
+				this.hedgingProperties.getBudgetRatio(), this.hedgingProperties.getBudgetBurst()));
+	}
+	
+	private Timer latency(final String serviceId) {
+		return Timer.builder("remote.call.hedging.latency")
+				.description("Latency of hedgeable remote calls, used to derive the hedge delay")
+				.tag("service", serviceId)
+				.publishPercentiles(this.hedgingProperties.getDelayPercentile())
+				.distributionStatisticExpiry(this.hedgingProperties.getLatencyWindow())
+				.register(this.meterRegistry);
+	}
+	
+	private Counter hedges(final String serviceId, final String outcome) {
+		return Counter.builder("remote.call.hedges")
+				.description("Hedged remote calls by service and outcome")
+				.tag("service", serviceId)
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+	
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		this.executor.shutdownNow();
+	}
+	
+	private static class HedgeBudget {
+		
+		private static final long TOKEN = 1000L;
+		
+		private final long deposit;
+		private final long capacity;
+		private final AtomicLong balance;
+		
+		HedgeBudget(final double ratio, final int burst) {
+			this.deposit = (long) (ratio * TOKEN);
+			this.capacity = burst * TOKEN;
+			this.balance = new AtomicLong(this.capacity);
+		}
+		
+		void deposit() {
+			this.balance.accumulateAndGet(this.deposit, (balance, deposit) -> Math.min(this.capacity, balance + deposit));
+		}
+		
+		boolean tryWithdraw() {
+			long balance;
+			do {
+				balance = this.balance.get();
+				if (balance < TOKEN)
+					return false;
+			}
+			while (!this.balance.compareAndSet(balance, balance - TOKEN));
+			return true;
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,61 @@
+package com.selimhorri.app.client;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.BatchHelper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RemoteBatchClient {
+	
+	private final RestTemplate restTemplate;
+	private final BatchProperties batchProperties;
+	
+	public <T> Map<Integer, T> findAllByIds(final String apiUrl, final Collection<Integer> ids, 
+			final Class<T> dtoClass, final Function<T, Integer> idMapper) {
+		log.info("*** {} Map, client; fetch all by ids in batch *", dtoClass.getSimpleName());
+		final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType = ParameterizedTypeReference
+				.forType(ResolvableType.forClassWithGenerics(DtoCollectionResponse.class, dtoClass).getType());
+		final Map<Integer, T> dtos = new HashMap<>();
+		
+		for (final List<Integer> chunk : BatchHelper.partition(BatchHelper.distinctIds(ids), this.batchProperties.getChunkSize())) {
+			final var response = this.restTemplate
+					.exchange(apiUrl + "/batch", HttpMethod.POST, new HttpEntity<>(chunk), responseType)
+					.getBody();
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(dto -> dtos.put(idMapper.apply(dto), dto));
+		}
+		
+		return dtos;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,102 @@
+package com.selimhorri.app.client;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class RemoteCallGuard implements DisposableBean {
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry;
+	private final TimeLimiterRegistry timeLimiterRegistry;
+	private final ScheduledExecutorService scheduler;
+	
+	public RemoteCallGuard(final CircuitBreakerRegistry circuitBreakerRegistry,
+			final ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry, final TimeLimiterRegistry timeLimiterRegistry) {
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.threadPoolBulkheadRegistry = threadPoolBulkheadRegistry;
+		this.timeLimiterRegistry = timeLimiterRegistry;
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "remote-call-time-limiter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	public <T> CompletableFuture<T> supply(final String apiUrl, final Supplier<T> call) {
+		final String instanceName = instanceName(apiUrl);
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(instanceName);
+		final ThreadPoolBulkhead threadPoolBulkhead = this.threadPoolBulkheadRegistry.bulkhead(instanceName);
+		final TimeLimiter timeLimiter = this.timeLimiterRegistry.timeLimiter(instanceName);
+		return circuitBreaker.executeCompletionStage(() -> timeLimiter
+				.executeCompletionStage(this.scheduler, () -> threadPoolBulkhead.executeSupplier(call)))
+			.toCompletableFuture();
+	}
+	
+	public static String instanceName(final String apiUrl) {
+		final String[] words = URI.create(apiUrl).getHost().toLowerCase().split("-");
+		return words[0] + Arrays.stream(words, 1, words.length)
+				.map(word -> Character.toUpperCase(word.charAt(0)) + word.substring(1))
+				.collect(Collectors.joining());
+	}
+	
+	public static boolean isUnavailable(final Throwable throwable) {
+		final Throwable cause = (throwable instanceof CompletionException || throwable instanceof ExecutionException)
+				&& throwable.getCause() != null ? throwable.getCause() : throwable;
+		return cause instanceof CallNotPermittedException
+				|| cause instanceof BulkheadFullException
+				|| cause instanceof TimeoutException
+				|| cause instanceof ResourceAccessException
+				|| cause instanceof HttpServerErrorException;
+	}
+	
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		this.threadPoolBulkheadRegistry.getAllBulkheads().forEach(threadPoolBulkhead -> {
+			try {
+				threadPoolBulkhead.close();
+			}
+			catch (Exception e) {
+				log.warn("*** remote call bulkhead {} did not close cleanly; {} *", threadPoolBulkhead.getName(), e.getMessage());
+			}
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,103 @@
+package com.selimhorri.app.client;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.NearCacheProperties;
+import com.selimhorri.app.helper.BatchHelper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RemoteDtoCache {
+	
+	private final RestTemplate restTemplate;
+	private final RemoteBatchClient remoteBatchClient;
+	private final RemoteCallGuard remoteCallGuard;
+	private final HedgedRequestClient hedgedRequestClient;
+	private final NearCacheProperties nearCacheProperties;
+	private final Map<String, AsyncLoadingCache<Integer, ?>> caches = new ConcurrentHashMap<>();
+	
+	public <T> T findById(final String apiUrl, final Integer id, 
+			final Class<T> dtoClass, final Function<T, Integer> idMapper, final T fallback) {
+		log.info("*** {}, near cache; fetch by id *", dtoClass.getSimpleName());
+		return join(apiUrl, () -> this.cache(apiUrl, dtoClass, idMapper).get(id).join(), fallback);
+	}
+	
+	public <T> Map<Integer, T> findAllByIds(final String apiUrl, final Collection<Integer> ids, 
+			final Class<T> dtoClass, final Function<T, Integer> idMapper) {
+		log.info("*** {} Map, near cache; fetch all by ids *", dtoClass.getSimpleName());
+		return join(apiUrl, () -> this.cache(apiUrl, dtoClass, idMapper).getAll(BatchHelper.distinctIds(ids)).join(), Map.of());
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> AsyncLoadingCache<Integer, T> cache(final String apiUrl, 
+			final Class<T> dtoClass, final Function<T, Integer> idMapper) {
+		return (AsyncLoadingCache<Integer, T>) this.caches.computeIfAbsent(apiUrl, url -> Caffeine.newBuilder()
+				.maximumSize(this.nearCacheProperties.getMaxSize())
+				.expireAfterWrite(this.nearCacheProperties.getExpireAfterWrite())
+				.refreshAfterWrite(this.nearCacheProperties.getRefreshAfterWrite())
+				.buildAsync(new AsyncCacheLoader<Integer, T>() {
+					
+					@Override
+					public CompletableFuture<T> asyncLoad(final Integer id, final Executor executor) {
+						return remoteCallGuard.supply(url, () -> hedgedRequestClient.isHedged(url) 
+								? hedgedRequestClient.getForObject(url + "/" + id, dtoClass) 
+								: restTemplate.getForObject(url + "/" + id, dtoClass));
+					}
+					
+					@Override
+					public CompletableFuture<Map<Integer, T>> asyncLoadAll(final Iterable<? extends Integer> ids, final Executor executor) {
+						return remoteCallGuard.supply(url, () -> remoteBatchClient.findAllByIds(url, StreamSupport
+								.stream(ids.spliterator(), false)
+								.collect(Collectors.toUnmodifiableList()), dtoClass, idMapper));
+					}
+					
+				}));
+	}
+	
+	private static <R> R join(final String apiUrl, final Supplier<R> lookup, final R fallback) {
+		try {
+			return lookup.get();
+		}
+		catch (CompletionException e) {
+			if (RemoteCallGuard.isUnavailable(e)) {
+				log.warn("*** {} unavailable, falling back; {} *", RemoteCallGuard.instanceName(apiUrl), e.getCause().toString());
+				return fallback;
+			}
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,19 @@
+package com.selimhorri.app.config.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.batch")
+@Data
+public class BatchProperties {
+	
+	private int maxSize = 1000;
+	private int chunkSize = 500;
+	
+}
+
+
+
@@ -0,0 +1,22 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.near-cache")
+@Data
+public class NearCacheProperties {
+	
+	private long maxSize = 10000;
+	private Duration expireAfterWrite = Duration.ofSeconds(60);
+	private Duration refreshAfterWrite = Duration.ofSeconds(15);
+	
+}
+
+
+
@@ -0,0 +1,72 @@
+package com.selimhorri.app.config.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class ClientConfig {
+	
+	private final HttpClientProperties httpClientProperties;
+	
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager poolingHttpClientConnectionManager() {
+		final var connectionManager = new PoolingHttpClientConnectionManager(
+				this.httpClientProperties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(this.httpClientProperties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(this.httpClientProperties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) this.httpClientProperties.getValidateAfterInactivity().toMillis());
+		return connectionManager;
+	}
+	
+	@Bean
+	public CloseableHttpClient closeableHttpClient(final PoolingHttpClientConnectionManager poolingHttpClientConnectionManager) {
+		return HttpClients.custom()
+				.setConnectionManager(poolingHttpClientConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) this.httpClientProperties.getConnectTimeout().toMillis())
+						.setSocketTimeout((int) this.httpClientProperties.getReadTimeout().toMillis())
+						.setConnectionRequestTimeout((int) this.httpClientProperties.getConnectionRequestTimeout().toMillis())
+						.build())
+				.evictIdleConnections(this.httpClientProperties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.evictExpiredConnections()
+				.build();
+	}
+	
+	@Bean
+	public MeterBinder httpClientPoolMetrics(final PoolingHttpClientConnectionManager poolingHttpClientConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(poolingHttpClientConnectionManager, "rest-client");
+	}
+	
+	@LoadBalanced
+	@Bean
+	public RestTemplate restTemplateBean(final CloseableHttpClient closeableHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(closeableHttpClient));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.hedging")
+@Data
+public class HedgingProperties {
+	
+	private boolean enabled = false;
+	private Set<String> services = new HashSet<>();
+	private double delayPercentile = 0.95;
+	private Duration minDelay = Duration.ofMillis(10);
+	private Duration maxDelay = Duration.ofMillis(500);
+	private long minSamples = 50;
+	private Duration latencyWindow = Duration.ofMinutes(1);
+	private double budgetRatio = 0.05;
+	private int budgetBurst = 10;
+	
+}
+
+
+
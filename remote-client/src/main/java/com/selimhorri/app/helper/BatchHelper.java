@@ -0,0 +1,38 @@
+package com.selimhorri.app.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public interface BatchHelper {
+	
+	public static List<Integer> distinctIds(final Collection<Integer> ids) {
+		return ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toList());
+	}
+	
+	public static <T> List<List<T>> partition(final List<T> items, final int chunkSize) {
+		final int size = Math.max(chunkSize, 1);
+		final List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+		for (int from = 0; from < items.size(); from += size)
+			chunks.add(items.subList(from, Math.min(from + size, items.size())));
+		return chunks;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
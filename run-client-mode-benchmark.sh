@@ -0,0 +1,96 @@
+#!/bin/bash
+
+# Compara throughput, latencia y errores del proxy-client entre el modo Feign y el modo WebClient reactivo
+# Uso: ./run-client-mode-benchmark.sh [puerto] [ruta] [peticiones] [concurrencia]
+# Requiere service-discovery y los servicios de destino en ejecución, y la herramienta de carga "hey" (https://github.com/rakyll/hey)
+
+# Colores para output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+# Variables
+SERVICE=proxy-client
+PORT=${1:-8900}
+ENDPOINT=${2:-/app/api/products}
+REQUESTS=${3:-20000}
+CONCURRENCY=${4:-400}
+EUREKA_URL=${EUREKA_CLIENT_SERVICEURL_DEFAULTZONE:-http://localhost:8761/eureka/}
+REPORT_DIR="reports/benchmarks"
+REPORT_FILE="${REPORT_DIR}/client-mode-${SERVICE}.md"
+
+echo -e "${BLUE}🚀 Benchmark de modos de cliente para ${SERVICE}${NC}"
+
+# Verificar herramientas necesarias
+if ! command -v hey &> /dev/null; then
+    echo -e "${RED}❌ hey no está instalado. Instálalo con: go install github.com/rakyll/hey@latest${NC}"
+    exit 1
+fi
+
+if ! curl -sf "${EUREKA_URL%/eureka/}/actuator/health" > /dev/null; then
+    echo -e "${RED}❌ service-discovery no responde en ${EUREKA_URL}. Arranca el registro y los servicios de destino.${NC}"
+    exit 1
+fi
+
+# Construir el servicio
+echo -e "${BLUE}🔨 Construyendo ${SERVICE}...${NC}"
+mvn -B -q -pl "${SERVICE}" -am package -DskipTests || exit 1
+JAR=$(ls "${SERVICE}"/target/"${SERVICE}"-v*.jar | head -n 1)
+
+mkdir -p "${REPORT_DIR}"
+echo "# Benchmark de modos de cliente - ${SERVICE}" > "${REPORT_FILE}"
+echo "" >> "${REPORT_FILE}"
+echo "GET ${ENDPOINT} - ${REQUESTS} peticiones, concurrencia ${CONCURRENCY}" >> "${REPORT_FILE}"
+echo "" >> "${REPORT_FILE}"
+echo "| Modo | Peticiones/s | p50 (s) | p99 (s) | Respuestas no 2xx | Hilos en vivo |" >> "${REPORT_FILE}"
+echo "|------|--------------|---------|---------|-------------------|---------------|" >> "${REPORT_FILE}"
+
+# Función para ejecutar el benchmark en un modo
+run_benchmark() {
+    local mode=$1
+    local log_file="${REPORT_DIR}/${SERVICE}-${mode}.log"
+
+    echo -e "${YELLOW}📋 Arrancando ${SERVICE} en modo ${mode}...${NC}"
+    java -jar "${JAR}" \
+        --server.port="${PORT}" \
+        --eureka.client.service-url.defaultZone="${EUREKA_URL}" \
+        --logging.level.root=WARN \
+        --app.client.mode="${mode}" > "${log_file}" 2>&1 &
+    local pid=$!
+
+    # Esperar a que el servicio esté disponible
+    for i in $(seq 1 60); do
+        if curl -sf "http://localhost:${PORT}/app/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 2
+    done
+
+    # Calentamiento de la JVM y de los pools de conexiones
+    hey -n 2000 -c 50 "http://localhost:${PORT}${ENDPOINT}" > /dev/null
+
+    local result
+    result=$(hey -n "${REQUESTS}" -c "${CONCURRENCY}" "http://localhost:${PORT}${ENDPOINT}")
+    local rps
+    rps=$(echo "${result}" | awk '/Requests\/sec/ {print $2}')
+    local p50
+    p50=$(echo "${result}" | awk '/50% in/ {print $3}')
+    local p99
+    p99=$(echo "${result}" | awk '/99% in/ {print $3}')
+    local errors
+    errors=$(echo "${result}" | awk '/\[[0-9]+\]/ { gsub(/[\[\]]/, "", $1); if ($1 !~ /^2/) sum += $2 } END { print sum + 0 }')
+    local threads
+    threads=$(jcmd "${pid}" Thread.print 2> /dev/null | grep -c '^"')
+
+    kill "${pid}" && wait "${pid}" 2> /dev/null
+
+    echo -e "${GREEN}✅ ${mode}: ${rps} peticiones/s, p50 ${p50}s, p99 ${p99}s, ${errors} respuestas no 2xx, ${threads} hilos${NC}"
+    echo "| ${mode} | ${rps} | ${p50} | ${p99} | ${errors} | ${threads} |" >> "${REPORT_FILE}"
+}
+
+run_benchmark "feign"
+run_benchmark "reactive"
+
+echo -e "${BLUE}📁 Resultados guardados en: ${REPORT_FILE}${NC}"
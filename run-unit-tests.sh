@@ -55,6 +55,10 @@ run_service_tests() {
     fi
 }
 
+# Instalar los módulos compartidos de los que dependen los servicios
+echo -e "\n${BLUE}📦 Instalando módulos compartidos...${NC}"
+./mvnw -q -pl load-balancer,remote-client -am install -DskipTests || exit 1
+
 # Crear directorio para reportes
 mkdir -p reports/unit-tests
 mkdir -p reports/coverage
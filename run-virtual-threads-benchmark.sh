@@ -0,0 +1,94 @@
+#!/bin/bash
+
+# Compara throughput y latencia p99 entre el pool de hilos de Tomcat y el modo de hilos virtuales
+# Uso: ./run-virtual-threads-benchmark.sh [servicio] [puerto] [ruta] [peticiones] [concurrencia]
+# Requiere JAVA_HOME apuntando a un JDK 21+ y la herramienta de carga "hey" (https://github.com/rakyll/hey)
+
+# Colores para output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m'
+
+# Variables
+SERVICE=${1:-product-service}
+PORT=${2:-8500}
+ENDPOINT=${3:-/product-service/api/products}
+REQUESTS=${4:-20000}
+CONCURRENCY=${5:-400}
+JAVA_BIN=${JAVA_HOME:+${JAVA_HOME}/bin/}java
+REPORT_DIR="reports/benchmarks"
+REPORT_FILE="${REPORT_DIR}/virtual-threads-${SERVICE}.md"
+
+echo -e "${BLUE}🚀 Benchmark de hilos virtuales para ${SERVICE}${NC}"
+
+# Verificar herramientas necesarias
+if ! command -v hey &> /dev/null; then
+    echo -e "${RED}❌ hey no está instalado. Instálalo con: go install github.com/rakyll/hey@latest${NC}"
+    exit 1
+fi
+
+JAVA_FEATURE=$("${JAVA_BIN}" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_FEATURE%%.*}" -lt 21 ]; then
+    echo -e "${RED}❌ Se requiere un JDK 21+ (encontrado: ${JAVA_FEATURE}). Configura JAVA_HOME.${NC}"
+    exit 1
+fi
+
+# Construir el servicio
+echo -e "${BLUE}🔨 Construyendo ${SERVICE}...${NC}"
+mvn -B -q -pl "${SERVICE}" -am package -DskipTests || exit 1
+JAR=$(ls "${SERVICE}"/target/"${SERVICE}"-v*.jar | head -n 1)
+
+mkdir -p "${REPORT_DIR}"
+echo "# Benchmark de hilos virtuales - ${SERVICE}" > "${REPORT_FILE}"
+echo "" >> "${REPORT_FILE}"
+echo "GET ${ENDPOINT} - ${REQUESTS} peticiones, concurrencia ${CONCURRENCY}, $("${JAVA_BIN}" -version 2>&1 | head -n 1)" >> "${REPORT_FILE}"
+echo "" >> "${REPORT_FILE}"
+echo "| Modo | Peticiones/s | p99 (s) | Hilos fijados (pinned) |" >> "${REPORT_FILE}"
+echo "|------|--------------|---------|------------------------|" >> "${REPORT_FILE}"
+
+# Función para ejecutar el benchmark en un modo
+run_benchmark() {
+    local mode=$1
+    local virtual_threads=$2
+    local log_file="${REPORT_DIR}/${SERVICE}-${mode}.log"
+
+    echo -e "${YELLOW}📋 Arrancando ${SERVICE} en modo ${mode}...${NC}"
+    "${JAVA_BIN}" -Djdk.tracePinnedThreads=short -jar "${JAR}" \
+        --server.port="${PORT}" \
+        --eureka.client.enabled=false \
+        --logging.level.root=WARN \
+        --app.virtual-threads.enabled="${virtual_threads}" > "${log_file}" 2>&1 &
+    local pid=$!
+
+    # Esperar a que el servicio esté disponible
+    for i in $(seq 1 60); do
+        if curl -sf "http://localhost:${PORT}/${SERVICE}/actuator/health" > /dev/null; then
+            break
+        fi
+        sleep 2
+    done
+
+    # Calentamiento de la JVM
+    hey -n 2000 -c 50 "http://localhost:${PORT}${ENDPOINT}" > /dev/null
+
+    local result
+    result=$(hey -n "${REQUESTS}" -c "${CONCURRENCY}" "http://localhost:${PORT}${ENDPOINT}")
+    local rps
+    rps=$(echo "${result}" | awk '/Requests\/sec/ {print $2}')
+    local p99
+    p99=$(echo "${result}" | awk '/99% in/ {print $3}')
+    local pinned
+    pinned=$(grep -c "reason:\|onPinned" "${log_file}")
+
+    kill "${pid}" && wait "${pid}" 2> /dev/null
+
+    echo -e "${GREEN}✅ ${mode}: ${rps} peticiones/s, p99 ${p99}s, ${pinned} eventos de pinning${NC}"
+    echo "| ${mode} | ${rps} | ${p99} | ${pinned} |" >> "${REPORT_FILE}"
+}
+
+run_benchmark "platform" "false"
+run_benchmark "virtual" "true"
+
+echo -e "${BLUE}📁 Resultados guardados en: ${REPORT_FILE}${NC}"
@@ -0,0 +1,60 @@
+package com.selimhorri.app.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class RemoteEnrichmentExecutor implements DisposableBean {
+	
+	private final ThreadPoolTaskExecutor executor;
+	private final long timeoutMillis;
+	
+	public RemoteEnrichmentExecutor(final EnrichmentProperties enrichmentProperties) {
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setCorePoolSize(enrichmentProperties.getPoolSize());
+		this.executor.setMaxPoolSize(enrichmentProperties.getPoolSize());
+		this.executor.setQueueCapacity(enrichmentProperties.getQueueCapacity());
+		this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		this.executor.setThreadNamePrefix("remote-enrichment-");
+		this.executor.initialize();
+		this.timeoutMillis = enrichmentProperties.getTimeout().toMillis();
+	}
+	
+	public <T> CompletableFuture<T> supply(final Supplier<T> lookup, final T fallback) {
+		return CompletableFuture.supplyAsync(lookup, this.executor)
+				.completeOnTimeout(fallback, this.timeoutMillis, TimeUnit.MILLISECONDS)
+				.exceptionally(e -> {
+					log.warn("*** remote enrichment failed, falling back; {} *", e.getMessage());
+					return fallback;
+				});
+	}
+	
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
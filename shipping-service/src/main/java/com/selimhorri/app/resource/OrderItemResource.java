@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.domain.id.OrderItemId;
@@ -30,9 +33,19 @@ public class OrderItemResource {
 	private final OrderItemService orderItemService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll(
+			@RequestParam(name = "cursor", required = false) final String cursor, 
+			@RequestParam(name = "size", required = false) final Integer size) {
 		log.info("*** OrderItemDto List, controller; fetch all orderItems *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
+		return ResponseEntity.ok(this.orderItemService.findAll(cursor, size));
+	}
+	
+	@GetMapping(params = "orderId")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderId(
+			@RequestParam("orderId") 
+			@NotNull(message = "Input must not be NULL") final Integer orderId) {
+		log.info("*** OrderItemDto List, controller; fetch all orderItems by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAllByOrderId(orderId)));
 	}
 	
 	@GetMapping("/{orderId}/{productId}")
@@ -62,6 +75,15 @@ public class OrderItemResource {
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, resource; save all orderItems in bulk *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.saveAll(orderItemDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderItemDto> update(
 			@RequestBody 
@@ -80,6 +102,15 @@ public class OrderItemResource {
 		return ResponseEntity.ok(true);
 	}
 	
+	@DeleteMapping(params = "orderId")
+	public ResponseEntity<Boolean> deleteAllByOrderId(
+			@RequestParam("orderId") 
+			@NotNull(message = "Input must not be NULL") final Integer orderId) {
+		log.info("*** Boolean, resource; delete all orderItems by order id *");
+		this.orderItemService.deleteAllByOrderId(orderId);
+		return ResponseEntity.ok(true);
+	}
+	
 	@DeleteMapping("/delete")
 	public ResponseEntity<Boolean> deleteById(
 			@RequestBody 
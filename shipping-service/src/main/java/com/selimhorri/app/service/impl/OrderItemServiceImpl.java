@@ -1,19 +1,29 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.client.RemoteEnrichmentExecutor;
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
@@ -28,40 +38,58 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteDtoCache remoteDtoCache;
+	private final RemoteEnrichmentExecutor remoteEnrichmentExecutor;
+	private final PaginationProperties paginationProperties;
+	private final BatchProperties batchProperties;
 	
 	@Override
-	public List<OrderItemDto> findAll() {
-		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
-				.stream()
+	public DtoCollectionResponse<OrderItemDto> findAll(final String cursor, final Integer size) {
+		log.info("*** OrderItemDto Page, service; fetch orderItems after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		final var pageable = PageRequest.of(0, pageSize + 1);
+		final List<OrderItem> orderItems;
+		if (cursor == null || cursor.isBlank())
+			orderItems = this.orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(pageable);
+		else {
+			final OrderItemId after = CursorHelper.decode(cursor, keys -> new OrderItemId(
+					Integer.parseInt(keys.get(0)), Integer.parseInt(keys.get(1))));
+			orderItems = this.orderItemRepository.findAllAfter(after.getProductId(), after.getOrderId(), pageable);
+		}
+		return CursorHelper.page(this.withProductAndOrderDtos(orderItems.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList())), 
+				pageSize, o -> CursorHelper.encode(o.getProductId(), o.getOrderId()));
 	}
 	
 	@Override
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
-		return this.orderItemRepository.findById(null)
+		return this.orderItemRepository.findById(orderItemId)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
+					final CompletableFuture<ProductDto> productDto = this.remoteEnrichmentExecutor.supply(() -> this.remoteDtoCache
+							.findById(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL, 
+									o.getProductDto().getProductId(), ProductDto.class, ProductDto::getProductId, o.getProductDto()), o.getProductDto());
+					final CompletableFuture<OrderDto> orderDto = this.remoteEnrichmentExecutor.supply(() -> this.remoteDtoCache
+							.findById(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL, 
+									o.getOrderDto().getOrderId(), OrderDto.class, OrderDto::getOrderId, o.getOrderDto()), o.getOrderDto());
+					o.setProductDto(productDto.join());
+					o.setOrderDto(orderDto.join());
 					return o;
 				})
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
+	@Override
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch all orderItems by order id *");
+		return this.orderItemRepository.findAllByOrderIdOrderByProductIdAsc(orderId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
@@ -69,6 +97,21 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.save(OrderItemMappingHelper.map(orderItemDto)));
 	}
 	
+	@Override
+	public List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save all orderItems *");
+		if (orderItemDtos.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d orderItems exceeds the maximum of %d", 
+					orderItemDtos.size(), this.batchProperties.getMaxSize()));
+		return this.orderItemRepository.saveAll(orderItemDtos
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
@@ -82,6 +125,33 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	@Override
+	public void deleteAllByOrderId(final Integer orderId) {
+		log.info("*** Void, service; delete all orderItems by order id *");
+		this.orderItemRepository.deleteAllByOrderId(orderId);
+	}
+	
+	private List<OrderItemDto> withProductAndOrderDtos(final List<OrderItemDto> orderItemDtos) {
+		final CompletableFuture<Map<Integer, ProductDto>> productDtoLookup = this.remoteEnrichmentExecutor
+				.supply(() -> this.remoteDtoCache.findAllByIds(
+						AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+						orderItemDtos.stream().map(o -> o.getProductDto().getProductId()).collect(Collectors.toSet()),
+						ProductDto.class, ProductDto::getProductId), Map.of());
+		final CompletableFuture<Map<Integer, OrderDto>> orderDtoLookup = this.remoteEnrichmentExecutor
+				.supply(() -> this.remoteDtoCache.findAllByIds(
+						AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL,
+						orderItemDtos.stream().map(o -> o.getOrderDto().getOrderId()).collect(Collectors.toSet()),
+						OrderDto.class, OrderDto::getOrderId), Map.of());
+		final Map<Integer, ProductDto> productDtos = productDtoLookup.join();
+		final Map<Integer, OrderDto> orderDtos = orderDtoLookup.join();
+		
+		orderItemDtos.forEach(o -> {
+			o.setProductDto(productDtos.getOrDefault(o.getProductDto().getProductId(), o.getProductDto()));
+			o.setOrderDto(orderDtos.getOrDefault(o.getOrderDto().getOrderId(), o.getOrderDto()));
+		});
+		return orderItemDtos;
+	}
+	
 	
 	
 }
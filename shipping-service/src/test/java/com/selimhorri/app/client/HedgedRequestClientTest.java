@@ -0,0 +1,129 @@
+package com.selimhorri.app.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.selimhorri.app.config.client.HedgingProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("HedgedRequestClient Unit Tests")
+class HedgedRequestClientTest {
+
+    private static final String PRODUCT_SERVICE = "PRODUCT-SERVICE";
+    private static final String PRODUCT_PATH = "/product-service/api/products/1";
+    private static final String PRODUCT_JSON = "{\"productId\":1,\"productTitle\":\"Laptop ASUS\"}";
+
+    private WireMockServer slowInstance;
+    private WireMockServer fastInstance;
+    private CloseableHttpClient closeableHttpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private HedgingProperties hedgingProperties;
+    private HedgedRequestClient hedgedRequestClient;
+
+    @BeforeEach
+    void setUp() {
+        slowInstance = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        fastInstance = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        slowInstance.start();
+        fastInstance.start();
+        slowInstance.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON).withFixedDelay(2000)));
+        fastInstance.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON)));
+
+        ServiceInstance slow = new DefaultServiceInstance("slow", PRODUCT_SERVICE, "localhost", slowInstance.port(), false);
+        ServiceInstance fast = new DefaultServiceInstance("fast", PRODUCT_SERVICE, "localhost", fastInstance.port(), false);
+        LoadBalancerClient loadBalancerClient = mock(LoadBalancerClient.class);
+        when(loadBalancerClient.choose(PRODUCT_SERVICE)).thenReturn(slow);
+        when(loadBalancerClient.reconstructURI(any(), any())).thenAnswer(invocation -> LoadBalancerUriTools
+                .reconstructURI(invocation.getArgument(0), invocation.<URI>getArgument(1)));
+        DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+        when(discoveryClient.getInstances(PRODUCT_SERVICE)).thenReturn(List.of(slow, fast));
+
+        hedgingProperties = new HedgingProperties();
+        hedgingProperties.setEnabled(true);
+        hedgingProperties.setServices(Set.of(PRODUCT_SERVICE));
+        hedgingProperties.setMaxDelay(Duration.ofMillis(50));
+        closeableHttpClient = HttpClients.createDefault();
+        meterRegistry = new SimpleMeterRegistry();
+        hedgedRequestClient = new HedgedRequestClient(closeableHttpClient, loadBalancerClient, discoveryClient,
+                hedgingProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        hedgedRequestClient.destroy();
+        closeableHttpClient.close();
+        slowInstance.stop();
+        fastInstance.stop();
+    }
+
+    @Test
+    @DisplayName("Should answer from a second instance when the first one is slow")
+    void shouldAnswerFromHedgeWhenPrimaryIsSlow() throws InterruptedException {
+        // Given
+        String url = AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1";
+        long start = System.nanoTime();
+
+        // When
+        ProductDto productDto = hedgedRequestClient.getForObject(url, ProductDto.class);
+
+        // Then
+        assertTrue(hedgedRequestClient.isHedged(url));
+        assertEquals(1, productDto.getProductId());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1500);
+        assertEquals(1.0d, meterRegistry.get("remote.call.hedges").tag("outcome", "fired").counter().count());
+        assertEquals(1.0d, awaitCount("won"));
+        fastInstance.verify(1, getRequestedFor(urlEqualTo(PRODUCT_PATH)));
+    }
+
+    @Test
+    @DisplayName("Should wait for the first instance once the hedge budget is spent")
+    void shouldNotHedgeOnceBudgetIsSpent() {
+        // Given
+        hedgingProperties.setBudgetBurst(0);
+        hedgingProperties.setBudgetRatio(0.0d);
+        slowInstance.stubFor(get(urlEqualTo(PRODUCT_PATH)).willReturn(okJson(PRODUCT_JSON).withFixedDelay(300)));
+
+        // When
+        ProductDto productDto = hedgedRequestClient.getForObject(
+                AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1", ProductDto.class);
+
+        // Then
+        assertEquals(1, productDto.getProductId());
+        assertEquals(1.0d, meterRegistry.get("remote.call.hedges").tag("outcome", "throttled").counter().count());
+        assertNull(meterRegistry.find("remote.call.hedges").tag("outcome", "fired").counter());
+        fastInstance.verify(0, getRequestedFor(urlEqualTo(PRODUCT_PATH)));
+    }
+
+    private double awaitCount(String outcome) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (meterRegistry.find("remote.call.hedges").tag("outcome", outcome).counter() == null
+                && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        return meterRegistry.get("remote.call.hedges").tag("outcome", outcome).counter().count();
+    }
+
+}
@@ -2,6 +2,8 @@ package com.selimhorri.app.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -9,6 +11,7 @@ import static org.mockito.Mockito.*;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +20,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.client.RemoteDtoCache;
+import com.selimhorri.app.client.RemoteEnrichmentExecutor;
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.enrichment.EnrichmentProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
 
@@ -36,7 +46,16 @@ class OrderItemServiceImplTest {
     private OrderItemRepository orderItemRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private RemoteDtoCache remoteDtoCache;
+
+    @Spy
+    private RemoteEnrichmentExecutor remoteEnrichmentExecutor = new RemoteEnrichmentExecutor(new EnrichmentProperties());
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
 
     @InjectMocks
     private OrderItemServiceImpl orderItemService;
@@ -87,18 +106,18 @@ class OrderItemServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should return all order items with product and order details")
-    void shouldReturnAllOrderItemsWithDetails() {
+    @DisplayName("Should return a page of order items with product and order details")
+    void shouldReturnPageOfOrderItemsWithDetails() {
         // Given
         List<OrderItem> orderItems = Arrays.asList(mockOrderItem);
-        when(orderItemRepository.findAll()).thenReturn(orderItems);
-        when(restTemplate.getForObject(contains("/products/1"), eq(ProductDto.class)))
-                .thenReturn(mockProductDto);
-        when(restTemplate.getForObject(contains("/orders/1"), eq(OrderDto.class)))
-                .thenReturn(mockOrderDto);
+        when(orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, 21))).thenReturn(orderItems);
+        when(remoteDtoCache.findAllByIds(contains("/products"), anyCollection(), eq(ProductDto.class), any()))
+                .thenReturn(Map.of(1, mockProductDto));
+        when(remoteDtoCache.findAllByIds(contains("/orders"), anyCollection(), eq(OrderDto.class), any()))
+                .thenReturn(Map.of(1, mockOrderDto));
 
         // When
-        List<OrderItemDto> result = orderItemService.findAll();
+        List<OrderItemDto> result = List.copyOf(orderItemService.findAll(null, null).getCollection());
 
         // Then
         assertNotNull(result);
@@ -108,9 +127,29 @@ class OrderItemServiceImplTest {
         assertNotNull(result.get(0).getOrderDto());
         assertEquals("Test Product", result.get(0).getProductDto().getProductTitle());
         assertEquals("Test Order", result.get(0).getOrderDto().getOrderDesc());
-        verify(orderItemRepository, times(1)).findAll();
-        verify(restTemplate, times(1)).getForObject(contains("/products/1"), eq(ProductDto.class));
-        verify(restTemplate, times(1)).getForObject(contains("/orders/1"), eq(OrderDto.class));
+        verify(orderItemRepository, times(1)).findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, 21));
+        verify(remoteDtoCache, times(1)).findAllByIds(contains("/products"), anyCollection(), eq(ProductDto.class), any());
+        verify(remoteDtoCache, times(1)).findAllByIds(contains("/orders"), anyCollection(), eq(OrderDto.class), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to bare ids when a remote lookup fails")
+    void shouldFallBackToBareIdsWhenLookupFails() {
+        // Given
+        when(orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, 21))).thenReturn(Arrays.asList(mockOrderItem));
+        when(remoteDtoCache.findAllByIds(contains("/products"), anyCollection(), eq(ProductDto.class), any()))
+                .thenThrow(new IllegalStateException("product-service unavailable"));
+        when(remoteDtoCache.findAllByIds(contains("/orders"), anyCollection(), eq(OrderDto.class), any()))
+                .thenReturn(Map.of(1, mockOrderDto));
+
+        // When
+        List<OrderItemDto> result = List.copyOf(orderItemService.findAll(null, null).getCollection());
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getProductDto().getProductId());
+        assertNull(result.get(0).getProductDto().getProductTitle());
+        assertEquals("Test Order", result.get(0).getOrderDto().getOrderDesc());
     }
 
     @Test
@@ -176,6 +215,53 @@ class OrderItemServiceImplTest {
         verify(orderItemRepository, times(1)).deleteById(mockOrderItemId);
     }
 
+    @Test
+    @DisplayName("Should save all order items of a checkout in one bulk call")
+    void shouldSaveAllOrderItemsInBulk() {
+        // Given
+        OrderItem otherOrderItem = OrderItem.builder()
+                .productId(2)
+                .orderId(1)
+                .orderedQuantity(3)
+                .build();
+        when(orderItemRepository.saveAll(anyList())).thenReturn(List.of(mockOrderItem, otherOrderItem));
+
+        // When
+        List<OrderItemDto> result = orderItemService.saveAll(List.of(mockOrderItemDto, OrderItemDto.builder()
+                .productId(2)
+                .orderId(1)
+                .orderedQuantity(3)
+                .build()));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(3, result.get(1).getOrderedQuantity());
+        verify(orderItemRepository, times(1)).saveAll(anyList());
+        verifyNoInteractions(remoteDtoCache);
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk save larger than the batch maximum")
+    void shouldRejectOversizedBulkSave() {
+        // Given
+        batchProperties.setMaxSize(1);
+
+        // When / Then
+        assertThrows(BatchSizeExceededException.class,
+                () -> orderItemService.saveAll(List.of(mockOrderItemDto, mockOrderItemDto)));
+        verify(orderItemRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should delete every order item of an order in one statement")
+    void shouldDeleteAllOrderItemsByOrderId() {
+        // When
+        orderItemService.deleteAllByOrderId(1);
+
+        // Then
+        verify(orderItemRepository, times(1)).deleteAllByOrderId(1);
+    }
+
     @Test
     @DisplayName("Should validate ordered quantity is positive")
     void shouldValidateOrderedQuantityIsPositive() {
@@ -209,14 +295,14 @@ class OrderItemServiceImplTest {
     void shouldHandleExternalServiceIntegration() {
         // Given
         List<OrderItem> orderItems = Arrays.asList(mockOrderItem);
-        when(orderItemRepository.findAll()).thenReturn(orderItems);
-        when(restTemplate.getForObject(anyString(), eq(ProductDto.class)))
-                .thenReturn(mockProductDto);
-        when(restTemplate.getForObject(anyString(), eq(OrderDto.class)))
-                .thenReturn(mockOrderDto);
+        when(orderItemRepository.findAllByOrderByProductIdAscOrderIdAsc(PageRequest.of(0, 21))).thenReturn(orderItems);
+        when(remoteDtoCache.findAllByIds(anyString(), anyCollection(), eq(ProductDto.class), any()))
+                .thenReturn(Map.of(1, mockProductDto));
+        when(remoteDtoCache.findAllByIds(anyString(), anyCollection(), eq(OrderDto.class), any()))
+                .thenReturn(Map.of(1, mockOrderDto));
 
         // When
-        List<OrderItemDto> result = orderItemService.findAll();
+        List<OrderItemDto> result = List.copyOf(orderItemService.findAll(null, null).getCollection());
 
         // Then
         assertNotNull(result);
@@ -226,9 +312,9 @@ class OrderItemServiceImplTest {
         assertNotNull(orderItemDto.getProductDto());
         assertNotNull(orderItemDto.getOrderDto());
         
-        // Verify external service calls
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(ProductDto.class));
-        verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+        // Verify external service calls are batched
+        verify(remoteDtoCache, times(1)).findAllByIds(anyString(), anyCollection(), eq(ProductDto.class), any());
+        verify(remoteDtoCache, times(1)).findAllByIds(anyString(), anyCollection(), eq(OrderDto.class), any());
         
         // Verify data integrity
         assertEquals(mockProductDto.getProductTitle(), orderItemDto.getProductDto().getProductTitle());
@@ -0,0 +1,68 @@
+package com.selimhorri.app.client;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.internal.InternalApiProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.event.CredentialChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@Slf4j
+public class ProxyClientCacheInvalidator {
+	
+	private final DiscoveryClient discoveryClient;
+	private final RestTemplate restTemplate;
+	private final InternalApiProperties internalApiProperties;
+	
+	public ProxyClientCacheInvalidator(final DiscoveryClient discoveryClient, final CloseableHttpClient closeableHttpClient, 
+			final InternalApiProperties internalApiProperties) {
+		final var requestFactory = new HttpComponentsClientHttpRequestFactory(closeableHttpClient);
+		requestFactory.setConnectTimeout(1000);
+		requestFactory.setReadTimeout(2000);
+		this.discoveryClient = discoveryClient;
+		this.restTemplate = new RestTemplate(requestFactory);
+		this.internalApiProperties = internalApiProperties;
+	}
+	
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCredentialChanged(final CredentialChangedEvent event) {
+		log.info("*** Void, client; broadcast user cache invalidation for {} *", event.getUsername());
+		final HttpHeaders headers = new HttpHeaders();
+		headers.set(AppConstant.INTERNAL_TOKEN_HEADER, this.internalApiProperties.getToken());
+		for (final ServiceInstance instance : this.discoveryClient.getInstances(AppConstant.PROXY_CLIENT_SERVICE_ID)) {
+			try {
+				this.restTemplate.exchange(instance.getUri() + AppConstant.PROXY_CLIENT_USER_CACHE_PATH + "/{username}", 
+						HttpMethod.DELETE, new HttpEntity<>(headers), Void.class, event.getUsername());
+			}
+			catch (RestClientException e) {
+				log.warn("*** Void, client; could not invalidate {} on {}: {} *", 
+						event.getUsername(), instance.getUri(), e.getMessage());
+			}
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,18 @@
+package com.selimhorri.app.config.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@ConfigurationProperties(prefix = "app.internal-api")
+@Data
+public class InternalApiProperties {
+	
+	private String token = "";
+	
+}
+
+
+
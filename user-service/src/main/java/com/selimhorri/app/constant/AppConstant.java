@@ -10,6 +10,10 @@ public abstract class AppConstant {
 	public static final String LOCAL_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
+	public static final String EXPORT_FETCH_SIZE = "500";
+	public static final String PROXY_CLIENT_SERVICE_ID = "PROXY-CLIENT";
+	public static final String PROXY_CLIENT_USER_CACHE_PATH = "/app/api/internal/cache/users";
+	public static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
 	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
@@ -0,0 +1,27 @@
+package com.selimhorri.app.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxEventType {
+	
+	USER_CREATED("User", "UserCreated"),
+	USER_UPDATED("User", "UserUpdated"),
+	USER_DELETED("User", "UserDeleted");
+	
+	private final String aggregateType;
+	private final String eventType;
+	
+}
+
+
+
+
+
+
+
+
+
+
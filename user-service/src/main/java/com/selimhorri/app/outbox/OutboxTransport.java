@@ -0,0 +1,9 @@
+package com.selimhorri.app.outbox;
+
+import java.util.List;
+
+public interface OutboxTransport {
+	
+	void send(final List<OutboxMessage> outboxMessages);
+	
+}
@@ -1,13 +1,42 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 	
+	@EntityGraph(attributePaths = {"credential"})
+	List<User> findByUserIdGreaterThanOrderByUserIdAsc(final Integer userId, final Pageable pageable);
+	
 	Optional<User> findByCredentialUsername(final String username);
 	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT u FROM User u WHERE u.userId = :userId")
+	Optional<User> findForUpdateByUserId(@Param("userId") final Integer userId);
+	
+	@Query("SELECT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId IN :userIds")
+	List<User> findAllWithCredentialByUserIdIn(@Param("userIds") final Collection<Integer> userIds);
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT u FROM User u LEFT JOIN FETCH u.credential ORDER BY u.userId")
+	Stream<User> streamAllWithCredential();
+	
 }
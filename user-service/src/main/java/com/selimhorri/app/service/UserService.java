@@ -1,13 +1,18 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 
 public interface UserService {
 	
-	List<UserDto> findAll();
+	DtoCollectionResponse<UserDto> findAll(final String cursor, final Integer size);
+	void exportAll(final Consumer<UserDto> userDtoConsumer);
 	UserDto findById(final Integer userId);
+	List<UserDto> findAllByIds(final Collection<Integer> userIds);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
@@ -1,15 +1,18 @@
 package com.selimhorri.app.service.impl;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.AddressNotFoundException;
 import com.selimhorri.app.helper.AddressMappingHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.repository.AddressRepository;
 import com.selimhorri.app.service.AddressService;
 
@@ -23,15 +26,18 @@ import lombok.extern.slf4j.Slf4j;
 public class AddressServiceImpl implements AddressService {
 	
 	private final AddressRepository addressRepository;
+	private final PaginationProperties paginationProperties;
 	
 	@Override
-	public List<AddressDto> findAll() {
-		log.info("*** AddressDto List, service; fetch all addresss *");
-		return this.addressRepository.findAll()
+	public DtoCollectionResponse<AddressDto> findAll(final String cursor, final Integer size) {
+		log.info("*** AddressDto Page, service; fetch addresses after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.addressRepository
+				.findByAddressIdGreaterThanOrderByAddressIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(AddressMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, a -> CursorHelper.encode(a.getAddressId()));
 	}
 	
 	@Override
@@ -1,16 +1,21 @@
 package com.selimhorri.app.service.impl;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.event.CredentialChangedEvent;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.repository.CredentialRepository;
 import com.selimhorri.app.service.CredentialService;
 
@@ -24,15 +29,19 @@ import lombok.extern.slf4j.Slf4j;
 public class CredentialServiceImpl implements CredentialService {
 	
 	private final CredentialRepository credentialRepository;
+	private final PaginationProperties paginationProperties;
+	private final ApplicationEventPublisher eventPublisher;
 	
 	@Override
-	public List<CredentialDto> findAll() {
-		log.info("*** CredentialDto List, service; fetch all credentials *");
-		return this.credentialRepository.findAll()
+	public DtoCollectionResponse<CredentialDto> findAll(final String cursor, final Integer size) {
+		log.info("*** CredentialDto Page, service; fetch credentials after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.credentialRepository
+				.findByCredentialIdGreaterThanOrderByCredentialIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(CredentialMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, c -> CursorHelper.encode(c.getCredentialId()));
 	}
 	
 	@Override
@@ -52,19 +61,21 @@ public class CredentialServiceImpl implements CredentialService {
 	@Override
 	public CredentialDto update(final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto)));
+		this.publishChanged(credentialDto.getCredentialId());
+		return this.publishChanged(CredentialMappingHelper.map(this.credentialRepository.save(CredentialMappingHelper.map(credentialDto))));
 	}
 	
 	@Override
 	public CredentialDto update(final Integer credentialId, final CredentialDto credentialDto) {
 		log.info("*** CredentialDto, service; update credential with credentialId *");
-		return CredentialMappingHelper.map(this.credentialRepository.save(
-				CredentialMappingHelper.map(this.findById(credentialId))));
+		return this.publishChanged(CredentialMappingHelper.map(this.credentialRepository.save(
+				CredentialMappingHelper.map(this.findById(credentialId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer credentialId) {
 		log.info("*** Void, service; delete credential by id *");
+		this.publishChanged(credentialId);
 		this.credentialRepository.deleteById(credentialId);
 	}
 	
@@ -74,6 +85,17 @@ public class CredentialServiceImpl implements CredentialService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("#### Credential with username: %s not found! ####", username))));
 	}
 	
+	private void publishChanged(final Integer credentialId) {
+		if (credentialId != null)
+			this.credentialRepository.findById(credentialId)
+					.ifPresent(c -> this.eventPublisher.publishEvent(new CredentialChangedEvent(c.getUsername())));
+	}
+	
+	private CredentialDto publishChanged(final CredentialDto credentialDto) {
+		this.eventPublisher.publishEvent(new CredentialChangedEvent(credentialDto.getUsername()));
+		return credentialDto;
+	}
+	
 	
 	
 }
@@ -1,15 +1,29 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
+import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.helper.BatchHelper;
+import com.selimhorri.app.helper.CursorHelper;
 import com.selimhorri.app.helper.UserMappingHelper;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.UserRepository;
 import com.selimhorri.app.service.UserService;
 
@@ -23,15 +37,34 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 	
 	private final UserRepository userRepository;
+	private final BatchProperties batchProperties;
+	private final PaginationProperties paginationProperties;
+	private final EntityManager entityManager;
+	private final OutboxPublisher outboxPublisher;
 	
 	@Override
-	public List<UserDto> findAll() {
-		log.info("*** UserDto List, service; fetch all users *");
-		return this.userRepository.findAll()
+	public DtoCollectionResponse<UserDto> findAll(final String cursor, final Integer size) {
+		log.info("*** UserDto Page, service; fetch users after cursor *");
+		final int pageSize = this.paginationProperties.resolveSize(size);
+		return CursorHelper.page(this.userRepository
+				.findByUserIdGreaterThanOrderByUserIdAsc(CursorHelper.decodeId(cursor), PageRequest.of(0, pageSize + 1))
 				.stream()
 					.map(UserMappingHelper::map)
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toUnmodifiableList()), 
+				pageSize, u -> CursorHelper.encode(u.getUserId()));
+	}
+	
+	@Override
+	public void exportAll(final Consumer<UserDto> userDtoConsumer) {
+		log.info("*** UserDto Stream, service; export all users *");
+		try (final Stream<User> users = this.userRepository.streamAllWithCredential()) {
+			users.forEach(u -> {
+				userDtoConsumer.accept(UserMappingHelper.map(u));
+				if (u.getCredential() != null)
+					this.entityManager.detach(u.getCredential());
+				this.entityManager.detach(u);
+			});
+		}
 	}
 	
 	@Override
@@ -42,29 +75,52 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with id: %d not found", userId)));
 	}
 	
+	@Override
+	public List<UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch all users by ids *");
+		final List<Integer> distinctIds = BatchHelper.distinctIds(userIds);
+		if (distinctIds.size() > this.batchProperties.getMaxSize())
+			throw new BatchSizeExceededException(String.format("Batch of %d ids exceeds the maximum of %d", 
+					distinctIds.size(), this.batchProperties.getMaxSize()));
+		return BatchHelper.partition(distinctIds, this.batchProperties.getChunkSize())
+				.stream()
+					.flatMap(chunk -> this.userRepository.findAllWithCredentialByUserIdIn(chunk).stream())
+					.map(UserMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public UserDto save(final UserDto userDto) {
 		log.info("*** UserDto, service; save user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		return this.publishChanged(OutboxEventType.USER_CREATED, UserMappingHelper.map(this.userRepository
+				.save(UserMappingHelper.map(userDto))));
 	}
 	
 	@Override
 	public UserDto update(final UserDto userDto) {
 		log.info("*** UserDto, service; update user *");
-		return UserMappingHelper.map(this.userRepository.save(UserMappingHelper.map(userDto)));
+		this.lockForUpdate(userDto.getUserId());
+		return this.publishChanged(OutboxEventType.USER_UPDATED, UserMappingHelper.map(this.userRepository
+				.save(UserMappingHelper.map(userDto))));
 	}
 	
 	@Override
 	public UserDto update(final Integer userId, final UserDto userDto) {
 		log.info("*** UserDto, service; update user with userId *");
-		return UserMappingHelper.map(this.userRepository.save(
-				UserMappingHelper.map(this.findById(userId))));
+		this.lockForUpdate(userId);
+		return this.publishChanged(OutboxEventType.USER_UPDATED, UserMappingHelper.map(this.userRepository
+				.save(UserMappingHelper.map(this.findById(userId)))));
 	}
 	
 	@Override
 	public void deleteById(final Integer userId) {
 		log.info("*** Void, service; delete user by id *");
+		this.lockForUpdate(userId);
 		this.userRepository.deleteById(userId);
+		this.publishChanged(OutboxEventType.USER_DELETED, UserDto.builder()
+				.userId(userId)
+				.build());
 	}
 	
 	@Override
@@ -74,6 +130,23 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	private void lockForUpdate(final Integer userId) {
+		if (userId != null)
+			this.userRepository.findForUpdateByUserId(userId);
+	}
+	
+	private UserDto publishChanged(final OutboxEventType outboxEventType, final UserDto userDto) {
+		this.outboxPublisher.publish(outboxEventType, userDto.getUserId(), UserDto.builder()
+				.userId(userDto.getUserId())
+				.firstName(userDto.getFirstName())
+				.lastName(userDto.getLastName())
+				.imageUrl(userDto.getImageUrl())
+				.email(userDto.getEmail())
+				.phone(userDto.getPhone())
+				.build());
+		return userDto;
+	}
+	
 	
 	
 }
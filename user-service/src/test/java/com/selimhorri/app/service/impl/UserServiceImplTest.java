@@ -3,26 +3,39 @@ package com.selimhorri.app.service.impl;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.selimhorri.app.config.batch.BatchProperties;
+import com.selimhorri.app.config.pagination.PaginationProperties;
 import com.selimhorri.app.domain.Credential;
 import com.selimhorri.app.domain.RoleBasedAuthority;
 import com.selimhorri.app.domain.User;
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.exception.wrapper.BatchSizeExceededException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.outbox.OutboxEventType;
+import com.selimhorri.app.outbox.OutboxPublisher;
 import com.selimhorri.app.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +45,15 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -81,21 +103,23 @@ class UserServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should return all users when findAll is called")
-    void shouldReturnAllUsers() {
+    @DisplayName("Should return the first page of users when no cursor is given")
+    void shouldReturnFirstPageOfUsers() {
         // Given
-        List<User> users = Arrays.asList(mockUser);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(Integer.MIN_VALUE, PageRequest.of(0, 21)))
+                .thenReturn(List.of(mockUser));
 
         // When
-        List<UserDto> result = userService.findAll();
+        DtoCollectionResponse<UserDto> result = userService.findAll(null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("John", result.get(0).getFirstName());
-        assertEquals("Doe", result.get(0).getLastName());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(1, result.getCollection().size());
+        UserDto userDto = result.getCollection().iterator().next();
+        assertEquals("John", userDto.getFirstName());
+        assertEquals("Doe", userDto.getLastName());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAll();
     }
 
     @Test
@@ -115,6 +139,55 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findById(1);
     }
 
+    @Test
+    @DisplayName("Should return all requested users in a single repository call")
+    void shouldReturnAllUsersByIds() {
+        // Given
+        List<Integer> userIds = Arrays.asList(1, 2);
+        when(userRepository.findAllWithCredentialByUserIdIn(userIds)).thenReturn(Arrays.asList(mockUser));
+
+        // When
+        List<UserDto> result = userService.findAllByIds(userIds);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getUserId());
+        assertEquals("testuser", result.get(0).getCredentialDto().getUsername());
+        verify(userRepository, times(1)).findAllWithCredentialByUserIdIn(userIds);
+        verify(userRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should query users in chunks of the configured size")
+    void shouldQueryUsersInChunks() {
+        // Given
+        batchProperties.setChunkSize(2);
+        List<Integer> userIds = Arrays.asList(1, 2, 2, 3, null);
+        when(userRepository.findAllWithCredentialByUserIdIn(anyList())).thenReturn(Arrays.asList(mockUser));
+
+        // When
+        List<UserDto> result = userService.findAllByIds(userIds);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(userRepository, times(1)).findAllWithCredentialByUserIdIn(Arrays.asList(1, 2));
+        verify(userRepository, times(1)).findAllWithCredentialByUserIdIn(Arrays.asList(3));
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured maximum")
+    void shouldRejectBatchAboveMaxSize() {
+        // Given
+        List<Integer> userIds = IntStream.rangeClosed(1, batchProperties.getMaxSize() + 1)
+                .boxed()
+                .collect(Collectors.toList());
+
+        // When & Then
+        assertThrows(BatchSizeExceededException.class, () -> userService.findAllByIds(userIds));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     @DisplayName("Should throw UserObjectNotFoundException when user not found")
     void shouldThrowExceptionWhenUserNotFound() {
@@ -137,6 +210,8 @@ class UserServiceImplTest {
         // Given
         when(userRepository.save(any(User.class))).thenReturn(mockUser);
 
+        final ArgumentCaptor<UserDto> payload = ArgumentCaptor.forClass(UserDto.class);
+
         // When
         UserDto result = userService.save(mockUserDto);
 
@@ -145,6 +220,9 @@ class UserServiceImplTest {
         assertEquals("John", result.getFirstName());
         assertEquals("Doe", result.getLastName());
         verify(userRepository, times(1)).save(any(User.class));
+        verify(outboxPublisher, times(1)).publish(eq(OutboxEventType.USER_CREATED), eq(result.getUserId()), payload.capture());
+        assertEquals("John", payload.getValue().getFirstName());
+        assertNull(payload.getValue().getCredentialDto());
     }
 
     @Test